@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.core.autoconfigure;
+
+import com.ppxb.latte.starter.core.util.IpUtils;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * IP 归属地缓存指标自动配置
+ *
+ * <p>
+ * 暴露 {@link IpUtils} 中 IP 归属地缓存的命中、未命中、淘汰等指标（cache=ipRegion）。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+@AutoConfiguration
+@ConditionalOnClass(MeterBinder.class)
+public class IpMetricsAutoConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(IpMetricsAutoConfiguration.class);
+
+    @Bean
+    @ConditionalOnMissingBean(name = "ipRegionCacheMetrics")
+    public MeterBinder ipRegionCacheMetrics() {
+        return registry -> CaffeineCacheMetrics.monitor(registry, IpUtils.getRegionCache(), "ipRegion");
+    }
+
+    @PostConstruct
+    public void postConstruct() {
+        log.debug("[Latte Starter] - Auto Configuration 'Ip-Metrics' completed initialization.");
+    }
+}
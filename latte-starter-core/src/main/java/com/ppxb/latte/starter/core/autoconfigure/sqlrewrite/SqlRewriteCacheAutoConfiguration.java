@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.core.autoconfigure.sqlrewrite;
+
+import com.ppxb.latte.starter.core.constant.PropertiesConstants;
+import com.ppxb.latte.starter.core.util.sql.SqlRewriteCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SQL 改写缓存自动配置
+ *
+ * <p>
+ * 供多租户（行级）、数据权限等 SQL 改写拦截器共用。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+@AutoConfiguration
+@ConditionalOnClass(name = "net.sf.jsqlparser.parser.CCJSqlParserUtil")
+@ConditionalOnProperty(prefix = PropertiesConstants.SQL_REWRITE_CACHE, name = PropertiesConstants.ENABLED, havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SqlRewriteCacheProperties.class)
+public class SqlRewriteCacheAutoConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlRewriteCacheAutoConfiguration.class);
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SqlRewriteCache sqlRewriteCache(SqlRewriteCacheProperties properties) {
+        return new SqlRewriteCache(properties.getMaxSize(), properties.getMaxSqlLength());
+    }
+
+    @PostConstruct
+    public void postConstruct() {
+        log.debug("[Latte Starter] - Auto Configuration 'SqlRewriteCache' completed initialization.");
+    }
+
+    /**
+     * SQL 改写缓存指标配置
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class SqlRewriteCacheMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(name = "sqlRewriteCacheMetrics")
+        public MeterBinder sqlRewriteCacheMetrics(SqlRewriteCache sqlRewriteCache) {
+            return registry -> CaffeineCacheMetrics.monitor(registry, sqlRewriteCache.getCache(), "sqlRewrite");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.core.autoconfigure.sqlrewrite;
+
+import com.ppxb.latte.starter.core.constant.PropertiesConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * SQL 改写缓存配置属性
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+@ConfigurationProperties(PropertiesConstants.SQL_REWRITE_CACHE)
+public class SqlRewriteCacheProperties {
+
+    /**
+     * 是否启用 SQL 改写缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缓存最大数量
+     */
+    private long maxSize = 4096;
+
+    /**
+     * 缓存的 SQL 最大长度（超出后每次重新改写，避免大批量 IN 查询等占用缓存）
+     */
+    private int maxSqlLength = 8192;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxSqlLength() {
+        return maxSqlLength;
+    }
+
+    public void setMaxSqlLength(int maxSqlLength) {
+        this.maxSqlLength = maxSqlLength;
+    }
+}
@@ -89,6 +89,11 @@ public class PropertiesConstants {
      */
     public static final String WEB_XSS = WEB + StringConstants.DOT + "xss";
 
+    /**
+     * User-Agent 解析配置
+     */
+    public static final String WEB_USER_AGENT = WEB + StringConstants.DOT + "user-agent";
+
     /**
      * 日志配置
      */
@@ -144,6 +149,11 @@ public class PropertiesConstants {
      */
     public static final String TENANT = LATTE_STARTER + StringConstants.DOT + "tenant";
 
+    /**
+     * SQL 改写缓存配置
+     */
+    public static final String SQL_REWRITE_CACHE = LATTE_STARTER + StringConstants.DOT + "sql-rewrite-cache";
+
     private PropertiesConstants() {
     }
 }
@@ -30,6 +30,9 @@ import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.net.NetUtil;
 import cn.hutool.extra.spring.SpringUtil;
 import cn.hutool.http.HtmlUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.ppxb.latte.starter.core.constant.StringConstants;
 import net.dreamlu.mica.ip2region.core.Ip2regionSearcher;
 import net.dreamlu.mica.ip2region.core.IpInfo;
@@ -41,20 +44,97 @@ public class IpUtils {
 
     private static final String LOCALHOST_IPV6 = "0:0:0:0:0:0:0:1";
 
-    private static final String LOCALHOST_IPV4 = "127.0.0.1";
+    /**
+     * 127.0.0.1
+     */
+    private static final long LOCALHOST_IPV4 = 0x7F000001L;
+
+    private static final String INNER_IP_ADDRESS = "内网IP";
+
+    /**
+     * 无法解析 IP 归属地时的缓存值（缓存不支持 null 值）
+     */
+    private static final String UNKNOWN_ADDRESS = "";
+
+    /**
+     * IP 归属地缓存最大数量
+     */
+    private static final int REGION_CACHE_MAXIMUM_SIZE = 10000;
+
+    /**
+     * IP 归属地缓存（W-TinyLFU 淘汰策略）
+     */
+    private static final Cache<String, String> REGION_CACHE = Caffeine.newBuilder()
+        .maximumSize(REGION_CACHE_MAXIMUM_SIZE)
+        .recordStats()
+        .build();
 
     private IpUtils() {
     }
 
+    /**
+     * 获取 IPv4 地址归属地（按 IP 缓存）
+     *
+     * @param ip IP 地址
+     * @return 归属地（例如：中国|广东省|深圳市|电信），无法解析时返回 null
+     */
     public static String getIpv4Address(String ip) {
-        if (isInnerIpv4(ip)) {
-            return "内网IP";
+        if (null == ip) {
+            return null;
         }
+        String address = REGION_CACHE.get(ip, IpUtils::searchIpv4Address);
+        return UNKNOWN_ADDRESS.equals(address) ? null : address;
+    }
+
+    /**
+     * 是否为内网 IPv4 地址（10.0.0.0/8、172.16.0.0/12、192.168.0.0/16、127.0.0.1）
+     *
+     * @param ip IP 地址
+     * @return 是否为内网 IPv4 地址
+     */
+    public static boolean isInnerIpv4(String ip) {
+        if (LOCALHOST_IPV6.equals(ip)) {
+            return true;
+        }
+        long ipv4 = parseIpv4(ip);
+        if (ipv4 < 0) {
+            // 非标准 IPv4 地址，清理 HTML 标签后再判断
+            return NetUtil.isInnerIP(HtmlUtil.cleanHtmlTag(ip));
+        }
+        int firstOctet = (int)(ipv4 >>> 24);
+        int secondOctet = (int)(ipv4 >>> 16) & 0xFF;
+        if (firstOctet == 10 || (firstOctet == 172 && secondOctet >= 16 && secondOctet <= 31)) {
+            return true;
+        }
+        return (firstOctet == 192 && secondOctet == 168) || ipv4 == LOCALHOST_IPV4;
+    }
 
+    /**
+     * 获取 IP 归属地缓存
+     *
+     * @return IP 归属地缓存
+     */
+    public static Cache<String, String> getRegionCache() {
+        return REGION_CACHE;
+    }
+
+    /**
+     * 获取 IP 归属地缓存统计信息（命中数、未命中数等）
+     *
+     * @return 缓存统计信息
+     */
+    public static CacheStats getRegionCacheStats() {
+        return REGION_CACHE.stats();
+    }
+
+    private static String searchIpv4Address(String ip) {
+        if (isInnerIpv4(ip)) {
+            return INNER_IP_ADDRESS;
+        }
         Ip2regionSearcher ip2regionSearcher = SpringUtil.getBean(Ip2regionSearcher.class);
         IpInfo ipInfo = ip2regionSearcher.memorySearch(ip);
         if (null == ipInfo) {
-            return null;
+            return UNKNOWN_ADDRESS;
         }
         Set<String> regionSet = CollUtil.newLinkedHashSet(ipInfo.getCountry(), ipInfo.getRegion(), ipInfo
             .getProvince(), ipInfo.getCity(), ipInfo.getIsp());
@@ -62,8 +142,42 @@ public class IpUtils {
         return String.join(StringConstants.PIPE, regionSet);
     }
 
-    public static boolean isInnerIpv4(String ip) {
-        String ipAddress = LOCALHOST_IPV6.equals(ip) ? LOCALHOST_IPV4 : HtmlUtil.cleanHtmlTag(ip);
-        return NetUtil.isInnerIP(ipAddress);
+    /**
+     * 解析 IPv4 地址（不分配对象）
+     *
+     * @param ip IP 地址
+     * @return IPv4 地址对应的无符号整数，非标准 IPv4 地址返回 -1
+     */
+    private static long parseIpv4(String ip) {
+        if (null == ip) {
+            return -1;
+        }
+        int length = ip.length();
+        if (length < 7 || length > 15) {
+            return -1;
+        }
+        long result = 0;
+        int octet = 0;
+        int digits = 0;
+        int dots = 0;
+        for (int i = 0; i < length; i++) {
+            char c = ip.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = octet * 10 + (c - '0');
+                if (++digits > 3 || octet > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && digits > 0 && ++dots <= 3) {
+                result = (result << 8) | octet;
+                octet = 0;
+                digits = 0;
+            } else {
+                return -1;
+            }
+        }
+        if (dots != 3 || digits == 0) {
+            return -1;
+        }
+        return (result << 8) | octet;
     }
 }
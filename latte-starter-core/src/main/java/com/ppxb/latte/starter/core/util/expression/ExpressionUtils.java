@@ -27,6 +27,8 @@
 package com.ppxb.latte.starter.core.util.expression;
 
 import cn.hutool.core.text.CharSequenceUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +38,13 @@ public class ExpressionUtils {
 
     private static final Logger log = LoggerFactory.getLogger(ExpressionUtils.class);
 
+    /**
+     * 表达式求值器缓存（按脚本及方法缓存已解析的表达式和参数名）
+     */
+    private static final Cache<EvaluatorKey, ExpressionEvaluator> EVALUATOR_CACHE = Caffeine.newBuilder()
+        .maximumSize(4096)
+        .build();
+
     private ExpressionUtils() {
     }
 
@@ -44,7 +53,8 @@ public class ExpressionUtils {
             if (CharSequenceUtil.isBlank(script)) {
                 return null;
             }
-            ExpressionEvaluator expressionEvaluator = new ExpressionEvaluator(script, method);
+            ExpressionEvaluator expressionEvaluator = EVALUATOR_CACHE
+                .get(new EvaluatorKey(script, method), key -> new ExpressionEvaluator(script, method));
             ExpressionInvokeContext invokeContext = new ExpressionInvokeContext(method, args, target);
             return expressionEvaluator.apply(invokeContext);
         } catch (Exception e) {
@@ -52,4 +62,13 @@ public class ExpressionUtils {
             return null;
         }
     }
+
+    /**
+     * 求值器缓存 Key
+     *
+     * @param script 脚本
+     * @param method 方法
+     */
+    private record EvaluatorKey(String script, Method method) {
+    }
 }
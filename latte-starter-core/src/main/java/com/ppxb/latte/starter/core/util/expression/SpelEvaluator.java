@@ -28,40 +28,62 @@ package com.ppxb.latte.starter.core.util.expression;
 
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
-import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import java.lang.reflect.Method;
 import java.util.function.Function;
 
+/**
+ * SpEL 表达式求值器
+ *
+ * <p>
+ * 表达式在构造时解析（MIXED 编译模式，多次求值后编译为字节码），参数名同时解析，实例可复用且线程安全。
+ * </p>
+ */
 public class SpelEvaluator implements Function<Object, Object> {
 
     private static final ExpressionParser PARSER;
 
     private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER;
 
+    /**
+     * 共享的上下文委托（属性访问器、方法解析器等内部带有缓存，各次求值共享）
+     */
+    private static final StandardEvaluationContext SHARED_DELEGATES;
+
     static {
-        PARSER = new SpelExpressionParser();
+        PARSER = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, SpelEvaluator.class
+            .getClassLoader()));
         PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+        SHARED_DELEGATES = new StandardEvaluationContext();
+        SHARED_DELEGATES.getPropertyAccessors();
+        SHARED_DELEGATES.getIndexAccessors();
+        SHARED_DELEGATES.getConstructorResolvers();
+        SHARED_DELEGATES.getMethodResolvers();
+        SHARED_DELEGATES.getTypeLocator();
+        SHARED_DELEGATES.getTypeConverter();
     }
 
     private final Expression expression;
 
-    private String[] parameterNames;
+    private final String[] parameterNames;
 
     public SpelEvaluator(String script, Method defineMethod) {
         expression = PARSER.parseExpression(script);
-        if (defineMethod.getParameterCount() > 0) {
-            parameterNames = PARAMETER_NAME_DISCOVERER.getParameterNames(defineMethod);
-        }
+        parameterNames = defineMethod.getParameterCount() > 0
+            ? PARAMETER_NAME_DISCOVERER.getParameterNames(defineMethod)
+            : null;
     }
 
     @Override
     public Object apply(Object object) {
-        EvaluationContext context = new StandardEvaluationContext(object);
+        StandardEvaluationContext context = new StandardEvaluationContext(object);
+        SHARED_DELEGATES.applyDelegatesTo(context);
         ExpressionInvokeContext invokeContext = (ExpressionInvokeContext)object;
         if (null != parameterNames) {
             for (int i = 0; i < parameterNames.length; i++) {
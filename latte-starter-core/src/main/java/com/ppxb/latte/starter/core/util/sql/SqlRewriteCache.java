@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.core.util.sql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * SQL 改写缓存
+ *
+ * <p>
+ * 缓存多租户、数据权限等拦截器的 SQL 改写结果，按 原 SQL + Mapper 语句 ID + 改写形态 缓存（W-TinyLFU 淘汰策略）。
+ * 改写结果中的租户 ID、用户 ID 等值以绑定参数形式存在，同一改写结果可在不同租户、用户之间复用，多个拦截器共用同一缓存。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class SqlRewriteCache {
+
+    private final Cache<Key, SqlTemplate> cache;
+
+    private final int maxSqlLength;
+
+    public SqlRewriteCache(long maxSize, int maxSqlLength) {
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        this.maxSqlLength = maxSqlLength;
+    }
+
+    /**
+     * 获取 SQL 模板（不存在时改写并编译）
+     *
+     * @param sql         原 SQL
+     * @param statementId Mapper 语句 ID
+     * @param shape       改写形态（改写结果不同时形态必须不同，例如：拦截器类型、数据权限范围组合）
+     * @param markers     占位标记列表（改写后 SQL 中需替换为绑定参数的值）
+     * @param rewriter    改写函数（原 SQL -> 包含占位标记的 SQL）
+     * @return SQL 模板
+     */
+    public SqlTemplate get(String sql,
+                           String statementId,
+                           String shape,
+                           List<String> markers,
+                           UnaryOperator<String> rewriter) {
+        // 超长 SQL（如大批量 IN 查询）通常不会重复执行，不进行缓存
+        if (sql.length() > maxSqlLength) {
+            return SqlTemplate.compile(rewriter.apply(sql), markers);
+        }
+        return cache.get(new Key(sql, statementId, shape), key -> SqlTemplate.compile(rewriter.apply(sql), markers));
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 获取缓存
+     *
+     * @return 缓存
+     */
+    public Cache<Key, SqlTemplate> getCache() {
+        return cache;
+    }
+
+    /**
+     * 获取缓存统计信息（命中数、未命中数等）
+     *
+     * @return 缓存统计信息
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * 缓存键
+     *
+     * @param sql         原 SQL
+     * @param statementId Mapper 语句 ID
+     * @param shape       改写形态
+     */
+    public record Key(String sql, String statementId, String shape) {
+    }
+}
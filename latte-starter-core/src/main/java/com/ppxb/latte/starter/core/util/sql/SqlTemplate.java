@@ -0,0 +1,190 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.core.util.sql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * SQL 模板
+ *
+ * <p>
+ * 由改写后的 SQL 编译而来：SQL 中的占位标记被替换为 ?，并记录每个 ? 对应的参数来源（原 SQL 中的参数或占位标记对应的参数）。
+ * 同一模板可在不同租户、用户之间复用，仅需重新绑定参数。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public final class SqlTemplate {
+
+    private final String sql;
+
+    /**
+     * 参数来源（大于等于 0：原 SQL 中的参数序号；小于 0：-(占位标记序号 + 1)）
+     */
+    private final int[] slots;
+
+    private final int originalParameterCount;
+
+    private SqlTemplate(String sql, int[] slots, int originalParameterCount) {
+        this.sql = sql;
+        this.slots = slots;
+        this.originalParameterCount = originalParameterCount;
+    }
+
+    /**
+     * 编译 SQL 模板
+     *
+     * <p>
+     * 字符串及带引号的标识符中的 ? 和占位标记不会被处理。
+     * </p>
+     *
+     * @param sql     改写后的 SQL（包含占位标记）
+     * @param markers 占位标记列表
+     * @return SQL 模板
+     */
+    public static SqlTemplate compile(String sql, List<String> markers) {
+        StringBuilder builder = new StringBuilder(sql.length());
+        int[] slots = new int[8];
+        int slotCount = 0;
+        int originalParameterCount = 0;
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                int end = skipQuoted(sql, i, c);
+                builder.append(sql, i, end);
+                i = end;
+                continue;
+            }
+            int slot;
+            int step = 1;
+            if (c == '?') {
+                slot = originalParameterCount++;
+            } else {
+                int markerIndex = matchMarker(sql, i, markers);
+                if (markerIndex < 0) {
+                    builder.append(c);
+                    i++;
+                    continue;
+                }
+                slot = -(markerIndex + 1);
+                step = markers.get(markerIndex).length();
+            }
+            if (slotCount == slots.length) {
+                slots = Arrays.copyOf(slots, slotCount << 1);
+            }
+            slots[slotCount++] = slot;
+            builder.append('?');
+            i += step;
+        }
+        return new SqlTemplate(builder.toString(), Arrays.copyOf(slots, slotCount), originalParameterCount);
+    }
+
+    /**
+     * 绑定参数
+     *
+     * @param originalParameters 原 SQL 中的参数（按出现顺序）
+     * @param markerParameter    根据占位标记序号获取参数
+     * @param <T>                参数类型
+     * @return 模板 SQL 中的参数（按出现顺序）
+     */
+    public <T> List<T> bind(List<T> originalParameters, IntFunction<T> markerParameter) {
+        if (originalParameters.size() != originalParameterCount) {
+            throw new IllegalStateException("SQL parameter count mismatch, expected %d but was %d."
+                .formatted(originalParameterCount, originalParameters.size()));
+        }
+        List<T> parameters = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            parameters.add(slot >= 0 ? originalParameters.get(slot) : markerParameter.apply(-slot - 1));
+        }
+        return parameters;
+    }
+
+    /**
+     * 获取模板 SQL
+     *
+     * @return 模板 SQL
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * 获取原 SQL 中的参数数量
+     *
+     * @return 原 SQL 中的参数数量
+     */
+    public int getOriginalParameterCount() {
+        return originalParameterCount;
+    }
+
+    /**
+     * 是否包含占位标记参数
+     *
+     * @return true：包含；false：不包含
+     */
+    public boolean hasMarkerParameter() {
+        return slots.length > originalParameterCount;
+    }
+
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        int length = sql.length();
+        while (i < length) {
+            if (sql.charAt(i) == quote) {
+                // 连续两个引号为转义
+                if (i + 1 < length && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            if (sql.charAt(i) == '\\' && quote == '\'') {
+                i += 2;
+                continue;
+            }
+            i++;
+        }
+        return length;
+    }
+
+    private static int matchMarker(String sql, int offset, List<String> markers) {
+        char c = sql.charAt(offset);
+        for (int i = 0; i < markers.size(); i++) {
+            String marker = markers.get(i);
+            if (marker.charAt(0) == c && sql.startsWith(marker, offset)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -27,7 +27,7 @@
 package com.ppxb.latte.starter.data.mp.util;
 
 import cn.hutool.core.annotation.AnnotationUtil;
-import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.exceptions.UtilException;
 import cn.hutool.core.text.CharSequenceUtil;
 import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.ObjectUtil;
@@ -44,17 +44,40 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Sort;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
-import java.util.function.Consumer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * QueryWrapper 构建工具类
+ * <p>
+ * 查询条件类的 {@link Query}、{@link QueryIgnore} 注解、列名及查询类型仅在首次使用时解析一次，并按字段缓存为查询计划；
+ * 字段值通过 {@link MethodHandle} 读取，构建阶段仅需判断字段值并拼接查询条件。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
 public class QueryWrapperHelper {
 
     private static final Logger log = LoggerFactory.getLogger(QueryWrapperHelper.class);
 
+    /**
+     * 查询条件类查询计划缓存（查询条件类 -> 字段查询计划列表）
+     */
+    private static final Map<Class<?>, List<QueryField>> QUERY_PLAN_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 字段查询计划缓存（字段 -> 字段查询计划）
+     */
+    private static final Map<Field, QueryField> QUERY_FIELD_CACHE = new ConcurrentHashMap<>();
+
     private QueryWrapperHelper() {
     }
 
@@ -74,8 +97,15 @@ public class QueryWrapperHelper {
                 queryWrapper.orderBy(true, order.isAscending(), field);
             }
         }
-        List<Field> fieldList = ReflectUtils.getNonStaticFields(query.getClass());
-        return build(query, fieldList, queryWrapper);
+        List<QueryField> queryPlan = QUERY_PLAN_CACHE.computeIfAbsent(query.getClass(), clazz -> ReflectUtils
+            .getNonStaticFields(clazz)
+            .stream()
+            .map(QueryWrapperHelper::getQueryField)
+            .toList());
+        for (QueryField queryField : queryPlan) {
+            appendCondition(query, queryField, queryWrapper);
+        }
+        return queryWrapper;
     }
 
     public static <Q, R> QueryWrapper<R> build(Q query, List<Field> fieldList, QueryWrapper<R> queryWrapper) {
@@ -83,92 +113,164 @@ public class QueryWrapperHelper {
             return queryWrapper;
         }
         for (Field field : fieldList) {
-            List<Consumer<QueryWrapper<R>>> consumers = buildWrapperConsumer(query, field);
-            queryWrapper.and(CollUtil.isNotEmpty(consumers), q -> consumers.forEach(q::or));
+            appendCondition(query, getQueryField(field), queryWrapper);
         }
         return queryWrapper;
     }
 
-    private static <Q, R> List<Consumer<QueryWrapper<R>>> buildWrapperConsumer(Q query, Field field) {
+    /**
+     * 获取字段查询计划（不存在则解析并缓存）
+     *
+     * @param field 字段
+     * @return 字段查询计划
+     */
+    private static QueryField getQueryField(Field field) {
+        return QUERY_FIELD_CACHE.computeIfAbsent(field, QueryField::compile);
+    }
+
+    private static <Q, R> void appendCondition(Q query, QueryField queryField, QueryWrapper<R> queryWrapper) {
+        // 设置了 @QueryIgnore 注解，直接忽略
+        if (queryField.ignored()) {
+            return;
+        }
         try {
             // 如果字段值为空，直接返回
-            Object fieldValue = ReflectUtil.getFieldValue(query, field);
+            Object fieldValue = queryField.getValue(query);
             if (ObjectUtil.isEmpty(fieldValue)) {
-                return Collections.emptyList();
+                return;
             }
-            // 设置了 @QueryIgnore 注解，直接忽略
-            QueryIgnore queryIgnoreAnnotation = AnnotationUtil.getAnnotation(field, QueryIgnore.class);
-            if (null != queryIgnoreAnnotation) {
-                return Collections.emptyList();
-            }
-            // 建议：数据库表列建议采用下划线连接法命名，程序变量建议采用驼峰法命名
-            String fieldName = ReflectUtil.getFieldName(field);
-            // 没有 @Query 注解，默认等值查询
-            Query queryAnnotation = AnnotationUtil.getAnnotation(field, Query.class);
-            if (null == queryAnnotation) {
-                return Collections.singletonList(q -> q.eq(CharSequenceUtil.toUnderlineCase(fieldName), fieldValue));
-            }
-            // 解析单列查询
-            QueryType queryType = queryAnnotation.type();
-            String[] columns = queryAnnotation.columns();
-            final int columnLength = ArrayUtil.length(columns);
-            List<Consumer<QueryWrapper<R>>> consumers = new ArrayList<>(columnLength);
-            if (columnLength <= 1) {
-                String columnName = columnLength == 1 ? columns[0] : CharSequenceUtil.toUnderlineCase(fieldName);
-                parse(queryType, columnName, fieldValue, consumers);
-                return consumers;
-            }
-            // 解析多列查询
-            for (String column : columns) {
-                parse(queryType, column, fieldValue, consumers);
-            }
-            return consumers;
+            QueryType queryType = queryField.queryType();
+            String[] columns = queryField.columns();
+            Object conditionValue = resolveValue(queryType, columns[0], fieldValue);
+            // 多个列查询条件之间为或关系（OR）
+            queryWrapper.and(q -> {
+                for (String column : columns) {
+                    q.or(c -> parse(queryType, column, conditionValue, c));
+                }
+            });
         } catch (BadRequestException e) {
             throw e;
         } catch (Exception e) {
             log.error("Build query wrapper occurred an error: {}. Query: {}, Field: {}.", e
-                .getMessage(), query, field, e);
+                .getMessage(), query, queryField.field(), e);
         }
-        return Collections.emptyList();
     }
 
-    private static <R> void parse(QueryType queryType,
-                                  String columnName,
-                                  Object fieldValue,
-                                  List<Consumer<QueryWrapper<R>>> consumers) {
+    /**
+     * 校验并转换字段值
+     *
+     * @param queryType  查询类型
+     * @param columnName 列名
+     * @param fieldValue 字段值
+     * @return 查询条件值
+     */
+    private static Object resolveValue(QueryType queryType, String columnName, Object fieldValue) {
         switch (queryType) {
-            case EQ -> consumers.add(q -> q.eq(columnName, fieldValue));
-            case NE -> consumers.add(q -> q.ne(columnName, fieldValue));
-            case GT -> consumers.add(q -> q.gt(columnName, fieldValue));
-            case GE -> consumers.add(q -> q.ge(columnName, fieldValue));
-            case LT -> consumers.add(q -> q.lt(columnName, fieldValue));
-            case LE -> consumers.add(q -> q.le(columnName, fieldValue));
             case BETWEEN -> {
                 // 数组转集合
                 List<Object> between = new ArrayList<>(ArrayUtil.isArray(fieldValue)
                     ? List.of((Object[])fieldValue)
                     : (List<Object>)fieldValue);
                 ValidationUtils.throwIf(between.size() != 2, "[{}] 必须是一个范围", columnName);
-                consumers.add(q -> q.between(columnName, between.getFirst(), between.get(1)));
+                return between;
             }
-            case LIKE -> consumers.add(q -> q.like(columnName, fieldValue));
-            case LIKE_LEFT -> consumers.add(q -> q.likeLeft(columnName, fieldValue));
-            case LIKE_RIGHT -> consumers.add(q -> q.likeRight(columnName, fieldValue));
-            case IN -> {
+            case IN, NOT_IN -> {
                 ValidationUtils.throwIfEmpty(fieldValue, "[{}] 不能为空", columnName);
-                consumers.add(q -> q.in(columnName, ArrayUtil.isArray(fieldValue)
-                    ? List.of((Object[])fieldValue)
-                    : (Collection<Object>)fieldValue));
+                return ArrayUtil.isArray(fieldValue) ? List.of((Object[])fieldValue) : (Collection<Object>)fieldValue;
             }
-            case NOT_IN -> {
-                ValidationUtils.throwIfEmpty(fieldValue, "[{}] 不能为空", columnName);
-                consumers.add(q -> q.notIn(columnName, ArrayUtil.isArray(fieldValue)
-                    ? List.of((Object[])fieldValue)
-                    : (Collection<Object>)fieldValue));
+            default -> {
+                return fieldValue;
+            }
+        }
+    }
+
+    private static <R> void parse(QueryType queryType, String columnName, Object value, QueryWrapper<R> q) {
+        switch (queryType) {
+            case EQ -> q.eq(columnName, value);
+            case NE -> q.ne(columnName, value);
+            case GT -> q.gt(columnName, value);
+            case GE -> q.ge(columnName, value);
+            case LT -> q.lt(columnName, value);
+            case LE -> q.le(columnName, value);
+            case BETWEEN -> {
+                List<Object> between = (List<Object>)value;
+                q.between(columnName, between.getFirst(), between.get(1));
             }
-            case IS_NULL -> consumers.add(q -> q.isNull(columnName));
-            case IS_NOT_NULL -> consumers.add(q -> q.isNotNull(columnName));
+            case LIKE -> q.like(columnName, value);
+            case LIKE_LEFT -> q.likeLeft(columnName, value);
+            case LIKE_RIGHT -> q.likeRight(columnName, value);
+            case IN -> q.in(columnName, (Collection<Object>)value);
+            case NOT_IN -> q.notIn(columnName, (Collection<Object>)value);
+            case IS_NULL -> q.isNull(columnName);
+            case IS_NOT_NULL -> q.isNotNull(columnName);
             default -> throw new IllegalArgumentException("暂不支持 [%s] 查询类型".formatted(queryType));
         }
     }
+
+    /**
+     * 字段查询计划
+     *
+     * @param field     字段
+     * @param getter    字段值读取句柄（无法创建时为 null，降级为反射读取）
+     * @param ignored   是否忽略
+     * @param queryType 查询类型
+     * @param columns   列名
+     */
+    private record QueryField(Field field, MethodHandle getter, boolean ignored, QueryType queryType,
+                              String[] columns) {
+
+        private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+        /**
+         * 解析字段查询计划
+         *
+         * @param field 字段
+         * @return 字段查询计划
+         */
+        static QueryField compile(Field field) {
+            if (null != AnnotationUtil.getAnnotation(field, QueryIgnore.class)) {
+                return new QueryField(field, null, true, null, null);
+            }
+            // 建议：数据库表列建议采用下划线连接法命名，程序变量建议采用驼峰法命名
+            String columnName = CharSequenceUtil.toUnderlineCase(ReflectUtil.getFieldName(field));
+            // 没有 @Query 注解，默认等值查询
+            Query queryAnnotation = AnnotationUtil.getAnnotation(field, Query.class);
+            if (null == queryAnnotation) {
+                return new QueryField(field, createGetter(field), false, QueryType.EQ, new String[] {columnName});
+            }
+            String[] columns = queryAnnotation.columns();
+            return new QueryField(field, createGetter(field), false, queryAnnotation.type(), ArrayUtil
+                .isEmpty(columns) ? new String[] {columnName} : columns.clone());
+        }
+
+        /**
+         * 读取字段值
+         *
+         * @param obj 对象
+         * @return 字段值
+         */
+        Object getValue(Object obj) {
+            if (null == getter) {
+                return ReflectUtil.getFieldValue(obj, field);
+            }
+            try {
+                return (Object)getter.invokeExact(obj);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UtilException(e);
+            }
+        }
+
+        private static MethodHandle createGetter(Field field) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles
+                    .lookup());
+                return lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            } catch (IllegalAccessException | RuntimeException e) {
+                log.debug("Create getter for field [{}] failed, fallback to reflection.", field, e);
+                return null;
+            }
+        }
+    }
 }
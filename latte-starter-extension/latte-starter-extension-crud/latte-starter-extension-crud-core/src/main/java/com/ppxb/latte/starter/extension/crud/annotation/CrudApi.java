@@ -27,6 +27,7 @@
 package com.ppxb.latte.starter.extension.crud.annotation;
 
 import com.ppxb.latte.starter.extension.crud.enums.Api;
+import com.ppxb.latte.starter.extension.crud.enums.PageCountType;
 
 import java.lang.annotation.*;
 
@@ -36,4 +37,9 @@ import java.lang.annotation.*;
 public @interface CrudApi {
 
     Api value() default Api.LIST;
+
+    /**
+     * 分页总数统计方式（仅对分页 API 生效，默认跟随全局配置）
+     */
+    PageCountType countType() default PageCountType.DEFAULT;
 }
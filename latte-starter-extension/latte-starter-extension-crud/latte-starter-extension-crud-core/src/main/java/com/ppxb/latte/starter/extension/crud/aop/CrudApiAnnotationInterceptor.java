@@ -27,6 +27,7 @@
 package com.ppxb.latte.starter.extension.crud.aop;
 
 import com.ppxb.latte.starter.extension.crud.annotation.CrudApi;
+import com.ppxb.latte.starter.extension.crud.context.CrudApiContextHolder;
 import com.ppxb.latte.starter.extension.crud.controller.AbstractBaseController;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
@@ -55,6 +56,16 @@ public class CrudApiAnnotationInterceptor implements MethodInterceptor {
         // 执行处理
         AbstractBaseController controller = (AbstractBaseController)invocation.getThis();
         controller.preHandle(crudApi, invocation.getArguments(), targetMethod, targetClass);
-        return invocation.proceed();
+        CrudApi previous = CrudApiContextHolder.getContext();
+        CrudApiContextHolder.setContext(crudApi);
+        try {
+            return invocation.proceed();
+        } finally {
+            if (previous == null) {
+                CrudApiContextHolder.clearContext();
+            } else {
+                CrudApiContextHolder.setContext(previous);
+            }
+        }
     }
 }
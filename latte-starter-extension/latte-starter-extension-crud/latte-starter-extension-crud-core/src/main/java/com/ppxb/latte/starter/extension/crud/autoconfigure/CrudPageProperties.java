@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.crud.autoconfigure;
+
+import com.ppxb.latte.starter.extension.crud.enums.PageCountType;
+
+import java.time.Duration;
+
+public class CrudPageProperties {
+
+    /**
+     * 分页总数统计方式（可通过 @CrudApi 针对单个 API 覆盖）
+     */
+    private PageCountType countType = PageCountType.EXACT;
+
+    /**
+     * 缓存统计：缓存有效期
+     */
+    private Duration countCacheTtl = Duration.ofMinutes(1);
+
+    /**
+     * 缓存统计：本地缓存最大条目数
+     */
+    private Integer countCacheMaxSize = 10000;
+
+    /**
+     * 缓存统计：是否使用 Redis 缓存（需引入 latte-starter-cache-redisson 模块，默认使用本地缓存）
+     */
+    private Boolean countCacheRedis = false;
+
+    public PageCountType getCountType() {
+        return countType;
+    }
+
+    public void setCountType(PageCountType countType) {
+        this.countType = countType;
+    }
+
+    public Duration getCountCacheTtl() {
+        return countCacheTtl;
+    }
+
+    public void setCountCacheTtl(Duration countCacheTtl) {
+        this.countCacheTtl = countCacheTtl;
+    }
+
+    public Integer getCountCacheMaxSize() {
+        return countCacheMaxSize;
+    }
+
+    public void setCountCacheMaxSize(Integer countCacheMaxSize) {
+        this.countCacheMaxSize = countCacheMaxSize;
+    }
+
+    public Boolean getCountCacheRedis() {
+        return countCacheRedis;
+    }
+
+    public void setCountCacheRedis(Boolean countCacheRedis) {
+        this.countCacheRedis = countCacheRedis;
+    }
+}
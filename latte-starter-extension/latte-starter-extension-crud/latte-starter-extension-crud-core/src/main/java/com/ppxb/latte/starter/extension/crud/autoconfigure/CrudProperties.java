@@ -36,6 +36,12 @@ public class CrudProperties {
     @NestedConfigurationProperty
     private CrudTreeProperties tree = new CrudTreeProperties();
 
+    @NestedConfigurationProperty
+    private CrudExportProperties export = new CrudExportProperties();
+
+    @NestedConfigurationProperty
+    private CrudPageProperties page = new CrudPageProperties();
+
     public CrudTreeProperties getTree() {
         return tree;
     }
@@ -43,4 +49,20 @@ public class CrudProperties {
     public void setTree(CrudTreeProperties tree) {
         this.tree = tree;
     }
+
+    public CrudExportProperties getExport() {
+        return export;
+    }
+
+    public void setExport(CrudExportProperties export) {
+        this.export = export;
+    }
+
+    public CrudPageProperties getPage() {
+        return page;
+    }
+
+    public void setPage(CrudPageProperties page) {
+        this.page = page;
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.crud.context;
+
+import com.ppxb.latte.starter.extension.crud.annotation.CrudApi;
+
+/**
+ * CRUD API 上下文 Holder
+ * <p>
+ * 在 CRUD API 执行期间保存当前 API 的 {@link CrudApi} 注解，便于业务层读取 API 级配置（例如分页总数统计方式）。
+ * </p>
+ */
+public class CrudApiContextHolder {
+
+    private static final ThreadLocal<CrudApi> CONTEXT_HOLDER = new ThreadLocal<>();
+
+    private CrudApiContextHolder() {
+    }
+
+    /**
+     * 获取上下文
+     *
+     * @return 上下文
+     */
+    public static CrudApi getContext() {
+        return CONTEXT_HOLDER.get();
+    }
+
+    /**
+     * 设置上下文
+     *
+     * @param context 上下文
+     */
+    public static void setContext(CrudApi context) {
+        CONTEXT_HOLDER.set(context);
+    }
+
+    /**
+     * 清除上下文
+     */
+    public static void clearContext() {
+        CONTEXT_HOLDER.remove();
+    }
+}
@@ -31,11 +31,13 @@ import com.feiniaojin.gracefulresponse.api.ExcludeFromGracefulResponse;
 import com.ppxb.latte.starter.extension.crud.annotation.CrudApi;
 import com.ppxb.latte.starter.extension.crud.enums.Api;
 import com.ppxb.latte.starter.extension.crud.handler.CrudApiHandler;
+import com.ppxb.latte.starter.extension.crud.model.query.CursorPageQuery;
 import com.ppxb.latte.starter.extension.crud.model.query.PageQuery;
 import com.ppxb.latte.starter.extension.crud.model.query.SortQuery;
 import com.ppxb.latte.starter.extension.crud.model.req.BaseReq;
 import com.ppxb.latte.starter.extension.crud.model.resp.BaseIdResp;
 import com.ppxb.latte.starter.extension.crud.model.resp.BasePageResp;
+import com.ppxb.latte.starter.extension.crud.model.resp.CursorPageResp;
 import com.ppxb.latte.starter.extension.crud.service.BaseService;
 import com.ppxb.latte.starter.extension.crud.validation.CrudValidationGroup;
 import io.swagger.v3.oas.annotations.Operation;
@@ -68,6 +70,21 @@ public abstract class AbstractBaseController<S extends BaseService<L, D, Q, C>,
         return baseService.page(query, pageQuery);
     }
 
+    /**
+     * 游标分页查询列表
+     *
+     * @param query           查询条件
+     * @param cursorPageQuery 游标分页查询条件
+     * @return 游标分页信息
+     */
+    @CrudApi(Api.CURSOR)
+    @Operation(summary = "游标分页查询列表", description = "游标分页查询列表（不查询总数，适用于深度翻页）")
+    @ResponseBody
+    @GetMapping("/cursor")
+    public CursorPageResp<L> cursor(Q query, @Validated CursorPageQuery cursorPageQuery) {
+        return baseService.cursorPage(query, cursorPageQuery);
+    }
+
     /**
      * 查询列表
      *
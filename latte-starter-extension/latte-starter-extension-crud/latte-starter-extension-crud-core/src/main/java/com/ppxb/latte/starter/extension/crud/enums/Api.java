@@ -33,6 +33,11 @@ public enum Api {
      */
     PAGE,
 
+    /**
+     * 游标分页
+     */
+    CURSOR,
+
     /**
      * 列表
      */
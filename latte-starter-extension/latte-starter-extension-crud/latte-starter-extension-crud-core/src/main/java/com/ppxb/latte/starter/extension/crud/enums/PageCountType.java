@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.crud.enums;
+
+public enum PageCountType {
+
+    /**
+     * 默认（跟随全局配置）
+     */
+    DEFAULT,
+
+    /**
+     * 精确统计（每次执行 COUNT 查询）
+     */
+    EXACT,
+
+    /**
+     * 缓存统计（按查询条件缓存 COUNT 结果，缓存有效期内不再执行 COUNT 查询）
+     */
+    CACHED,
+
+    /**
+     * 估算统计（基于数据库执行计划估算总数，不支持的数据库降级为精确统计）
+     */
+    ESTIMATED,
+
+    /**
+     * 仅判断是否有下一页（多查询一条数据，不执行 COUNT 查询，总数为已知数据量下限）
+     */
+    HAS_NEXT
+}
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.crud.model.query;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.hibernate.validator.constraints.Range;
+import org.springdoc.core.annotations.ParameterObject;
+
+import java.io.Serial;
+
+/**
+ * 游标分页查询条件
+ * <p>
+ * 基于上一页最后一条数据的排序字段值及 ID 定位下一页（Keyset 分页），不执行总数查询，翻页深度不影响查询性能。<br>
+ * 注意：排序字段需为非空字段，翻页过程中排序条件需保持不变。
+ * </p>
+ */
+@ParameterObject
+@Schema(description = "游标分页查询条件")
+public class CursorPageQuery extends SortQuery {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final int DEFAULT_SIZE = 10;
+
+    @Schema(description = "游标（首页为空，后续页传入上一页返回的游标）")
+    private String cursor;
+
+    @Schema(description = "每页数量")
+    @Range(min = 1, max = 1000, message = "每页数量（范围 {min} - {max}）")
+    private Integer size = DEFAULT_SIZE;
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+}
@@ -27,9 +27,11 @@
 package com.ppxb.latte.starter.extension.crud.service;
 
 import cn.hutool.core.lang.tree.Tree;
+import com.ppxb.latte.starter.extension.crud.model.query.CursorPageQuery;
 import com.ppxb.latte.starter.extension.crud.model.query.PageQuery;
 import com.ppxb.latte.starter.extension.crud.model.query.SortQuery;
 import com.ppxb.latte.starter.extension.crud.model.resp.BasePageResp;
+import com.ppxb.latte.starter.extension.crud.model.resp.CursorPageResp;
 import com.ppxb.latte.starter.extension.crud.model.resp.LabelValueResp;
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -55,6 +57,21 @@ public interface BaseService<L, D, Q, C> {
      */
     BasePageResp<L> page(Q query, PageQuery pageQuery);
 
+    /**
+     * 游标分页查询列表
+     * <p>
+     * 基于上一页最后一条数据的排序字段值及 ID 定位下一页，不执行总数查询，适用于大数据量的深度翻页。<br>
+     * 默认不支持，由具体实现（例如 MyBatis Plus 模块的 BaseServiceImpl）覆盖。
+     * </p>
+     *
+     * @param query           查询条件
+     * @param cursorPageQuery 游标分页查询条件
+     * @return 游标分页列表信息
+     */
+    default CursorPageResp<L> cursorPage(Q query, CursorPageQuery cursorPageQuery) {
+        throw new UnsupportedOperationException("Cursor page is not supported by " + this.getClass().getName());
+    }
+
     /**
      * 查询列表
      *
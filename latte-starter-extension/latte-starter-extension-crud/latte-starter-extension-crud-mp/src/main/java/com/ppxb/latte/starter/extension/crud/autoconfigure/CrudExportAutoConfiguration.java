@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.crud.autoconfigure;
+
+import com.ppxb.latte.starter.core.constant.PropertiesConstants;
+import com.ppxb.latte.starter.extension.crud.handler.StreamingQueryInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * CRUD 导出自动配置
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(CrudProperties.class)
+@ConditionalOnProperty(prefix = PropertiesConstants.CRUD + ".export", name = "streaming", havingValue = "true")
+public class CrudExportAutoConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(CrudExportAutoConfiguration.class);
+
+    static {
+        log.debug("[Latte Starter] - Auto Configuration 'Extension-CRUD Export' completed initialization.");
+    }
+
+    /**
+     * 流式查询拦截器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public StreamingQueryInterceptor streamingQueryInterceptor() {
+        return new StreamingQueryInterceptor();
+    }
+}
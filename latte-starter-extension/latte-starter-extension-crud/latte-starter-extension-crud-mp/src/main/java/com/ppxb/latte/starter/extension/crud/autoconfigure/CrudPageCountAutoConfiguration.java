@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.crud.autoconfigure;
+
+import com.ppxb.latte.starter.core.constant.PropertiesConstants;
+import com.ppxb.latte.starter.extension.crud.page.*;
+import com.ppxb.latte.starter.extension.datapermission.filter.DataPermissionUserContextProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * CRUD 分页总数统计自动配置
+ */
+@AutoConfiguration(after = DataSourceAutoConfiguration.class)
+@EnableConfigurationProperties(CrudProperties.class)
+public class CrudPageCountAutoConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(CrudPageCountAutoConfiguration.class);
+
+    static {
+        log.debug("[Latte Starter] - Auto Configuration 'Extension-CRUD Page Count' completed initialization.");
+    }
+
+    /**
+     * 分页总数统计策略-精确统计
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ExactPageCountStrategy exactPageCountStrategy() {
+        return new ExactPageCountStrategy();
+    }
+
+    /**
+     * 分页总数统计策略-仅判断是否有下一页
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public HasNextPageCountStrategy hasNextPageCountStrategy() {
+        return new HasNextPageCountStrategy();
+    }
+
+    /**
+     * 分页总数统计策略-缓存统计（本地缓存）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public CachedPageCountStrategy cachedPageCountStrategy(CrudProperties crudProperties,
+                                                           ObjectProvider<PageCountCacheKeyContributor> keyContributors) {
+        CrudPageProperties pageProperties = crudProperties.getPage();
+        return new CachedPageCountStrategy(pageProperties.getCountCacheTtl(), pageProperties
+            .getCountCacheMaxSize(), keyContributors.orderedStream().toList());
+    }
+
+    /**
+     * 分页总数统计策略-估算统计
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public EstimatedPageCountStrategy estimatedPageCountStrategy(ObjectProvider<DataSource> dataSource,
+                                                                 ObjectProvider<PageCountCacheKeyContributor> keyContributors) {
+        return new EstimatedPageCountStrategy(dataSource.getIfUnique(), keyContributors.orderedStream().toList());
+    }
+
+    /**
+     * 分页总数统计策略注册中心
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public PageCountStrategyRegistry pageCountStrategyRegistry(ObjectProvider<PageCountStrategy> strategies) {
+        return new PageCountStrategyRegistry(strategies.orderedStream().toList());
+    }
+
+    /**
+     * 分页总数统计缓存：Redis
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "com.ppxb.latte.starter.cache.redisson.util.RedisUtils")
+    @ConditionalOnProperty(prefix = PropertiesConstants.CRUD + ".page", name = "count-cache-redis", havingValue = "true")
+    public static class Redis {
+
+        /**
+         * 分页总数统计策略-缓存统计（Redis 缓存）
+         */
+        @Bean
+        @ConditionalOnMissingBean(CachedPageCountStrategy.class)
+        public RedissonCachedPageCountStrategy redissonCachedPageCountStrategy(CrudProperties crudProperties,
+                                                                               ObjectProvider<PageCountCacheKeyContributor> keyContributors) {
+            return new RedissonCachedPageCountStrategy(crudProperties.getPage().getCountCacheTtl(), keyContributors
+                .orderedStream()
+                .toList());
+        }
+    }
+
+    /**
+     * 分页总数缓存 Key：多租户
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "com.ppxb.latte.starter.extension.tenant.context.TenantContextHolder")
+    public static class Tenant {
+
+        /**
+         * 分页总数缓存 Key 贡献者-多租户
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public TenantPageCountCacheKeyContributor tenantPageCountCacheKeyContributor() {
+            return new TenantPageCountCacheKeyContributor();
+        }
+    }
+
+    /**
+     * 分页总数缓存 Key：数据权限
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "com.ppxb.latte.starter.extension.datapermission.filter.DataPermissionUserContextProvider")
+    public static class DataPermission {
+
+        /**
+         * 分页总数缓存 Key 贡献者-数据权限
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnBean(DataPermissionUserContextProvider.class)
+        public DataPermissionPageCountCacheKeyContributor dataPermissionPageCountCacheKeyContributor(DataPermissionUserContextProvider dataPermissionUserContextProvider) {
+            return new DataPermissionPageCountCacheKeyContributor(dataPermissionUserContextProvider);
+        }
+    }
+}
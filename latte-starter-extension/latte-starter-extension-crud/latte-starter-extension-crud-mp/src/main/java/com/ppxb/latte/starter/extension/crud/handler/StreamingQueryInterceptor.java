@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.crud.handler;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 流式查询拦截器
+ * <p>
+ * 为当前线程标记的查询语句（按 Mapper 语句 ID 匹配）设置 fetchSize，使 JDBC 驱动逐批读取结果集，而不是一次性缓存全部数据。<br>
+ * 标记仅对首条匹配的语句生效一次；其他插件在准备期间发起的查询（如：数据权限、租户信息查询）
+ * 及 ResultHandler 内发起的查询不会消耗该标记。
+ * </p>
+ * <p>
+ * MySQL 使用 {@link Integer#MIN_VALUE} 开启逐行流式读取（或在 URL 中配置 useCursorFetch=true 并使用正数）；
+ * PostgreSQL 需使用正数，且仅在关闭自动提交（事务内）时生效。
+ * </p>
+ */
+@Intercepts({@Signature(type = StatementHandler.class, method = "parameterize", args = {Statement.class})})
+public class StreamingQueryInterceptor implements Interceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingQueryInterceptor.class);
+
+    private static final ThreadLocal<StreamingQuery> STREAMING_QUERY_HOLDER = new ThreadLocal<>();
+
+    /**
+     * 为当前线程的下一条指定查询语句设置 fetchSize
+     *
+     * @param mappedStatementId Mapper 语句 ID
+     * @param fetchSize         fetchSize
+     */
+    public static void setFetchSize(String mappedStatementId, int fetchSize) {
+        STREAMING_QUERY_HOLDER.set(new StreamingQuery(mappedStatementId, fetchSize));
+    }
+
+    /**
+     * 清除当前线程的流式查询标记
+     */
+    public static void clear() {
+        STREAMING_QUERY_HOLDER.remove();
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        StreamingQuery streamingQuery = STREAMING_QUERY_HOLDER.get();
+        if (null != streamingQuery && streamingQuery.mappedStatementId()
+            .equals(PluginUtils.mpStatementHandler((StatementHandler)invocation.getTarget())
+                .mappedStatement()
+                .getId())) {
+            STREAMING_QUERY_HOLDER.remove();
+            this.applyFetchSize((Statement)invocation.getArgs()[0], streamingQuery.fetchSize());
+        }
+        return invocation.proceed();
+    }
+
+    /**
+     * 设置 fetchSize（仅只进结果集支持流式读取，驱动不支持时保持默认的全量读取）
+     *
+     * @param statement 语句
+     * @param fetchSize fetchSize
+     */
+    private void applyFetchSize(Statement statement, int fetchSize) {
+        try {
+            if (statement.getResultSetType() != ResultSet.TYPE_FORWARD_ONLY) {
+                log.warn("Streaming query requires a forward-only result set, fetch size is not applied.");
+                return;
+            }
+            statement.setFetchSize(fetchSize);
+        } catch (SQLException e) {
+            log.warn("Failed to set fetch size {} for streaming query, the result set will be fully loaded.", fetchSize, e);
+        }
+    }
+
+    /**
+     * 流式查询标记
+     *
+     * @param mappedStatementId Mapper 语句 ID
+     * @param fetchSize         fetchSize
+     */
+    private record StreamingQuery(String mappedStatementId, int fetchSize) {
+    }
+}
@@ -29,6 +29,8 @@ package com.ppxb.latte.starter.extension.crud.model.resp;
 import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.collection.CollUtil;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ppxb.latte.starter.extension.crud.enums.PageCountType;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.io.Serial;
@@ -42,6 +44,10 @@ public class PageResp<L> extends BasePageResp<L> {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    @Schema(description = "总数统计方式")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private PageCountType countType;
+
     public PageResp() {
     }
 
@@ -105,6 +111,14 @@ public class PageResp<L> extends BasePageResp<L> {
         return pageResp;
     }
 
+    public PageCountType getCountType() {
+        return countType;
+    }
+
+    public void setCountType(PageCountType countType) {
+        this.countType = countType;
+    }
+
     /**
      * 空分页信息
      *
@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.crud.page;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.segments.MergeSegments;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ppxb.latte.starter.extension.crud.enums.PageCountType;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * 分页总数统计策略-缓存统计（本地缓存）
+ * <p>
+ * 按「实体类型 + 规范化查询条件（不含排序）+ 参数值 + 上下文（例如租户、数据权限，见 {@link PageCountCacheKeyContributor}）」缓存 COUNT 结果，
+ * 缓存有效期内翻页、切换排序均不再执行 COUNT 查询。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class CachedPageCountStrategy implements PageCountStrategy {
+
+    protected final Duration ttl;
+
+    private final List<PageCountCacheKeyContributor> keyContributors;
+
+    /**
+     * 总数缓存（超出容量时按访问频率淘汰，写入后超过有效期失效）
+     */
+    private final Cache<String, Long> cache;
+
+    public CachedPageCountStrategy(Duration ttl, int maxSize) {
+        this(ttl, maxSize, Collections.emptyList());
+    }
+
+    public CachedPageCountStrategy(Duration ttl, int maxSize, List<PageCountCacheKeyContributor> keyContributors) {
+        this.ttl = ttl;
+        this.keyContributors = keyContributors;
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+    }
+
+    @Override
+    public PageCountType getType() {
+        return PageCountType.CACHED;
+    }
+
+    @Override
+    public <T> PageCountResult<T> selectPage(Class<T> entityClass,
+                                   BaseMapper<T> baseMapper,
+                                   long current,
+                                   long size,
+                                   QueryWrapper<T> queryWrapper) {
+        String cacheKey = this.buildCacheKey(entityClass, queryWrapper);
+        Long total = this.getCachedTotal(cacheKey);
+        if (total == null) {
+            IPage<T> page = baseMapper.selectPage(new Page<>(current, size), queryWrapper);
+            this.putCachedTotal(cacheKey, page.getTotal());
+            return new PageCountResult<>(page, PageCountType.EXACT);
+        }
+        IPage<T> page = baseMapper.selectPage(new Page<>(current, size, false), queryWrapper);
+        page.setTotal(total);
+        return new PageCountResult<>(page, this.getType());
+    }
+
+    /**
+     * 构建缓存 Key（排序条件不影响总数，不参与构建）
+     * <p>
+     * 多租户、数据权限等过滤条件由 MyBatis 插件在执行时追加，不体现在查询条件中，需由 {@link PageCountCacheKeyContributor} 补充。
+     * </p>
+     *
+     * @param entityClass  实体类型
+     * @param queryWrapper 查询条件封装对象
+     * @return 缓存 Key
+     */
+    protected String buildCacheKey(Class<?> entityClass, QueryWrapper<?> queryWrapper) {
+        MergeSegments expression = queryWrapper.getExpression();
+        StringBuilder cacheKey = new StringBuilder(entityClass.getName()).append('|')
+            .append(expression.getNormal().getSqlSegment())
+            .append('|')
+            .append(expression.getGroupBy().getSqlSegment())
+            .append('|')
+            .append(expression.getHaving().getSqlSegment())
+            .append('|')
+            .append(new TreeMap<>(queryWrapper.getParamNameValuePairs()));
+        for (PageCountCacheKeyContributor keyContributor : keyContributors) {
+            cacheKey.append('|').append(keyContributor.getKeySegment());
+        }
+        return cacheKey.toString();
+    }
+
+    /**
+     * 获取缓存的总数
+     *
+     * @param cacheKey 缓存 Key
+     * @return 总数（不存在或已过期返回 null）
+     */
+    protected Long getCachedTotal(String cacheKey) {
+        return cache.getIfPresent(cacheKey);
+    }
+
+    /**
+     * 缓存总数
+     *
+     * @param cacheKey 缓存 Key
+     * @param total    总数
+     */
+    protected void putCachedTotal(String cacheKey, long total) {
+        cache.put(cacheKey, total);
+    }
+}
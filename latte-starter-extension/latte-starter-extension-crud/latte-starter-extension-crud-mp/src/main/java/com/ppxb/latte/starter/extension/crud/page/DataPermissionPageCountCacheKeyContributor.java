@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.crud.page;
+
+import com.ppxb.latte.starter.extension.datapermission.filter.DataPermissionUserContextProvider;
+import com.ppxb.latte.starter.extension.datapermission.model.RoleContext;
+import com.ppxb.latte.starter.extension.datapermission.model.UserContext;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 分页总数缓存 Key 贡献者-数据权限
+ * <p>
+ * 按当前用户 ID、部门 ID 及角色（角色 ID + 数据权限范围）区分，覆盖各数据权限范围用到的全部维度。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class DataPermissionPageCountCacheKeyContributor implements PageCountCacheKeyContributor {
+
+    private final DataPermissionUserContextProvider dataPermissionUserContextProvider;
+
+    public DataPermissionPageCountCacheKeyContributor(DataPermissionUserContextProvider dataPermissionUserContextProvider) {
+        this.dataPermissionUserContextProvider = dataPermissionUserContextProvider;
+    }
+
+    @Override
+    public String getKeySegment() {
+        if (!dataPermissionUserContextProvider.isFilter()) {
+            return null;
+        }
+        UserContext userContext = dataPermissionUserContextProvider.getUserContext();
+        if (null == userContext) {
+            return null;
+        }
+        Set<RoleContext> roles = userContext.getRoles();
+        String roleSegment = null == roles
+            ? ""
+            : roles.stream()
+                .map(role -> role.getRoleId() + '=' + role.getDataScope())
+                .sorted()
+                .collect(Collectors.joining(","));
+        return "dataPermission:" + userContext.getUserId() + ':' + userContext.getDeptId() + ':' + roleSegment;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.crud.page;
+
+import cn.hutool.core.text.CharSequenceUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.segments.MergeSegments;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.ppxb.latte.starter.core.enums.BaseEnum;
+import com.ppxb.latte.starter.data.core.enums.DatabaseType;
+import com.ppxb.latte.starter.extension.crud.enums.PageCountType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 分页总数统计策略-估算统计
+ * <p>
+ * 基于数据库执行计划（EXPLAIN）估算总数，不执行 COUNT 查询，适用于大表的模糊分页场景。<br>
+ * 目前支持 MySQL（rows 列）及 PostgreSQL（rows= 估算值），其他数据库、包含 GROUP BY/HAVING 的查询或估算失败时降级为精确统计。<br>
+ * 执行计划通过 JDBC 直接执行，不经过 MyBatis 插件，因此当前上下文会由插件追加过滤条件（例如多租户、数据权限，
+ * 见 {@link PageCountCacheKeyContributor}）时同样降级为精确统计，避免估算出其他租户或无权限的数据量。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class EstimatedPageCountStrategy implements PageCountStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(EstimatedPageCountStrategy.class);
+
+    /**
+     * 查询条件参数占位符，例如：#{ew.paramNameValuePairs.MPGENVAL1}
+     */
+    private static final Pattern PARAM_PATTERN = Pattern.compile("#\\{\\w+\\.paramNameValuePairs\\.(\\w+)[^}]*}");
+
+    /**
+     * PostgreSQL 执行计划估算行数，例如：Seq Scan on sys_user (cost=0.00..1.05 rows=5 width=8)
+     */
+    private static final Pattern POSTGRE_SQL_ROWS_PATTERN = Pattern.compile("rows=(\\d+)");
+
+    private final DataSource dataSource;
+
+    private final List<PageCountCacheKeyContributor> filterContributors;
+
+    private final ExactPageCountStrategy exactPageCountStrategy = new ExactPageCountStrategy();
+
+    /**
+     * @param dataSource 数据源（为空时降级为精确统计）
+     */
+    public EstimatedPageCountStrategy(DataSource dataSource) {
+        this(dataSource, Collections.emptyList());
+    }
+
+    /**
+     * @param dataSource         数据源（为空时降级为精确统计）
+     * @param filterContributors 插件过滤条件贡献者（任一返回非空片段时降级为精确统计）
+     */
+    public EstimatedPageCountStrategy(DataSource dataSource, List<PageCountCacheKeyContributor> filterContributors) {
+        this.dataSource = dataSource;
+        this.filterContributors = filterContributors;
+    }
+
+    @Override
+    public PageCountType getType() {
+        return PageCountType.ESTIMATED;
+    }
+
+    @Override
+    public <T> PageCountResult<T> selectPage(Class<T> entityClass,
+                                   BaseMapper<T> baseMapper,
+                                   long current,
+                                   long size,
+                                   QueryWrapper<T> queryWrapper) {
+        Long estimatedTotal = this.estimate(entityClass, queryWrapper);
+        if (estimatedTotal == null) {
+            return exactPageCountStrategy.selectPage(entityClass, baseMapper, current, size, queryWrapper);
+        }
+        IPage<T> page = baseMapper.selectPage(new Page<>(current, size, false), queryWrapper);
+        // 估算值不能小于已知数据量
+        page.setTotal(Math.max(estimatedTotal, page.offset() + page.getRecords().size()));
+        return new PageCountResult<>(page, this.getType());
+    }
+
+    /**
+     * 估算总数
+     *
+     * @param entityClass  实体类型
+     * @param queryWrapper 查询条件封装对象
+     * @return 估算总数（不支持或估算失败返回 null）
+     */
+    private Long estimate(Class<?> entityClass, QueryWrapper<?> queryWrapper) {
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(entityClass);
+        MergeSegments expression = queryWrapper.getExpression();
+        if (dataSource == null || tableInfo == null || !expression.getGroupBy().isEmpty() || !expression.getHaving().isEmpty()) {
+            return null;
+        }
+        // 执行计划不经过 MyBatis 插件，存在插件追加的过滤条件时无法估算
+        for (PageCountCacheKeyContributor filterContributor : filterContributors) {
+            if (filterContributor.getKeySegment() != null) {
+                return null;
+            }
+        }
+        // 构建查询语句，并将参数占位符替换为 JDBC 占位符
+        List<String> conditions = new ArrayList<>(2);
+        String normalSqlSegment = expression.getNormal().getSqlSegment();
+        if (CharSequenceUtil.isNotBlank(normalSqlSegment)) {
+            conditions.add(normalSqlSegment);
+        }
+        if (tableInfo.isWithLogicDelete()) {
+            conditions.add(tableInfo.getLogicDeleteSql(false, true));
+        }
+        String sql = "SELECT 1 FROM " + tableInfo.getTableName() + (conditions.isEmpty()
+            ? ""
+            : " WHERE " + String.join(" AND ", conditions));
+        Map<String, Object> paramNameValuePairs = queryWrapper.getParamNameValuePairs();
+        List<Object> params = new ArrayList<>();
+        Matcher matcher = PARAM_PATTERN.matcher(sql);
+        StringBuilder explainSql = new StringBuilder("EXPLAIN ");
+        while (matcher.find()) {
+            params.add(paramNameValuePairs.get(matcher.group(1)));
+            matcher.appendReplacement(explainSql, "?");
+        }
+        matcher.appendTail(explainSql);
+        try (Connection conn = dataSource.getConnection()) {
+            DatabaseType databaseType = DatabaseType.get(conn.getMetaData().getDatabaseProductName());
+            if (databaseType == null) {
+                return null;
+            }
+            try (PreparedStatement ps = conn.prepareStatement(explainSql.toString())) {
+                for (int i = 0; i < params.size(); i++) {
+                    Object param = params.get(i);
+                    if (param instanceof BaseEnum<?> baseEnum) {
+                        param = baseEnum.getValue();
+                    } else if (param instanceof Enum<?> enumParam) {
+                        param = enumParam.name();
+                    }
+                    ps.setObject(i + 1, param);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    return switch (databaseType) {
+                        case MYSQL -> rs.getLong("rows");
+                        case POSTGRE_SQL -> {
+                            Matcher rowsMatcher = POSTGRE_SQL_ROWS_PATTERN.matcher(rs.getString(1));
+                            yield rowsMatcher.find() ? Long.parseLong(rowsMatcher.group(1)) : null;
+                        }
+                    };
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("Estimate page total occurred an error: {}. SQL: {}.", e.getMessage(), explainSql, e);
+            return null;
+        }
+    }
+}
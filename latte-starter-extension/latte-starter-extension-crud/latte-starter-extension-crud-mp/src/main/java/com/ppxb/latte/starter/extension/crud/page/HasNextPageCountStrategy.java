@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.crud.page;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.ppxb.latte.starter.extension.crud.enums.PageCountType;
+
+import java.io.Serial;
+import java.util.List;
+
+/**
+ * 分页总数统计策略-仅判断是否有下一页
+ * <p>
+ * 多查询一条数据判断是否存在下一页，不执行 COUNT 查询。<br>
+ * 返回的总数为已知数据量的下限：存在下一页时为「当前页之前的数据量 + 当前页数据量 + 1」，否则为实际总数。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class HasNextPageCountStrategy implements PageCountStrategy {
+
+    @Override
+    public PageCountType getType() {
+        return PageCountType.HAS_NEXT;
+    }
+
+    @Override
+    public <T> PageCountResult<T> selectPage(Class<T> entityClass,
+                                   BaseMapper<T> baseMapper,
+                                   long current,
+                                   long size,
+                                   QueryWrapper<T> queryWrapper) {
+        HasNextPage<T> hasNextPage = new HasNextPage<>(current, size);
+        List<T> records = baseMapper.selectList(hasNextPage, queryWrapper);
+        boolean hasNext = records.size() > size;
+        if (hasNext) {
+            records = records.subList(0, (int)size);
+        }
+        long total = hasNextPage.offset() + records.size() + (hasNext ? 1 : 0);
+        Page<T> page = new Page<>(current, size, total, false);
+        page.setRecords(records);
+        return new PageCountResult<>(page, this.getType());
+    }
+
+    /**
+     * 多查询一条数据的分页对象（偏移量按原每页数量计算）
+     */
+    private static class HasNextPage<T> extends Page<T> {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final long offset;
+
+        HasNextPage(long current, long size) {
+            super(current, size + 1, false);
+            this.offset = current > 0 ? (current - 1) * size : 0;
+        }
+
+        @Override
+        public long offset() {
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.crud.page;
+
+/**
+ * 分页总数缓存 Key 贡献者
+ * <p>
+ * 用于区分查询条件之外、由 MyBatis 插件追加的过滤条件（例如多租户、数据权限），避免不同上下文之间共享 COUNT 结果。
+ * 估算统计同样据此判断当前上下文是否存在插件追加的过滤条件，存在时降级为精确统计。
+ * 如需扩展，实现该接口并注册为 Spring Bean 即可。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public interface PageCountCacheKeyContributor {
+
+    /**
+     * 获取当前上下文的缓存 Key 片段
+     *
+     * @return 缓存 Key 片段（当前上下文不追加过滤条件时返回 null）
+     */
+    String getKeySegment();
+}
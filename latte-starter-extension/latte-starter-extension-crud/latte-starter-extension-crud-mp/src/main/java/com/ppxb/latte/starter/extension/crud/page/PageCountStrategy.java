@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.crud.page;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ppxb.latte.starter.extension.crud.enums.PageCountType;
+
+/**
+ * 分页总数统计策略
+ * <p>
+ * 负责执行分页数据查询并给出总数，不同策略在总数准确性与查询开销之间做取舍。
+ * 如需扩展，实现该接口并注册为 Spring Bean 即可（相同统计方式的自定义策略会覆盖默认策略）。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public interface PageCountStrategy {
+
+    /**
+     * 获取统计方式
+     *
+     * @return 统计方式
+     */
+    PageCountType getType();
+
+    /**
+     * 分页查询
+     *
+     * @param entityClass  实体类型
+     * @param baseMapper   Mapper
+     * @param current      页码
+     * @param size         每页数量
+     * @param queryWrapper 查询条件封装对象
+     * @param <T>          实体类型
+     * @return 分页查询结果
+     */
+    <T> PageCountResult<T> selectPage(Class<T> entityClass,
+                            BaseMapper<T> baseMapper,
+                            long current,
+                            long size,
+                            QueryWrapper<T> queryWrapper);
+}
@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.crud.page;
+
+import com.ppxb.latte.starter.extension.crud.enums.PageCountType;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分页总数统计策略注册中心
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class PageCountStrategyRegistry {
+
+    private final Map<PageCountType, PageCountStrategy> strategyMap = new EnumMap<>(PageCountType.class);
+
+    public PageCountStrategyRegistry(List<PageCountStrategy> strategies) {
+        strategies.forEach(strategy -> strategyMap.put(strategy.getType(), strategy));
+    }
+
+    /**
+     * 获取分页总数统计策略
+     *
+     * @param countType 统计方式（默认为精确统计）
+     * @return 分页总数统计策略
+     */
+    public PageCountStrategy get(PageCountType countType) {
+        PageCountType type = countType == null || countType == PageCountType.DEFAULT ? PageCountType.EXACT : countType;
+        PageCountStrategy strategy = strategyMap.get(type);
+        if (strategy == null) {
+            throw new IllegalArgumentException("暂不支持 [%s] 分页总数统计方式".formatted(type));
+        }
+        return strategy;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.crud.page;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+import com.ppxb.latte.starter.cache.redisson.util.RedisUtils;
+import com.ppxb.latte.starter.core.constant.StringConstants;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 分页总数统计策略-缓存统计（Redis 缓存）
+ * <p>
+ * 多节点共享 COUNT 结果缓存，缓存 Key 为规范化查询条件的 128 位哈希值。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class RedissonCachedPageCountStrategy extends CachedPageCountStrategy {
+
+    /**
+     * 缓存 Key 前缀
+     */
+    private static final String CACHE_KEY_PREFIX = "CRUD" + StringConstants.COLON + "PAGE_COUNT" + StringConstants.COLON;
+
+    public RedissonCachedPageCountStrategy(Duration ttl) {
+        this(ttl, Collections.emptyList());
+    }
+
+    public RedissonCachedPageCountStrategy(Duration ttl, List<PageCountCacheKeyContributor> keyContributors) {
+        super(ttl, 0, keyContributors);
+    }
+
+    @Override
+    protected Long getCachedTotal(String cacheKey) {
+        return RedisUtils.get(this.toRedisKey(cacheKey));
+    }
+
+    @Override
+    protected void putCachedTotal(String cacheKey, long total) {
+        RedisUtils.set(this.toRedisKey(cacheKey), total, ttl);
+    }
+
+    private String toRedisKey(String cacheKey) {
+        long[] hash = MurmurHash.hash128(cacheKey);
+        return CACHE_KEY_PREFIX + "%016x%016x".formatted(hash[0], hash[1]);
+    }
+}
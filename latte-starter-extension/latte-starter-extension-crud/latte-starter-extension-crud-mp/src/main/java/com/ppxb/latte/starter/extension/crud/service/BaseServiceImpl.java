@@ -29,6 +29,7 @@ package com.ppxb.latte.starter.extension.crud.service;
 import cn.crane4j.core.support.OperateTemplate;
 import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.bean.copier.CopyOptions;
+import cn.hutool.core.codec.Base64;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.convert.Convert;
 import cn.hutool.core.lang.tree.Tree;
@@ -38,10 +39,12 @@ import cn.hutool.core.map.MapUtil;
 import cn.hutool.core.text.CharSequenceUtil;
 import cn.hutool.core.util.ReflectUtil;
 import cn.hutool.extra.spring.SpringUtil;
+import cn.hutool.json.JSONUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
-import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.ppxb.latte.starter.core.constant.StringConstants;
+import com.ppxb.latte.starter.core.exception.BadRequestException;
 import com.ppxb.latte.starter.core.util.ClassUtils;
 import com.ppxb.latte.starter.core.util.ReflectUtils;
 import com.ppxb.latte.starter.core.validation.CheckUtils;
@@ -49,22 +52,36 @@ import com.ppxb.latte.starter.core.validation.ValidationUtils;
 import com.ppxb.latte.starter.data.mp.base.BaseMapper;
 import com.ppxb.latte.starter.data.mp.service.impl.ServiceImpl;
 import com.ppxb.latte.starter.data.mp.util.QueryWrapperHelper;
+import com.ppxb.latte.starter.extension.crud.annotation.CrudApi;
 import com.ppxb.latte.starter.extension.crud.annotation.DictField;
 import com.ppxb.latte.starter.extension.crud.annotation.TreeField;
+import com.ppxb.latte.starter.extension.crud.autoconfigure.CrudExportProperties;
 import com.ppxb.latte.starter.extension.crud.autoconfigure.CrudProperties;
 import com.ppxb.latte.starter.extension.crud.autoconfigure.CrudTreeProperties;
+import com.ppxb.latte.starter.extension.crud.context.CrudApiContextHolder;
+import com.ppxb.latte.starter.extension.crud.enums.PageCountType;
+import com.ppxb.latte.starter.extension.crud.handler.StreamingQueryInterceptor;
 import com.ppxb.latte.starter.extension.crud.model.entity.BaseIdDO;
+import com.ppxb.latte.starter.extension.crud.model.query.CursorPageQuery;
 import com.ppxb.latte.starter.extension.crud.model.query.PageQuery;
 import com.ppxb.latte.starter.extension.crud.model.query.SortQuery;
+import com.ppxb.latte.starter.extension.crud.model.resp.CursorPageResp;
 import com.ppxb.latte.starter.extension.crud.model.resp.LabelValueResp;
 import com.ppxb.latte.starter.extension.crud.model.resp.PageResp;
+import com.ppxb.latte.starter.extension.crud.page.PageCountResult;
+import com.ppxb.latte.starter.extension.crud.page.PageCountStrategy;
+import com.ppxb.latte.starter.extension.crud.page.PageCountStrategyRegistry;
 import com.ppxb.latte.starter.file.excel.util.ExcelUtils;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.lang.reflect.Field;
+import java.sql.Timestamp;
+import java.time.*;
+import java.time.temporal.TemporalAccessor;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * 业务实现基类
@@ -78,6 +95,11 @@ import java.util.*;
  */
 public abstract class BaseServiceImpl<M extends BaseMapper<T>, T extends BaseIdDO, L, D, Q, C> extends ServiceImpl<M, T> implements BaseService<L, D, Q, C> {
 
+    /**
+     * ID 属性名
+     */
+    private static final String ID_PROPERTY = "id";
+
     private Class<L> listClass;
 
     private Class<D> detailClass;
@@ -90,12 +112,55 @@ public abstract class BaseServiceImpl<M extends BaseMapper<T>, T extends BaseIdD
     public PageResp<L> page(Q query, PageQuery pageQuery) {
         QueryWrapper<T> queryWrapper = this.buildQueryWrapper(query);
         this.sort(queryWrapper, pageQuery);
-        IPage<T> page = baseMapper.selectPage(new Page<>(pageQuery.getPage(), pageQuery.getSize()), queryWrapper);
-        PageResp<L> pageResp = PageResp.build(page, this.getListClass());
+        PageCountResult<T> result = this.getPageCountStrategy()
+            .selectPage(super.getEntityClass(), baseMapper, pageQuery.getPage(), pageQuery.getSize(), queryWrapper);
+        PageResp<L> pageResp = PageResp.build(result.page(), this.getListClass());
+        pageResp.setCountType(result.countType());
         pageResp.getList().forEach(this::fill);
         return pageResp;
     }
 
+    @Override
+    public CursorPageResp<L> cursorPage(Q query, CursorPageQuery cursorPageQuery) {
+        QueryWrapper<T> queryWrapper = this.buildQueryWrapper(query);
+        List<Sort.Order> orders = this.getCursorOrders(cursorPageQuery);
+        // 根据游标定位：(a > ?) OR (a = ? AND b > ?) OR (a = ? AND b = ? AND id > ?)
+        if (CharSequenceUtil.isNotBlank(cursorPageQuery.getCursor())) {
+            List<Object> cursorValues = this.decodeCursor(cursorPageQuery.getCursor(), orders);
+            queryWrapper.and(q -> {
+                for (int i = 0; i < orders.size(); i++) {
+                    final int index = i;
+                    q.or(c -> {
+                        for (int j = 0; j < index; j++) {
+                            c.eq(CharSequenceUtil.toUnderlineCase(orders.get(j).getProperty()), cursorValues.get(j));
+                        }
+                        Sort.Order order = orders.get(index);
+                        String column = CharSequenceUtil.toUnderlineCase(order.getProperty());
+                        if (order.isAscending()) {
+                            c.gt(column, cursorValues.get(index));
+                        } else {
+                            c.lt(column, cursorValues.get(index));
+                        }
+                    });
+                }
+            });
+        }
+        for (Sort.Order order : orders) {
+            queryWrapper.orderBy(true, order.isAscending(), CharSequenceUtil.toUnderlineCase(order.getProperty()));
+        }
+        // 多查询一条用于判断是否有下一页，且不执行总数查询
+        int size = cursorPageQuery.getSize();
+        List<T> records = baseMapper.selectList(new Page<>(1, size + 1, false), queryWrapper);
+        boolean hasNext = records.size() > size;
+        if (hasNext) {
+            records = records.subList(0, size);
+        }
+        String nextCursor = hasNext ? this.encodeCursor(CollUtil.getLast(records), orders) : null;
+        List<L> list = BeanUtil.copyToList(records, this.getListClass());
+        list.forEach(this::fill);
+        return new CursorPageResp<>(list, nextCursor, hasNext);
+    }
+
     @Override
     public List<L> list(Q query, SortQuery sortQuery) {
         List<L> list = this.list(query, sortQuery, this.getListClass());
@@ -215,6 +280,12 @@ public abstract class BaseServiceImpl<M extends BaseMapper<T>, T extends BaseIdD
 
     @Override
     public void export(Q query, SortQuery sortQuery, HttpServletResponse response) {
+        CrudExportProperties exportProperties = SpringUtil.getBean(CrudProperties.class).getExport();
+        if (Boolean.TRUE.equals(exportProperties.getStreaming())) {
+            this.exportByStream(query, sortQuery, exportProperties.getBatchSize(), exportProperties
+                .getFetchSize(), response);
+            return;
+        }
         List<D> list = this.list(query, sortQuery, this.getDetailClass());
         list.forEach(this::fill);
         ExcelUtils.export(list, "导出数据", this.getDetailClass(), response);
@@ -268,6 +339,22 @@ public abstract class BaseServiceImpl<M extends BaseMapper<T>, T extends BaseIdD
         return queryFields;
     }
 
+    /**
+     * 获取分页总数统计策略
+     * <p>
+     * 优先使用当前 API 上 {@link CrudApi#countType()} 指定的统计方式，未指定则使用全局配置。
+     * </p>
+     *
+     * @return 分页总数统计策略
+     */
+    protected PageCountStrategy getPageCountStrategy() {
+        PageCountType countType = Optional.ofNullable(CrudApiContextHolder.getContext())
+            .map(CrudApi::countType)
+            .filter(type -> type != PageCountType.DEFAULT)
+            .orElseGet(() -> SpringUtil.getBean(CrudProperties.class).getPage().getCountType());
+        return SpringUtil.getBean(PageCountStrategyRegistry.class).get(countType);
+    }
+
     /**
      * 查询列表
      *
@@ -287,6 +374,64 @@ public abstract class BaseServiceImpl<M extends BaseMapper<T>, T extends BaseIdD
         return BeanUtil.copyToList(entityList, targetClass);
     }
 
+    /**
+     * 流式导出
+     * <p>
+     * 通过 ResultHandler 逐行读取数据，按批次转换、填充并写入 Excel，内存占用仅与批次大小有关。<br>
+     * 查询语句使用只进结果集并设置 fetchSize（见 {@link StreamingQueryInterceptor}），由 JDBC 驱动逐批读取结果集。
+     * </p>
+     *
+     * @param query     查询条件
+     * @param sortQuery 排序查询条件
+     * @param batchSize 每批数据量
+     * @param fetchSize 查询 fetchSize
+     * @param response  响应对象
+     */
+    protected void exportByStream(Q query,
+                                  SortQuery sortQuery,
+                                  int batchSize,
+                                  int fetchSize,
+                                  HttpServletResponse response) {
+        QueryWrapper<T> queryWrapper = this.buildQueryWrapper(query);
+        // 设置排序
+        this.sort(queryWrapper, sortQuery);
+        Class<D> detailClass = this.getDetailClass();
+        boolean isEntityClass = super.getEntityClass() == detailClass;
+        ExcelUtils.exportByBatch("导出数据", detailClass, response, writer -> {
+            List<D> batch = new ArrayList<>(batchSize);
+            // 仅对导出查询语句设置 fetchSize
+            String mappedStatementId = this.getMapperClass().getName() + StringConstants.DOT + SqlMethod.SELECT_LIST
+                .getMethod();
+            StreamingQueryInterceptor.setFetchSize(mappedStatementId, fetchSize);
+            try {
+                baseMapper.selectList(queryWrapper, resultContext -> {
+                    T entity = resultContext.getResultObject();
+                    batch.add(isEntityClass ? (D)entity : BeanUtil.toBean(entity, detailClass));
+                    if (batch.size() >= batchSize) {
+                        this.writeBatch(batch, writer);
+                    }
+                });
+            } finally {
+                StreamingQueryInterceptor.clear();
+            }
+            if (!batch.isEmpty()) {
+                this.writeBatch(batch, writer);
+            }
+        });
+    }
+
+    /**
+     * 填充并写入一批导出数据，写入后清空批次以复用
+     *
+     * @param batch  批次数据
+     * @param writer 写入器
+     */
+    private void writeBatch(List<D> batch, Consumer<List<D>> writer) {
+        batch.forEach(this::fill);
+        writer.accept(batch);
+        batch.clear();
+    }
+
     /**
      * 设置排序
      *
@@ -300,21 +445,160 @@ public abstract class BaseServiceImpl<M extends BaseMapper<T>, T extends BaseIdD
         Sort sort = sortQuery.getSort();
         for (Sort.Order order : sort) {
             String property = order.getProperty();
-            String checkProperty;
-            // 携带表别名则获取 . 后面的字段名
-            if (property.contains(StringConstants.DOT)) {
-                checkProperty = CollUtil.getLast(CharSequenceUtil.split(property, StringConstants.DOT));
-            } else {
-                checkProperty = property;
-            }
-            Optional<Field> optional = super.getEntityFields().stream()
-                .filter(field -> checkProperty.equals(field.getName()))
-                .findFirst();
-            ValidationUtils.throwIf(optional.isEmpty(), "无效的排序字段 [{}]", property);
+            this.getSortField(property);
             queryWrapper.orderBy(true, order.isAscending(), CharSequenceUtil.toUnderlineCase(property));
         }
     }
 
+    /**
+     * 获取排序字段
+     *
+     * @param property 排序属性（可携带表别名）
+     * @return 排序字段
+     */
+    private Field getSortField(String property) {
+        String checkProperty;
+        // 携带表别名则获取 . 后面的字段名
+        if (property.contains(StringConstants.DOT)) {
+            checkProperty = CollUtil.getLast(CharSequenceUtil.split(property, StringConstants.DOT));
+        } else {
+            checkProperty = property;
+        }
+        Optional<Field> optional = super.getEntityFields().stream()
+            .filter(field -> checkProperty.equals(field.getName()))
+            .findFirst();
+        ValidationUtils.throwIf(optional.isEmpty(), "无效的排序字段 [{}]", property);
+        return optional.get();
+    }
+
+    /**
+     * 获取游标分页排序条件（末尾追加 ID 排序，保证排序唯一，ID 排序方向与最后一个排序条件一致）
+     *
+     * @param cursorPageQuery 游标分页查询条件
+     * @return 排序条件列表
+     */
+    private List<Sort.Order> getCursorOrders(CursorPageQuery cursorPageQuery) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : cursorPageQuery.getSort()) {
+            this.getSortField(order.getProperty());
+            orders.add(order);
+        }
+        boolean hasIdOrder = orders.stream()
+            .anyMatch(order -> ID_PROPERTY.equals(CollUtil.getLast(CharSequenceUtil.split(order
+                .getProperty(), StringConstants.DOT))));
+        if (!hasIdOrder) {
+            Sort.Direction direction = orders.isEmpty() ? Sort.Direction.ASC : CollUtil.getLast(orders).getDirection();
+            orders.add(new Sort.Order(direction, ID_PROPERTY));
+        }
+        return orders;
+    }
+
+    /**
+     * 编码游标（排序字段值列表转 JSON 后进行 Base64 URL 安全编码）
+     *
+     * @param entity 当前页最后一条数据
+     * @param orders 排序条件列表
+     * @return 游标
+     */
+    private String encodeCursor(T entity, List<Sort.Order> orders) {
+        List<String> cursorValues = new ArrayList<>(orders.size());
+        for (Sort.Order order : orders) {
+            Object value = ReflectUtil.getFieldValue(entity, this.getSortField(order.getProperty()));
+            cursorValues.add(this.encodeCursorValue(value));
+        }
+        return Base64.encodeUrlSafe(JSONUtil.toJsonStr(cursorValues));
+    }
+
+    /**
+     * 解码游标，并将各排序字段值转换为实体字段类型
+     *
+     * @param cursor 游标
+     * @param orders 排序条件列表
+     * @return 排序字段值列表
+     */
+    private List<Object> decodeCursor(String cursor, List<Sort.Order> orders) {
+        List<String> cursorValues;
+        try {
+            cursorValues = JSONUtil.parseArray(Base64.decodeStr(cursor)).toList(String.class);
+        } catch (Exception e) {
+            throw new BadRequestException("游标无效", e);
+        }
+        ValidationUtils.throwIf(cursorValues.size() != orders.size(), "游标无效");
+        List<Object> values = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            Field field = this.getSortField(orders.get(i).getProperty());
+            Object value;
+            try {
+                value = this.decodeCursorValue(field.getType(), cursorValues.get(i));
+            } catch (DateTimeException e) {
+                throw new BadRequestException("游标无效", e);
+            }
+            ValidationUtils.throwIfNull(value, "游标无效");
+            values.add(value);
+        }
+        return values;
+    }
+
+    /**
+     * 编码游标字段值（时间类型使用 ISO-8601 格式，保留纳秒精度及时区偏移，保证解码后边界值不变）
+     *
+     * @param value 字段值
+     * @return 编码后的字段值
+     */
+    private String encodeCursorValue(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant().toString();
+        }
+        if (value instanceof Date date) {
+            return Instant.ofEpochMilli(date.getTime()).toString();
+        }
+        if (value instanceof TemporalAccessor) {
+            return value.toString();
+        }
+        return Convert.toStr(value);
+    }
+
+    /**
+     * 按字段类型解码游标字段值
+     *
+     * @param fieldType 字段类型
+     * @param value     编码后的字段值
+     * @return 字段值（无法转换时返回 null）
+     */
+    private Object decodeCursorValue(Class<?> fieldType, String value) {
+        if (null == value) {
+            return null;
+        }
+        if (Timestamp.class == fieldType) {
+            return Timestamp.from(Instant.parse(value));
+        }
+        if (java.sql.Date.class == fieldType) {
+            return new java.sql.Date(Instant.parse(value).toEpochMilli());
+        }
+        if (Date.class == fieldType) {
+            return Date.from(Instant.parse(value));
+        }
+        if (Instant.class == fieldType) {
+            return Instant.parse(value);
+        }
+        if (LocalDateTime.class == fieldType) {
+            return LocalDateTime.parse(value);
+        }
+        if (LocalDate.class == fieldType) {
+            return LocalDate.parse(value);
+        }
+        if (LocalTime.class == fieldType) {
+            return LocalTime.parse(value);
+        }
+        if (OffsetDateTime.class == fieldType) {
+            return OffsetDateTime.parse(value);
+        }
+        if (ZonedDateTime.class == fieldType) {
+            return ZonedDateTime.parse(value);
+        }
+        return Convert.convertQuietly(fieldType, value);
+    }
+
     /**
      * 填充数据
      *
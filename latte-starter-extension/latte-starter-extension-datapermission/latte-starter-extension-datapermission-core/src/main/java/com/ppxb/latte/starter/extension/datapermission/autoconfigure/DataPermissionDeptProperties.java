@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.datapermission.autoconfigure;
+
+import java.time.Duration;
+
+/**
+ * 数据权限部门解析配置属性
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class DataPermissionDeptProperties {
+
+    /**
+     * IN 列表最大部门数量（超出后使用子查询）
+     */
+    private int maxInListSize = 500;
+
+    /**
+     * 部门层级及角色关联部门缓存有效期（多实例部署时，其他实例的变更事件无法送达，到期后重新加载；小于等于 0 表示仅在变更事件时重新加载）
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * 角色关联部门缓存最大数量
+     */
+    private long roleCacheSize = 1000;
+
+    public int getMaxInListSize() {
+        return maxInListSize;
+    }
+
+    public void setMaxInListSize(int maxInListSize) {
+        this.maxInListSize = maxInListSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getRoleCacheSize() {
+        return roleCacheSize;
+    }
+
+    public void setRoleCacheSize(long roleCacheSize) {
+        this.roleCacheSize = roleCacheSize;
+    }
+}
@@ -37,6 +37,16 @@ public class DataPermissionProperties {
      */
     private boolean enabled = true;
 
+    /**
+     * 是否在启动时预加载 Mapper 方法的数据权限注解（未预加载的 Mapper 语句在首次执行时加载）
+     */
+    private boolean preload = true;
+
+    /**
+     * 部门解析配置（存在 {@link com.ppxb.latte.starter.extension.datapermission.filter.DataPermissionDeptProvider} 时生效）
+     */
+    private DataPermissionDeptProperties dept = new DataPermissionDeptProperties();
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -44,4 +54,20 @@ public class DataPermissionProperties {
     public void setEnabled(boolean enabled) {
         this.enabled = enabled;
     }
+
+    public boolean isPreload() {
+        return preload;
+    }
+
+    public void setPreload(boolean preload) {
+        this.preload = preload;
+    }
+
+    public DataPermissionDeptProperties getDept() {
+        return dept;
+    }
+
+    public void setDept(DataPermissionDeptProperties dept) {
+        this.dept = dept;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.datapermission.filter;
+
+import com.ppxb.latte.starter.extension.datapermission.model.DeptContext;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 数据权限部门提供者
+ *
+ * <p>
+ * 提供部门层级及角色关联部门，用于将本部门及以下、自定义数据权限解析为部门 ID 列表（替代 find_in_set 等子查询）。
+ * 部门或角色关联部门变更后需发布 {@link com.ppxb.latte.starter.extension.datapermission.event.DataPermissionDeptChangeEvent}。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public interface DataPermissionDeptProvider {
+
+    /**
+     * 查询所有部门
+     *
+     * @return 部门列表（部门 ID、上级部门 ID）
+     */
+    List<DeptContext> listDepts();
+
+    /**
+     * 查询角色关联的部门 ID
+     *
+     * @param roleId 角色 ID
+     * @return 部门 ID 列表
+     */
+    Collection<String> listDeptIdsByRoleId(String roleId);
+}
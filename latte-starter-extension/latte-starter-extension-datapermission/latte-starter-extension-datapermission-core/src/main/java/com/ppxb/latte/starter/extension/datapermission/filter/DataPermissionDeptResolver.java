@@ -0,0 +1,255 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.datapermission.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ppxb.latte.starter.extension.datapermission.autoconfigure.DataPermissionDeptProperties;
+import com.ppxb.latte.starter.extension.datapermission.event.DataPermissionDeptChangeEvent;
+import com.ppxb.latte.starter.extension.datapermission.model.DeptContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 数据权限部门解析器
+ *
+ * <p>
+ * 在内存中维护部门层级，将部门解析为本部门及以下部门 ID 集合、将角色解析为关联部门 ID 集合，解析结果缓存至部门层级重新加载。
+ * 部门层级在首次使用时加载，收到 {@link DataPermissionDeptChangeEvent} 或缓存到期后重新加载，每次重新加载版本号递增。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class DataPermissionDeptResolver implements ApplicationListener<DataPermissionDeptChangeEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(DataPermissionDeptResolver.class);
+
+    private final DataPermissionDeptProvider deptProvider;
+
+    private final DataPermissionDeptProperties properties;
+
+    private volatile Snapshot snapshot;
+
+    private long version;
+
+    public DataPermissionDeptResolver(DataPermissionDeptProvider deptProvider,
+                                      DataPermissionDeptProperties properties) {
+        this.deptProvider = deptProvider;
+        this.properties = properties;
+    }
+
+    /**
+     * 获取本部门及以下部门 ID
+     *
+     * @param deptId 部门 ID
+     * @return 部门 ID 集合（部门不存在时返回空集合）
+     */
+    public Set<String> getDeptAndChildIds(String deptId) {
+        return this.getSnapshot().getDeptAndChildIds(deptId);
+    }
+
+    /**
+     * 获取角色关联的部门 ID
+     *
+     * @param roleId 角色 ID
+     * @return 部门 ID 集合
+     */
+    public Set<String> getRoleDeptIds(String roleId) {
+        return this.getSnapshot().getRoleDeptIds(roleId);
+    }
+
+    /**
+     * 获取当前版本号（部门层级重新加载后递增，可用于区分基于不同版本构建的 SQL）
+     *
+     * @return 版本号
+     */
+    public long getVersion() {
+        return this.getSnapshot().getVersion();
+    }
+
+    /**
+     * 重新加载（下次解析时重新查询部门层级及角色关联部门）
+     */
+    public synchronized void refresh() {
+        snapshot = null;
+    }
+
+    @Override
+    public void onApplicationEvent(DataPermissionDeptChangeEvent event) {
+        this.refresh();
+    }
+
+    /**
+     * 获取当前部门层级快照
+     *
+     * <p>
+     * 同一条 SQL 的多次解析（如：缓存形态及过滤条件）应使用同一快照，避免期间重新加载导致解析结果与版本号不一致
+     * </p>
+     *
+     * @return 部门层级快照
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (null != current && !current.isExpired()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (null == current || current.isExpired()) {
+                current = new Snapshot(++version);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * 部门层级快照（重新加载时整体替换，避免解析结果与部门层级不一致）
+     */
+    public final class Snapshot {
+
+        private final long version;
+
+        private final long expireAt;
+
+        /**
+         * 下级部门（部门 ID -> 直接下级部门 ID 列表，首次使用时加载）
+         */
+        private volatile Map<String, List<String>> children;
+
+        private final Map<String, Set<String>> deptAndChildIds = new ConcurrentHashMap<>();
+
+        private final Cache<String, Set<String>> roleDeptIds;
+
+        private Snapshot(long version) {
+            this.version = version;
+            long ttl = properties.getTtl() != null ? properties.getTtl().toMillis() : 0;
+            this.expireAt = ttl > 0 ? System.currentTimeMillis() + ttl : Long.MAX_VALUE;
+            this.roleDeptIds = Caffeine.newBuilder().maximumSize(properties.getRoleCacheSize()).build();
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() > expireAt;
+        }
+
+        /**
+         * 获取版本号
+         *
+         * @return 版本号
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * 获取本部门及以下部门 ID
+         *
+         * @param deptId 部门 ID
+         * @return 部门 ID 集合（部门不存在时返回空集合）
+         */
+        public Set<String> getDeptAndChildIds(String deptId) {
+            if (null == deptId) {
+                return Collections.emptySet();
+            }
+            Map<String, List<String>> tree = this.getChildren();
+            if (!tree.containsKey(deptId)) {
+                return Collections.emptySet();
+            }
+            return deptAndChildIds.computeIfAbsent(deptId, id -> collectDeptAndChildIds(tree, id));
+        }
+
+        /**
+         * 获取角色关联的部门 ID
+         *
+         * @param roleId 角色 ID
+         * @return 部门 ID 集合
+         */
+        public Set<String> getRoleDeptIds(String roleId) {
+            if (null == roleId) {
+                return Collections.emptySet();
+            }
+            return roleDeptIds.get(roleId, id -> {
+                Collection<String> deptIds = deptProvider.listDeptIdsByRoleId(id);
+                return null != deptIds ? Collections.unmodifiableSet(new LinkedHashSet<>(deptIds)) : Collections
+                    .emptySet();
+            });
+        }
+
+        private Map<String, List<String>> getChildren() {
+            Map<String, List<String>> tree = children;
+            if (null == tree) {
+                synchronized (this) {
+                    tree = children;
+                    if (null == tree) {
+                        tree = loadChildren();
+                        children = tree;
+                    }
+                }
+            }
+            return tree;
+        }
+
+        private Map<String, List<String>> loadChildren() {
+            List<DeptContext> depts = deptProvider.listDepts();
+            Map<String, List<String>> tree = new HashMap<>();
+            if (null != depts) {
+                for (DeptContext dept : depts) {
+                    if (null != dept.getDeptId()) {
+                        tree.computeIfAbsent(dept.getDeptId(), id -> new ArrayList<>());
+                    }
+                }
+                for (DeptContext dept : depts) {
+                    List<String> siblings = null != dept.getDeptId() ? tree.get(dept.getParentId()) : null;
+                    if (null != siblings && !dept.getDeptId().equals(dept.getParentId())) {
+                        siblings.add(dept.getDeptId());
+                    }
+                }
+            }
+            log.debug("Data permission dept hierarchy loaded, version: {}, depts: {}.", version, tree.size());
+            return tree;
+        }
+
+        private static Set<String> collectDeptAndChildIds(Map<String, List<String>> tree, String deptId) {
+            Set<String> deptIds = new LinkedHashSet<>();
+            Deque<String> queue = new ArrayDeque<>();
+            queue.add(deptId);
+            while (!queue.isEmpty()) {
+                String id = queue.poll();
+                // 已处理的部门不再展开（避免层级数据异常时出现环）
+                if (deptIds.add(id)) {
+                    queue.addAll(tree.getOrDefault(id, Collections.emptyList()));
+                }
+            }
+            return Collections.unmodifiableSet(deptIds);
+        }
+    }
+}
@@ -29,12 +29,20 @@ package com.ppxb.latte.starter.extension.datapermission.autoconfigure;
 import com.baomidou.mybatisplus.extension.plugins.handler.DataPermissionHandler;
 import com.baomidou.mybatisplus.extension.plugins.inner.DataPermissionInterceptor;
 import com.ppxb.latte.starter.core.constant.PropertiesConstants;
+import com.ppxb.latte.starter.core.util.sql.SqlRewriteCache;
+import com.ppxb.latte.starter.extension.datapermission.filter.DataPermissionDeptProvider;
+import com.ppxb.latte.starter.extension.datapermission.filter.DataPermissionDeptResolver;
 import com.ppxb.latte.starter.extension.datapermission.filter.DataPermissionUserContextProvider;
+import com.ppxb.latte.starter.extension.datapermission.handler.CachingDataPermissionInterceptor;
 import com.ppxb.latte.starter.extension.datapermission.handler.DefaultDataPermissionHandler;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -60,7 +68,13 @@ public class DataPermissionAutoConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean
-    public DataPermissionInterceptor dataPermissionInterceptor(DataPermissionHandler dataPermissionHandler) {
+    public DataPermissionInterceptor dataPermissionInterceptor(DataPermissionHandler dataPermissionHandler,
+                                                               ObjectProvider<SqlRewriteCache> sqlRewriteCache) {
+        // 默认数据权限处理器可缓存改写后的 SQL（部门 ID、用户 ID 等作为绑定参数）
+        SqlRewriteCache cache = sqlRewriteCache.getIfAvailable();
+        if (null != cache && DefaultDataPermissionHandler.class == dataPermissionHandler.getClass()) {
+            return new CachingDataPermissionInterceptor((DefaultDataPermissionHandler)dataPermissionHandler, cache);
+        }
         return new DataPermissionInterceptor(dataPermissionHandler);
     }
 
@@ -69,8 +83,38 @@ public class DataPermissionAutoConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean
-    public DataPermissionHandler dataPermissionHandler(DataPermissionUserContextProvider dataPermissionUserContextProvider) {
-        return new DefaultDataPermissionHandler(dataPermissionUserContextProvider);
+    public DataPermissionHandler dataPermissionHandler(DataPermissionUserContextProvider dataPermissionUserContextProvider,
+                                                       ObjectProvider<DataPermissionDeptResolver> dataPermissionDeptResolver,
+                                                       DataPermissionProperties properties) {
+        return new DefaultDataPermissionHandler(dataPermissionUserContextProvider, dataPermissionDeptResolver
+            .getIfAvailable(), properties.getDept().getMaxInListSize());
+    }
+
+    /**
+     * 数据权限部门解析器（存在数据权限部门提供者时生效）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(DataPermissionDeptProvider.class)
+    public DataPermissionDeptResolver dataPermissionDeptResolver(DataPermissionDeptProvider dataPermissionDeptProvider,
+                                                                 DataPermissionProperties properties) {
+        return new DataPermissionDeptResolver(dataPermissionDeptProvider, properties.getDept());
+    }
+
+    /**
+     * 数据权限注解预加载（启动时扫描已注册的 Mapper）
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = PropertiesConstants.DATA_PERMISSION, name = "preload", havingValue = "true", matchIfMissing = true)
+    public SmartInitializingSingleton dataPermissionPreloader(DataPermissionHandler dataPermissionHandler,
+                                                              ObjectProvider<SqlSessionFactory> sqlSessionFactories) {
+        return () -> {
+            if (dataPermissionHandler instanceof DefaultDataPermissionHandler defaultDataPermissionHandler) {
+                sqlSessionFactories.orderedStream()
+                    .forEach(sqlSessionFactory -> defaultDataPermissionHandler.preload(sqlSessionFactory
+                        .getConfiguration()));
+            }
+        };
     }
 
     /**
@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.datapermission.handler;
+
+import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.plugins.inner.DataPermissionInterceptor;
+import com.ppxb.latte.starter.core.util.sql.SqlRewriteCache;
+import com.ppxb.latte.starter.core.util.sql.SqlTemplate;
+import com.ppxb.latte.starter.extension.datapermission.annotation.DataPermission;
+import com.ppxb.latte.starter.extension.datapermission.filter.DataPermissionDeptResolver;
+import com.ppxb.latte.starter.extension.datapermission.filter.DataPermissionUserContextProvider;
+import com.ppxb.latte.starter.extension.datapermission.model.RoleContext;
+import com.ppxb.latte.starter.extension.datapermission.model.UserContext;
+import net.sf.jsqlparser.schema.Column;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 数据权限插件（缓存改写后的 SQL）
+ *
+ * <p>
+ * 改写后的 SQL 中部门 ID、用户 ID、角色 ID 以绑定参数形式存在，按 原 SQL + Mapper 语句 ID + 数据范围组合 缓存于 {@link SqlRewriteCache}，
+ * 数据范围组合相同的用户共用同一改写结果，缓存命中时无需解析 SQL。未标注数据权限注解、无需过滤的 SQL 直接跳过改写。
+ * </p>
+ *
+ * <p>
+ * 批量执行器（{@link BatchExecutor}）对相同 SQL 复用已预编译的语句，后续参数仅设置参数而不再经过 {@link #beforePrepare}，
+ * 以绑定参数形式追加的数据范围参数无法设置，因此批量执行时不使用缓存，由父类将参数值直接改写到 SQL 中。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class CachingDataPermissionInterceptor extends DataPermissionInterceptor {
+
+    /**
+     * 参数名称前缀
+     */
+    private static final String PARAMETER_PREFIX = "__latte_data_scope_";
+
+    /**
+     * 最大参数数量（自定义数据权限角色过多时按原方式改写）
+     */
+    private static final int MAX_PARAMETER_COUNT = 64;
+
+    /**
+     * 参数占位标记
+     */
+    private static final List<String> MARKERS = IntStream.range(0, MAX_PARAMETER_COUNT)
+        .mapToObj(i -> PARAMETER_PREFIX + i + "__")
+        .toList();
+
+    private static final String SHAPE_PREFIX = "data-permission:";
+
+    private final DefaultDataPermissionHandler dataPermissionHandler;
+
+    private final SqlRewriteCache sqlRewriteCache;
+
+    public CachingDataPermissionInterceptor(DefaultDataPermissionHandler dataPermissionHandler,
+                                            SqlRewriteCache sqlRewriteCache) {
+        super(dataPermissionHandler);
+        this.dataPermissionHandler = dataPermissionHandler;
+        this.sqlRewriteCache = sqlRewriteCache;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes") // 与父类方法签名保持一致
+    public void beforeQuery(Executor executor,
+                            MappedStatement ms,
+                            Object parameter,
+                            RowBounds rowBounds,
+                            ResultHandler resultHandler,
+                            BoundSql boundSql) throws SQLException {
+        if (InterceptorIgnoreHelper.willIgnoreDataPermission(ms.getId())) {
+            return;
+        }
+        if (!this.rewrite(ms, boundSql, false)) {
+            super.beforeQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        }
+    }
+
+    @Override
+    public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
+        PluginUtils.MPStatementHandler mpSh = PluginUtils.mpStatementHandler(sh);
+        MappedStatement ms = mpSh.mappedStatement();
+        SqlCommandType sct = ms.getSqlCommandType();
+        if (sct != SqlCommandType.UPDATE && sct != SqlCommandType.DELETE) {
+            return;
+        }
+        if (InterceptorIgnoreHelper.willIgnoreDataPermission(ms.getId())) {
+            return;
+        }
+        if (mpSh.executor() instanceof BatchExecutor || !this.rewrite(ms, mpSh.boundSql(), true)) {
+            super.beforePrepare(sh, connection, transactionTimeout);
+        }
+    }
+
+    /**
+     * 改写 SQL 并绑定参数
+     *
+     * @param ms       Mapper 语句
+     * @param boundSql SQL
+     * @param multi    是否多条 SQL
+     * @return 是否已处理（无法以绑定参数形式改写时由父类按原方式改写）
+     */
+    private boolean rewrite(MappedStatement ms, BoundSql boundSql, boolean multi) {
+        String mappedStatementId = ms.getId();
+        DataPermission dataPermission = dataPermissionHandler.getDataPermission(mappedStatementId);
+        DataPermissionUserContextProvider userContextProvider = dataPermissionHandler
+            .getDataPermissionUserContextProvider();
+        if (null == dataPermission || !userContextProvider.isFilter()) {
+            return true;
+        }
+        UserContext userContext = userContextProvider.getUserContext();
+        List<RoleContext> roles = dataPermissionHandler.getDataScopeRoles(userContext);
+        if (null == roles) {
+            return true;
+        }
+        List<String> values = dataPermissionHandler.getDataScopeValues(userContext, roles);
+        if (values.size() > MAX_PARAMETER_COUNT) {
+            return false;
+        }
+        PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
+        // 形态及过滤条件基于同一部门层级快照构建，避免期间重新加载导致缓存的 SQL 与形态中的版本号不一致
+        DataPermissionDeptResolver.Snapshot snapshot = dataPermissionHandler.getDeptSnapshot();
+        String shape = SHAPE_PREFIX + dataPermissionHandler.getDataScopeShape(roles, values, snapshot);
+        SqlTemplate template = sqlRewriteCache.get(mpBs.sql(), mappedStatementId, shape, MARKERS
+            .subList(0, values.size()), sql -> this
+                .rewriteSql(sql, mappedStatementId, dataPermission, roles, values, snapshot, multi));
+        List<ParameterMapping> parameterMappings = mpBs.parameterMappings();
+        if (template.getOriginalParameterCount() != parameterMappings.size()) {
+            return false;
+        }
+        List<ParameterMapping> boundParameterMappings;
+        try {
+            Configuration configuration = ms.getConfiguration();
+            boundParameterMappings = template.bind(parameterMappings, index -> {
+                String name = PARAMETER_PREFIX + index;
+                boundSql.setAdditionalParameter(name, Long.valueOf(values.get(index)));
+                return new ParameterMapping.Builder(configuration, name, Long.class).build();
+            });
+        } catch (NumberFormatException e) {
+            // 非数值 ID 按原方式改写
+            return false;
+        }
+        mpBs.sql(template.getSql());
+        mpBs.parameterMappings(boundParameterMappings);
+        return true;
+    }
+
+    /**
+     * 改写 SQL（参数值改写为占位标记）
+     *
+     * @param sql               原 SQL
+     * @param mappedStatementId Mapper 语句 ID
+     * @param dataPermission    数据权限
+     * @param roles             参与数据范围过滤的角色
+     * @param values            参数值
+     * @param snapshot          部门层级快照
+     * @param multi             是否多条 SQL
+     * @return 包含占位标记的 SQL
+     */
+    private String rewriteSql(String sql,
+                              String mappedStatementId,
+                              DataPermission dataPermission,
+                              List<RoleContext> roles,
+                              List<String> values,
+                              DataPermissionDeptResolver.Snapshot snapshot,
+                              boolean multi) {
+        DataPermissionInterceptor rewriter = new DataPermissionInterceptor((where, whereSegment) -> dataPermissionHandler
+            .buildDataScopeFilter(dataPermission, where, roles, values, snapshot, index -> new Column(MARKERS
+                .get(index))));
+        return multi ? rewriter.parserMulti(sql, mappedStatementId) : rewriter.parserSingle(sql, mappedStatementId);
+    }
+}
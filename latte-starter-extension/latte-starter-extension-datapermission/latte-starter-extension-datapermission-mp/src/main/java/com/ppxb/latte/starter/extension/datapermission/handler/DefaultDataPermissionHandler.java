@@ -32,12 +32,14 @@ import com.baomidou.mybatisplus.extension.plugins.handler.DataPermissionHandler;
 import com.ppxb.latte.starter.core.constant.StringConstants;
 import com.ppxb.latte.starter.extension.datapermission.annotation.DataPermission;
 import com.ppxb.latte.starter.extension.datapermission.enums.DataScope;
+import com.ppxb.latte.starter.extension.datapermission.filter.DataPermissionDeptResolver;
 import com.ppxb.latte.starter.extension.datapermission.filter.DataPermissionUserContextProvider;
 import com.ppxb.latte.starter.extension.datapermission.model.RoleContext;
 import com.ppxb.latte.starter.extension.datapermission.model.UserContext;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.expression.Function;
 import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.StringValue;
 import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
 import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
 import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
@@ -49,12 +51,21 @@ import net.sf.jsqlparser.schema.Table;
 import net.sf.jsqlparser.statement.select.ParenthesedSelect;
 import net.sf.jsqlparser.statement.select.PlainSelect;
 import net.sf.jsqlparser.statement.select.SelectItem;
+import org.apache.ibatis.session.Configuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
 
 /**
  * 默认数据权限处理器
@@ -65,33 +76,247 @@ public class DefaultDataPermissionHandler implements DataPermissionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(DefaultDataPermissionHandler.class);
 
+    /**
+     * 参数序号：部门 ID
+     */
+    public static final int DEPT_ID_INDEX = 0;
+
+    /**
+     * 参数序号：用户 ID
+     */
+    public static final int USER_ID_INDEX = 1;
+
+    /**
+     * 参数序号：自定义数据权限角色 ID（起始序号，按角色顺序递增）
+     */
+    public static final int ROLE_ID_INDEX = 2;
+
+    /**
+     * 角色排序（按数据范围、角色 ID）
+     */
+    private static final Comparator<RoleContext> ROLE_COMPARATOR = Comparator
+        .comparing(RoleContext::getDataScope, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(RoleContext::getRoleId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    /**
+     * 分页查询总数语句后缀
+     */
+    private static final String COUNT_SUFFIX = "_COUNT";
+
     private final DataPermissionUserContextProvider dataPermissionUserContextProvider;
 
+    /**
+     * 数据权限注解缓存（Mapper 语句 ID -> 数据权限注解）
+     */
+    private final Map<String, Optional<DataPermission>> dataPermissionCache = new ConcurrentHashMap<>();
+
+    /**
+     * 部门解析器（为 null 时本部门及以下、自定义数据权限使用子查询）
+     */
+    private final DataPermissionDeptResolver deptResolver;
+
+    /**
+     * IN 列表最大部门数量
+     */
+    private final int maxInListSize;
+
     public DefaultDataPermissionHandler(DataPermissionUserContextProvider dataPermissionUserContextProvider) {
+        this(dataPermissionUserContextProvider, null, 0);
+    }
+
+    public DefaultDataPermissionHandler(DataPermissionUserContextProvider dataPermissionUserContextProvider,
+                                        DataPermissionDeptResolver deptResolver,
+                                        int maxInListSize) {
         this.dataPermissionUserContextProvider = dataPermissionUserContextProvider;
+        this.deptResolver = deptResolver;
+        this.maxInListSize = maxInListSize;
     }
 
     @Override
     public Expression getSqlSegment(Expression where, String mappedStatementId) {
-        try {
-            Class<?> clazz = Class.forName(mappedStatementId.substring(0, mappedStatementId
-                .lastIndexOf(StringConstants.DOT)));
-            String methodName = mappedStatementId.substring(mappedStatementId.lastIndexOf(StringConstants.DOT) + 1);
-            Method[] methodArr = clazz.getMethods();
-            for (Method method : methodArr) {
-                DataPermission dataPermission = method.getAnnotation(DataPermission.class);
-                String name = method.getName();
-                if (null == dataPermission || !CharSequenceUtil.equalsAny(methodName, name, name + "_COUNT")) {
-                    continue;
-                }
-                if (dataPermissionUserContextProvider.isFilter()) {
-                    return buildDataScopeFilter(dataPermission, where);
-                }
+        DataPermission dataPermission = this.getDataPermission(mappedStatementId);
+        if (null == dataPermission || !dataPermissionUserContextProvider.isFilter()) {
+            return where;
+        }
+        UserContext userContext = dataPermissionUserContextProvider.getUserContext();
+        List<RoleContext> roles = this.getDataScopeRoles(userContext);
+        if (null == roles) {
+            return where;
+        }
+        List<String> values = this.getDataScopeValues(userContext, roles);
+        return this.buildDataScopeFilter(dataPermission, where, roles, values, this
+            .getDeptSnapshot(), index -> new LongValue(values.get(index)));
+    }
+
+    /**
+     * 获取 Mapper 方法上的数据权限注解（按 Mapper 语句 ID 缓存）
+     *
+     * @param mappedStatementId Mapper 语句 ID
+     * @return 数据权限注解，未标注时返回 null
+     */
+    public DataPermission getDataPermission(String mappedStatementId) {
+        Optional<DataPermission> dataPermission = dataPermissionCache.get(mappedStatementId);
+        if (null == dataPermission) {
+            dataPermission = dataPermissionCache.computeIfAbsent(mappedStatementId, this::resolveDataPermission);
+        }
+        return dataPermission.orElse(null);
+    }
+
+    /**
+     * 预加载 Mapper 方法的数据权限注解
+     *
+     * @param configuration MyBatis 配置
+     */
+    public void preload(Configuration configuration) {
+        for (Class<?> mapperClass : configuration.getMapperRegistry().getMappers()) {
+            Set<String> methodNames = new HashSet<>();
+            for (Method method : mapperClass.getMethods()) {
+                methodNames.add(method.getName());
+            }
+            for (String methodName : methodNames) {
+                String mappedStatementId = mapperClass.getName() + StringConstants.DOT + methodName;
+                dataPermissionCache.computeIfAbsent(mappedStatementId, id -> findDataPermission(mapperClass, methodName));
+                dataPermissionCache.computeIfAbsent(mappedStatementId + COUNT_SUFFIX, id -> findDataPermission(mapperClass,
+                    methodName + COUNT_SUFFIX));
             }
+        }
+        log.debug("Data permission handler preloaded {} mapped statement(s).", dataPermissionCache.size());
+    }
+
+    /**
+     * 解析 Mapper 方法上的数据权限注解
+     *
+     * @param mappedStatementId Mapper 语句 ID
+     * @return 数据权限注解
+     */
+    private Optional<DataPermission> resolveDataPermission(String mappedStatementId) {
+        int index = mappedStatementId.lastIndexOf(StringConstants.DOT);
+        if (index < 0) {
+            return Optional.empty();
+        }
+        try {
+            Class<?> clazz = Class.forName(mappedStatementId.substring(0, index));
+            return findDataPermission(clazz, mappedStatementId.substring(index + 1));
         } catch (ClassNotFoundException e) {
             log.error("Data permission handler build data scope filter occurred an error: {}.", e.getMessage(), e);
         }
-        return where;
+        return Optional.empty();
+    }
+
+    /**
+     * 查找 Mapper 方法上的数据权限注解（方法名称或方法名称_COUNT 匹配）
+     *
+     * @param clazz      Mapper 类型
+     * @param methodName 方法名称
+     * @return 数据权限注解
+     */
+    private static Optional<DataPermission> findDataPermission(Class<?> clazz, String methodName) {
+        for (Method method : clazz.getMethods()) {
+            DataPermission dataPermission = method.getAnnotation(DataPermission.class);
+            String name = method.getName();
+            if (null != dataPermission && CharSequenceUtil.equalsAny(methodName, name, name + COUNT_SUFFIX)) {
+                return Optional.of(dataPermission);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 获取数据权限用户上下文提供者
+     *
+     * @return 数据权限用户上下文提供者
+     */
+    public DataPermissionUserContextProvider getDataPermissionUserContextProvider() {
+        return dataPermissionUserContextProvider;
+    }
+
+    /**
+     * 获取部门层级快照（同一条 SQL 的形态及过滤条件应基于同一快照构建）
+     *
+     * @return 部门层级快照，未配置部门解析器时返回 null
+     */
+    public DataPermissionDeptResolver.Snapshot getDeptSnapshot() {
+        return null != deptResolver ? deptResolver.getSnapshot() : null;
+    }
+
+    /**
+     * 获取参与数据范围过滤的角色
+     *
+     * <p>
+     * 按数据范围、角色 ID 排序，同一组角色构建的过滤条件及参数顺序保持一致。
+     * </p>
+     *
+     * @param userContext 用户上下文
+     * @return 角色列表，包含全部数据权限角色时返回 null（无需过滤）
+     */
+    public List<RoleContext> getDataScopeRoles(UserContext userContext) {
+        List<RoleContext> roles = new ArrayList<>(userContext.getRoles());
+        for (RoleContext roleContext : roles) {
+            if (DataScope.ALL.equals(roleContext.getDataScope())) {
+                return null;
+            }
+        }
+        roles.sort(ROLE_COMPARATOR);
+        return roles;
+    }
+
+    /**
+     * 获取数据范围过滤条件中的参数值
+     *
+     * @param userContext 用户上下文
+     * @param roles       参与数据范围过滤的角色
+     * @return 参数值（按参数序号：部门 ID、用户 ID、自定义数据权限角色 ID...）
+     */
+    public List<String> getDataScopeValues(UserContext userContext, List<RoleContext> roles) {
+        List<String> values = new ArrayList<>(ROLE_ID_INDEX + roles.size());
+        values.add(userContext.getDeptId());
+        values.add(userContext.getUserId());
+        for (RoleContext roleContext : roles) {
+            if (DataScope.CUSTOM.equals(roleContext.getDataScope())) {
+                values.add(roleContext.getRoleId());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 获取数据范围过滤条件的形态（形态相同时，过滤条件仅参数值不同）
+     *
+     * <p>
+     * 本部门及以下、自定义数据权限解析为部门 ID 列表时，部门 ID 列表直接写入过滤条件，形态中包含部门（角色） ID 及部门层级版本号。
+     * </p>
+     *
+     * @param roles    参与数据范围过滤的角色
+     * @param values   参数值
+     * @param snapshot 部门层级快照（为 null 时不解析部门 ID 列表）
+     * @return 形态
+     */
+    public String getDataScopeShape(List<RoleContext> roles,
+                                    List<String> values,
+                                    DataPermissionDeptResolver.Snapshot snapshot) {
+        StringBuilder shape = new StringBuilder();
+        int roleIdIndex = ROLE_ID_INDEX;
+        for (RoleContext roleContext : roles) {
+            DataScope dataScope = roleContext.getDataScope();
+            if (!shape.isEmpty()) {
+                shape.append(StringConstants.COMMA);
+            }
+            shape.append(dataScope.name());
+            String id = switch (dataScope) {
+                case DEPT_AND_CHILD -> null != this.resolveDeptAndChildIds(snapshot, values.get(DEPT_ID_INDEX))
+                    ? values.get(DEPT_ID_INDEX)
+                    : null;
+                case CUSTOM -> {
+                    String roleId = values.get(roleIdIndex++);
+                    yield null != this.resolveRoleDeptIds(snapshot, roleId) ? roleId : null;
+                }
+                default -> null;
+            };
+            if (null != id) {
+                shape.append('[').append(snapshot.getVersion()).append(':').append(id).append(']');
+            }
+        }
+        return shape.toString();
     }
 
     /**
@@ -99,29 +324,115 @@ public class DefaultDataPermissionHandler implements DataPermissionHandler {
      *
      * @param dataPermission 数据权限
      * @param where          当前查询条件
+     * @param roles          参与数据范围过滤的角色
+     * @param values         参数值
+     * @param snapshot       部门层级快照（为 null 时使用子查询）
+     * @param valueBuilder   参数值表达式构建函数（参数序号 -> 参数值表达式）
      * @return 构建后查询条件
      */
-    private Expression buildDataScopeFilter(DataPermission dataPermission, Expression where) {
+    public Expression buildDataScopeFilter(DataPermission dataPermission,
+                                           Expression where,
+                                           List<RoleContext> roles,
+                                           List<String> values,
+                                           DataPermissionDeptResolver.Snapshot snapshot,
+                                           IntFunction<Expression> valueBuilder) {
         Expression expression = null;
-        UserContext userContext = dataPermissionUserContextProvider.getUserContext();
-        Set<RoleContext> roles = userContext.getRoles();
+        int roleIdIndex = ROLE_ID_INDEX;
         for (RoleContext roleContext : roles) {
             DataScope dataScope = roleContext.getDataScope();
-            if (DataScope.ALL.equals(dataScope)) {
-                return where;
-            }
             switch (dataScope) {
-                case DEPT_AND_CHILD -> expression = this
-                    .buildDeptAndChildExpression(dataPermission, userContext, expression);
-                case DEPT -> expression = this.buildDeptExpression(dataPermission, userContext, expression);
-                case SELF -> expression = this.buildSelfExpression(dataPermission, userContext, expression);
-                case CUSTOM -> expression = this.buildCustomExpression(dataPermission, roleContext, expression);
+                case DEPT_AND_CHILD -> {
+                    Set<String> deptIds = this.resolveDeptAndChildIds(snapshot, values.get(DEPT_ID_INDEX));
+                    Expression deptAndChildExpression = null != deptIds
+                        ? this.buildDeptInExpression(dataPermission, deptIds)
+                        : this.buildDeptAndChildExpression(dataPermission, valueBuilder.apply(DEPT_ID_INDEX));
+                    expression = this.or(expression, deptAndChildExpression);
+                }
+                case DEPT -> expression = this.buildDeptExpression(dataPermission, valueBuilder
+                    .apply(DEPT_ID_INDEX), expression);
+                case SELF -> expression = this.buildSelfExpression(dataPermission, valueBuilder
+                    .apply(USER_ID_INDEX), expression);
+                case CUSTOM -> {
+                    int index = roleIdIndex++;
+                    Set<String> deptIds = this.resolveRoleDeptIds(snapshot, values.get(index));
+                    Expression customExpression = null != deptIds
+                        ? this.buildDeptInExpression(dataPermission, deptIds)
+                        : this.buildCustomExpression(dataPermission, valueBuilder.apply(index));
+                    expression = this.or(expression, customExpression);
+                }
                 default -> throw new IllegalArgumentException("暂不支持 [%s] 数据权限".formatted(dataScope));
             }
         }
         return null != where ? new AndExpression(where, new ParenthesedExpressionList<>(expression)) : expression;
     }
 
+    /**
+     * 解析本部门及以下部门 ID
+     *
+     * @param snapshot 部门层级快照
+     * @param deptId   部门 ID
+     * @return 部门 ID 集合，未配置部门解析器或数量超出 IN 列表限制时返回 null（使用子查询）
+     */
+    private Set<String> resolveDeptAndChildIds(DataPermissionDeptResolver.Snapshot snapshot, String deptId) {
+        if (null == snapshot) {
+            return null;
+        }
+        Set<String> deptIds = snapshot.getDeptAndChildIds(deptId);
+        return deptIds.size() <= maxInListSize ? deptIds : null;
+    }
+
+    /**
+     * 解析角色关联部门 ID
+     *
+     * @param snapshot 部门层级快照
+     * @param roleId   角色 ID
+     * @return 部门 ID 集合，未配置部门解析器或数量超出 IN 列表限制时返回 null（使用子查询）
+     */
+    private Set<String> resolveRoleDeptIds(DataPermissionDeptResolver.Snapshot snapshot, String roleId) {
+        if (null == snapshot) {
+            return null;
+        }
+        Set<String> deptIds = snapshot.getRoleDeptIds(roleId);
+        return deptIds.size() <= maxInListSize ? deptIds : null;
+    }
+
+    /**
+     * 构建部门 ID 列表数据权限表达式
+     *
+     * <p>
+     * 处理完后的 SQL 示例：<br /> select t1.* from table as t1 where t1.dept_id in (xxx, xxx);<br />
+     * 部门 ID 列表为空时：select t1.* from table as t1 where 1 = 0;
+     * </p>
+     *
+     * @param dataPermission 数据权限
+     * @param deptIds        部门 ID 列表
+     * @return 处理完后的表达式
+     */
+    private Expression buildDeptInExpression(DataPermission dataPermission, Set<String> deptIds) {
+        if (deptIds.isEmpty()) {
+            return new EqualsTo(new LongValue(1), new LongValue(0));
+        }
+        List<Expression> deptIdValues = new ArrayList<>(deptIds.size());
+        for (String deptId : deptIds) {
+            deptIdValues.add(CharSequenceUtil.isNumeric(deptId) ? new LongValue(deptId) : new StringValue(deptId));
+        }
+        InExpression inExpression = new InExpression();
+        inExpression.setLeftExpression(this.buildColumn(dataPermission.tableAlias(), dataPermission.deptId()));
+        inExpression.setRightExpression(new ParenthesedExpressionList<>(deptIdValues));
+        return inExpression;
+    }
+
+    /**
+     * 以 OR 连接表达式
+     *
+     * @param expression 处理前的表达式
+     * @param other      待连接的表达式
+     * @return 处理完后的表达式
+     */
+    private Expression or(Expression expression, Expression other) {
+        return null != expression ? new OrExpression(expression, other) : other;
+    }
+
     /**
      * 构建本部门及以下数据权限表达式
      *
@@ -131,30 +442,27 @@ public class DefaultDataPermissionHandler implements DataPermissionHandler {
      * </p>
      *
      * @param dataPermission 数据权限
-     * @param userContext    用户上下文
-     * @param expression     处理前的表达式
+     * @param deptId         部门 ID
      * @return 处理完后的表达式
      */
-    private Expression buildDeptAndChildExpression(DataPermission dataPermission,
-                                                   UserContext userContext,
-                                                   Expression expression) {
+    private Expression buildDeptAndChildExpression(DataPermission dataPermission, Expression deptId) {
         ParenthesedSelect subSelect = new ParenthesedSelect();
         PlainSelect select = new PlainSelect();
         select.setSelectItems(Collections.singletonList(new SelectItem<>(new Column(dataPermission.id()))));
         select.setFromItem(new Table(dataPermission.deptTableAlias()));
         EqualsTo equalsTo = new EqualsTo();
         equalsTo.setLeftExpression(new Column(dataPermission.id()));
-        equalsTo.setRightExpression(new LongValue(userContext.getDeptId()));
+        equalsTo.setRightExpression(deptId);
         Function function = new Function();
         function.setName("find_in_set");
-        function.setParameters(new ExpressionList<>(new LongValue(userContext.getDeptId()), new Column("ancestors")));
+        function.setParameters(new ExpressionList<>(deptId, new Column("ancestors")));
         select.setWhere(new OrExpression(equalsTo, function));
         subSelect.setSelect(select);
         // 构建父查询
         InExpression inExpression = new InExpression();
         inExpression.setLeftExpression(this.buildColumn(dataPermission.tableAlias(), dataPermission.deptId()));
         inExpression.setRightExpression(subSelect);
-        return null != expression ? new OrExpression(expression, inExpression) : inExpression;
+        return inExpression;
     }
 
     /**
@@ -165,16 +473,16 @@ public class DefaultDataPermissionHandler implements DataPermissionHandler {
      * </p>
      *
      * @param dataPermission 数据权限
-     * @param userContext    用户上下文
+     * @param deptId         部门 ID
      * @param expression     处理前的表达式
      * @return 处理完后的表达式
      */
     private Expression buildDeptExpression(DataPermission dataPermission,
-                                           UserContext userContext,
+                                           Expression deptId,
                                            Expression expression) {
         EqualsTo equalsTo = new EqualsTo();
         equalsTo.setLeftExpression(this.buildColumn(dataPermission.tableAlias(), dataPermission.deptId()));
-        equalsTo.setRightExpression(new LongValue(userContext.getDeptId()));
+        equalsTo.setRightExpression(deptId);
         return null != expression ? new OrExpression(expression, equalsTo) : equalsTo;
     }
 
@@ -186,16 +494,16 @@ public class DefaultDataPermissionHandler implements DataPermissionHandler {
      * </p>
      *
      * @param dataPermission 数据权限
-     * @param userContext    用户上下文
+     * @param userId         用户 ID
      * @param expression     处理前的表达式
      * @return 处理完后的表达式
      */
     private Expression buildSelfExpression(DataPermission dataPermission,
-                                           UserContext userContext,
+                                           Expression userId,
                                            Expression expression) {
         EqualsTo equalsTo = new EqualsTo();
         equalsTo.setLeftExpression(this.buildColumn(dataPermission.tableAlias(), dataPermission.userId()));
-        equalsTo.setRightExpression(new LongValue(userContext.getUserId()));
+        equalsTo.setRightExpression(userId);
         return null != expression ? new OrExpression(expression, equalsTo) : equalsTo;
     }
 
@@ -208,27 +516,24 @@ public class DefaultDataPermissionHandler implements DataPermissionHandler {
      * </p>
      *
      * @param dataPermission 数据权限
-     * @param roleContext    角色上下文
-     * @param expression     处理前的表达式
+     * @param roleId         角色 ID
      * @return 处理完后的表达式
      */
-    private Expression buildCustomExpression(DataPermission dataPermission,
-                                             RoleContext roleContext,
-                                             Expression expression) {
+    private Expression buildCustomExpression(DataPermission dataPermission, Expression roleId) {
         ParenthesedSelect subSelect = new ParenthesedSelect();
         PlainSelect select = new PlainSelect();
         select.setSelectItems(Collections.singletonList(new SelectItem<>(new Column(dataPermission.deptId()))));
         select.setFromItem(new Table(dataPermission.roleDeptTableAlias()));
         EqualsTo equalsTo = new EqualsTo();
         equalsTo.setLeftExpression(new Column(dataPermission.roleId()));
-        equalsTo.setRightExpression(new LongValue(roleContext.getRoleId()));
+        equalsTo.setRightExpression(roleId);
         select.setWhere(equalsTo);
         subSelect.setSelect(select);
         // 构建父查询
         InExpression inExpression = new InExpression();
         inExpression.setLeftExpression(this.buildColumn(dataPermission.tableAlias(), dataPermission.deptId()));
         inExpression.setRightExpression(subSelect);
-        return null != expression ? new OrExpression(expression, inExpression) : inExpression;
+        return inExpression;
     }
 
     /**
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.tenant.autoconfigure;
+
+import java.time.Duration;
+
+/**
+ * 租户数据源配置缓存属性（数据源级隔离）
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class TenantDataSourceCacheProperties {
+
+    /**
+     * 是否启用
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缓存最大数量
+     */
+    private long maxSize = 10000;
+
+    /**
+     * 租户数据源配置缓存时间
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * 租户数据源配置不存在时的缓存时间（避免无效租户 ID 反复查询）
+     */
+    private Duration negativeTtl = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getNegativeTtl() {
+        return negativeTtl;
+    }
+
+    public void setNegativeTtl(Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+    }
+}
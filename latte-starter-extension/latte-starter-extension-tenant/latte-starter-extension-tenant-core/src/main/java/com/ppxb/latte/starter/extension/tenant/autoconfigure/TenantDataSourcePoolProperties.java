@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.tenant.autoconfigure;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 租户数据源连接池配置属性（数据源级隔离）
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class TenantDataSourcePoolProperties {
+
+    /**
+     * 最大连接池数量（超出后淘汰最久未使用的空闲连接池，0 表示不限制）
+     */
+    private int maxPools = 0;
+
+    /**
+     * 空闲超时时间（连接池超过该时间未被使用时淘汰，为 0 时不按空闲时间淘汰）
+     */
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    /**
+     * 淘汰检查间隔
+     */
+    private Duration evictInterval = Duration.ofMinutes(1);
+
+    /**
+     * 连接总数预算（所有租户连接池最大连接数之和，0 表示不限制；启用后按连接池数量均分）
+     */
+    private int maxTotalConnections = 0;
+
+    /**
+     * 单个连接池最大连接数（启用连接总数预算时生效）
+     */
+    private int maxPoolSize = 10;
+
+    /**
+     * 单个连接池最小连接数（启用连接总数预算时生效，均分结果不足该值时淘汰空闲连接池；不能小于 1）
+     */
+    private int minPoolSize = 1;
+
+    /**
+     * 预热租户 ID 列表（启动后创建对应连接池）
+     */
+    private List<String> preloadTenantIds = new ArrayList<>();
+
+    public int getMaxPools() {
+        return maxPools;
+    }
+
+    public void setMaxPools(int maxPools) {
+        this.maxPools = maxPools;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public Duration getEvictInterval() {
+        return evictInterval;
+    }
+
+    public void setEvictInterval(Duration evictInterval) {
+        this.evictInterval = evictInterval;
+    }
+
+    public int getMaxTotalConnections() {
+        return maxTotalConnections;
+    }
+
+    public void setMaxTotalConnections(int maxTotalConnections) {
+        this.maxTotalConnections = maxTotalConnections;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public int getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    public void setMinPoolSize(int minPoolSize) {
+        if (minPoolSize < 1) {
+            throw new IllegalArgumentException("min-pool-size must be greater than or equal to 1, but was %d."
+                .formatted(minPoolSize));
+        }
+        this.minPoolSize = minPoolSize;
+    }
+
+    public List<String> getPreloadTenantIds() {
+        return preloadTenantIds;
+    }
+
+    public void setPreloadTenantIds(List<String> preloadTenantIds) {
+        this.preloadTenantIds = preloadTenantIds;
+    }
+}
@@ -29,6 +29,7 @@ package com.ppxb.latte.starter.extension.tenant.autoconfigure;
 import com.ppxb.latte.starter.core.constant.PropertiesConstants;
 import com.ppxb.latte.starter.extension.tenant.enums.TenantIsolationLevel;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import java.util.List;
 
@@ -47,6 +48,18 @@ public class TenantProperties {
 
     private List<String> ignoreTables;
 
+    /**
+     * 租户数据源连接池配置（数据源级隔离）
+     */
+    @NestedConfigurationProperty
+    private TenantDataSourcePoolProperties datasourcePool = new TenantDataSourcePoolProperties();
+
+    /**
+     * 租户数据源配置缓存（数据源级隔离）
+     */
+    @NestedConfigurationProperty
+    private TenantDataSourceCacheProperties datasourceCache = new TenantDataSourceCacheProperties();
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -94,4 +107,20 @@ public class TenantProperties {
     public void setIgnoreTables(List<String> ignoreTables) {
         this.ignoreTables = ignoreTables;
     }
+
+    public TenantDataSourcePoolProperties getDatasourcePool() {
+        return datasourcePool;
+    }
+
+    public void setDatasourcePool(TenantDataSourcePoolProperties datasourcePool) {
+        this.datasourcePool = datasourcePool;
+    }
+
+    public TenantDataSourceCacheProperties getDatasourceCache() {
+        return datasourceCache;
+    }
+
+    public void setDatasourceCache(TenantDataSourceCacheProperties datasourceCache) {
+        this.datasourceCache = datasourceCache;
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.tenant.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ppxb.latte.starter.extension.tenant.autoconfigure.TenantDataSourceCacheProperties;
+import com.ppxb.latte.starter.extension.tenant.event.TenantDataSourceChangeEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+
+import java.util.Optional;
+
+/**
+ * 租户数据源配置缓存
+ *
+ * <p>
+ * 缓存 {@link TenantDataSourceProvider} 的查询结果（包括不存在的结果），同一租户的并发查询仅执行一次。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class TenantDataSourceCache implements ApplicationListener<TenantDataSourceChangeEvent>, Ordered {
+
+    private final TenantDataSourceProvider tenantDataSourceProvider;
+
+    private final Cache<String, Optional<TenantDataSource>> cache;
+
+    public TenantDataSourceCache(TenantDataSourceProvider tenantDataSourceProvider,
+                                 TenantDataSourceCacheProperties properties) {
+        this.tenantDataSourceProvider = tenantDataSourceProvider;
+        long ttl = properties.getTtl().toNanos();
+        long negativeTtl = properties.getNegativeTtl().toNanos();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxSize())
+            .expireAfter(new Expiry<String, Optional<TenantDataSource>>() {
+                @Override
+                public long expireAfterCreate(String key, Optional<TenantDataSource> value, long currentTime) {
+                    return value.isPresent() ? ttl : negativeTtl;
+                }
+
+                @Override
+                public long expireAfterUpdate(String key,
+                                              Optional<TenantDataSource> value,
+                                              long currentTime,
+                                              long currentDuration) {
+                    return this.expireAfterCreate(key, value, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String key,
+                                            Optional<TenantDataSource> value,
+                                            long currentTime,
+                                            long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * 根据租户 ID 获取租户数据源配置
+     *
+     * @param tenantId 租户 ID
+     * @return 租户数据源配置，不存在时返回 null
+     */
+    public TenantDataSource getByTenantId(String tenantId) {
+        if (null == tenantId) {
+            return null;
+        }
+        return cache.get(tenantId, key -> Optional.ofNullable(tenantDataSourceProvider.getByTenantId(key)))
+            .orElse(null);
+    }
+
+    /**
+     * 清除租户数据源配置缓存
+     *
+     * @param tenantId 租户 ID
+     */
+    public void invalidate(String tenantId) {
+        cache.invalidate(tenantId);
+    }
+
+    /**
+     * 清除所有租户数据源配置缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 获取缓存
+     *
+     * @return 缓存
+     */
+    public Cache<String, Optional<TenantDataSource>> getCache() {
+        return cache;
+    }
+
+    /**
+     * 获取缓存统计信息（命中数、未命中数等）
+     *
+     * @return 缓存统计信息
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void onApplicationEvent(@NonNull TenantDataSourceChangeEvent event) {
+        if (null == event.getTenantId()) {
+            this.invalidateAll();
+        } else {
+            this.invalidate(event.getTenantId());
+        }
+    }
+
+    /**
+     * 优先于其他监听器（如：连接池管理器）清除缓存，避免按旧配置重新创建连接池
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
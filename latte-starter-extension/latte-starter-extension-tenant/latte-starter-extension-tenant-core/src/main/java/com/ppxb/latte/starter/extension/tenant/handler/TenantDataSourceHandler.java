@@ -34,6 +34,14 @@ public interface TenantDataSourceHandler {
 
     void changeDataSource(String dataSourceName);
 
+    /**
+     * 释放数据源（与 {@link #changeDataSource(String)} 成对调用，在切换回上一个数据源前调用）
+     *
+     * @param dataSourceName 数据源名称
+     */
+    default void releaseDataSource(String dataSourceName) {
+    }
+
     boolean containsDataSource(String dataSourceName);
 
     DataSource createDataSource(TenantDataSource tenantDataSource);
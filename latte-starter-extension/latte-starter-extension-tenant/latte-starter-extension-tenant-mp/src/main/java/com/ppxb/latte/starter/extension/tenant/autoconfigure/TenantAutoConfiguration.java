@@ -31,16 +31,24 @@ import com.baomidou.dynamic.datasource.creator.DefaultDataSourceCreator;
 import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
 import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
 import com.ppxb.latte.starter.core.constant.PropertiesConstants;
+import com.ppxb.latte.starter.core.util.sql.SqlRewriteCache;
+import com.ppxb.latte.starter.extension.tenant.config.TenantDataSourceCache;
 import com.ppxb.latte.starter.extension.tenant.config.TenantDataSourceProvider;
 import com.ppxb.latte.starter.extension.tenant.handler.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.core.ResolvableType;
 
 @AutoConfiguration
@@ -62,7 +70,13 @@ public class TenantAutoConfiguration {
 
         @Bean
         @ConditionalOnMissingBean
-        public TenantLineInnerInterceptor tenantLineInnerInterceptor(TenantLineHandler tenantLineHandler) {
+        public TenantLineInnerInterceptor tenantLineInnerInterceptor(TenantLineHandler tenantLineHandler,
+                                                                     ObjectProvider<SqlRewriteCache> sqlRewriteCache) {
+            // 默认租户处理器的忽略规则仅与表名有关，可缓存改写后的 SQL（租户 ID 作为绑定参数）
+            SqlRewriteCache cache = sqlRewriteCache.getIfAvailable();
+            if (null != cache && DefaultTenantLineHandler.class == tenantLineHandler.getClass()) {
+                return new CachingTenantLineInnerInterceptor((DefaultTenantLineHandler)tenantLineHandler, cache);
+            }
             return new TenantLineInnerInterceptor(tenantLineHandler);
         }
 
@@ -107,9 +121,61 @@ public class TenantAutoConfiguration {
         @Bean
         @ConditionalOnMissingBean
         public TenantDataSourceHandler tenantDataSourceHandler(TenantDataSourceProvider tenantDataSourceProvider,
+                                                               ObjectProvider<TenantDataSourceCache> tenantDataSourceCache,
                                                                DynamicRoutingDataSource dynamicRoutingDataSource,
-                                                               DefaultDataSourceCreator dataSourceCreator) {
-            return new DefaultTenantDataSourceHandler(tenantDataSourceProvider, dynamicRoutingDataSource, dataSourceCreator);
+                                                               DefaultDataSourceCreator dataSourceCreator,
+                                                               TenantDataSourcePoolManager tenantDataSourcePoolManager,
+                                                               TenantProperties tenantProperties) {
+            // 启用租户数据源配置缓存时，通过缓存查询租户数据源配置
+            TenantDataSourceCache cache = tenantDataSourceCache.getIfAvailable();
+            TenantDataSourceProvider provider = null != cache ? cache::getByTenantId : tenantDataSourceProvider;
+            DefaultTenantDataSourceHandler tenantDataSourceHandler = new DefaultTenantDataSourceHandler(provider,
+                dynamicRoutingDataSource, dataSourceCreator, tenantDataSourcePoolManager);
+            tenantDataSourceHandler.preload(tenantProperties.getDatasourcePool().getPreloadTenantIds());
+            return tenantDataSourceHandler;
+        }
+
+        /**
+         * 租户数据源配置缓存
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = PropertiesConstants.TENANT, name = "datasource-cache.enabled", havingValue = "true", matchIfMissing = true)
+        public TenantDataSourceCache tenantDataSourceCache(TenantDataSourceProvider tenantDataSourceProvider,
+                                                           TenantProperties tenantProperties) {
+            return new TenantDataSourceCache(tenantDataSourceProvider, tenantProperties.getDatasourceCache());
+        }
+
+        /**
+         * 租户数据源连接池管理器
+         */
+        @Bean(initMethod = "start", destroyMethod = "close")
+        @ConditionalOnMissingBean
+        public TenantDataSourcePoolManager tenantDataSourcePoolManager(TenantProperties tenantProperties,
+                                                                       DynamicRoutingDataSource dynamicRoutingDataSource) {
+            return new TenantDataSourcePoolManager(tenantProperties.getDatasourcePool(), dynamicRoutingDataSource);
+        }
+
+        /**
+         * 租户数据源连接池指标配置
+         */
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnClass(MeterRegistry.class)
+        static class PoolMetricsConfiguration {
+
+            @Bean
+            @ConditionalOnMissingBean
+            public TenantDataSourcePoolMetrics tenantDataSourcePoolMetrics(TenantDataSourcePoolManager tenantDataSourcePoolManager,
+                                                                           TenantDataSourceHandler tenantDataSourceHandler) {
+                return new TenantDataSourcePoolMetrics(tenantDataSourcePoolManager, tenantDataSourceHandler);
+            }
+
+            @Bean
+            @ConditionalOnMissingBean(name = "tenantDataSourceCacheMetrics")
+            public MeterBinder tenantDataSourceCacheMetrics(ObjectProvider<TenantDataSourceCache> tenantDataSourceCache) {
+                return registry -> tenantDataSourceCache.ifAvailable(cache -> CaffeineCacheMetrics
+                    .monitor(registry, cache.getCache(), "tenantDataSource"));
+            }
         }
 
         /**
@@ -0,0 +1,210 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.tenant.handler;
+
+import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import com.ppxb.latte.starter.core.util.sql.SqlRewriteCache;
+import com.ppxb.latte.starter.core.util.sql.SqlTemplate;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.StringValue;
+import net.sf.jsqlparser.schema.Column;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 多租户插件（缓存改写后的 SQL）
+ *
+ * <p>
+ * 改写后的 SQL 中租户 ID 以绑定参数形式存在，按 原 SQL + Mapper 语句 ID 缓存于 {@link SqlRewriteCache}，所有租户共用同一改写结果，
+ * 缓存命中时无需解析 SQL。超级租户忽略所有表，直接跳过改写。
+ * </p>
+ *
+ * <p>
+ * 租户处理器的忽略规则需仅与表名有关（超级租户除外），因此仅用于 {@link DefaultTenantLineHandler}。
+ * </p>
+ *
+ * <p>
+ * 批量执行器（{@link BatchExecutor}）对相同 SQL 复用已预编译的语句，后续参数仅设置参数而不再经过 {@link #beforePrepare}，
+ * 以绑定参数形式追加的租户 ID 无法设置，因此批量执行时不使用缓存，由父类将租户 ID 直接改写到 SQL 中。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class CachingTenantLineInnerInterceptor extends TenantLineInnerInterceptor {
+
+    /**
+     * 租户 ID 占位标记
+     */
+    private static final String TENANT_ID_MARKER = "__latte_tenant_id__";
+
+    /**
+     * 租户 ID 参数名称
+     */
+    private static final String TENANT_ID_PARAMETER = "__latte_tenant_id";
+
+    private static final List<String> MARKERS = List.of(TENANT_ID_MARKER);
+
+    private static final String SHAPE = "tenant-line";
+
+    private final DefaultTenantLineHandler tenantLineHandler;
+
+    private final SqlRewriteCache sqlRewriteCache;
+
+    /**
+     * 改写器（租户 ID 改写为占位标记）
+     */
+    private final TenantLineInnerInterceptor rewriter;
+
+    public CachingTenantLineInnerInterceptor(DefaultTenantLineHandler tenantLineHandler,
+                                             SqlRewriteCache sqlRewriteCache) {
+        super(tenantLineHandler);
+        this.tenantLineHandler = tenantLineHandler;
+        this.sqlRewriteCache = sqlRewriteCache;
+        this.rewriter = new TenantLineInnerInterceptor(new MarkerTenantLineHandler(tenantLineHandler));
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes") // 与父类方法签名保持一致
+    public void beforeQuery(Executor executor,
+                            MappedStatement ms,
+                            Object parameter,
+                            RowBounds rowBounds,
+                            ResultHandler resultHandler,
+                            BoundSql boundSql) throws SQLException {
+        if (InterceptorIgnoreHelper.willIgnoreTenantLine(ms.getId()) || tenantLineHandler.isSuperTenant()) {
+            return;
+        }
+        Object tenantId = this.getTenantIdValue();
+        if (null == tenantId || !this.rewrite(ms, boundSql, tenantId, false)) {
+            super.beforeQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        }
+    }
+
+    @Override
+    public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
+        PluginUtils.MPStatementHandler mpSh = PluginUtils.mpStatementHandler(sh);
+        MappedStatement ms = mpSh.mappedStatement();
+        SqlCommandType sct = ms.getSqlCommandType();
+        if (sct != SqlCommandType.INSERT && sct != SqlCommandType.UPDATE && sct != SqlCommandType.DELETE) {
+            return;
+        }
+        if (InterceptorIgnoreHelper.willIgnoreTenantLine(ms.getId()) || tenantLineHandler.isSuperTenant()) {
+            return;
+        }
+        Object tenantId = this.getTenantIdValue();
+        if (null == tenantId || mpSh.executor() instanceof BatchExecutor || !this.rewrite(ms, mpSh
+            .boundSql(), tenantId, true)) {
+            super.beforePrepare(sh, connection, transactionTimeout);
+        }
+    }
+
+    /**
+     * 改写 SQL 并绑定租户 ID
+     *
+     * @param ms       Mapper 语句
+     * @param boundSql SQL
+     * @param tenantId 租户 ID
+     * @param multi    是否多条 SQL
+     * @return 是否改写成功（参数数量不一致时由父类按原方式改写）
+     */
+    private boolean rewrite(MappedStatement ms, BoundSql boundSql, Object tenantId, boolean multi) {
+        PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
+        SqlTemplate template = sqlRewriteCache.get(mpBs.sql(), ms.getId(), SHAPE, MARKERS, sql -> multi
+            ? rewriter.parserMulti(sql, null)
+            : rewriter.parserSingle(sql, null));
+        List<ParameterMapping> parameterMappings = mpBs.parameterMappings();
+        if (template.getOriginalParameterCount() != parameterMappings.size()) {
+            return false;
+        }
+        mpBs.sql(template.getSql());
+        if (template.hasMarkerParameter()) {
+            ParameterMapping tenantIdMapping = new ParameterMapping.Builder(ms
+                .getConfiguration(), TENANT_ID_PARAMETER, tenantId.getClass()).build();
+            mpBs.parameterMappings(template.bind(parameterMappings, i -> tenantIdMapping));
+            boundSql.setAdditionalParameter(TENANT_ID_PARAMETER, tenantId);
+        }
+        return true;
+    }
+
+    /**
+     * 获取租户 ID 参数值
+     *
+     * @return 租户 ID 参数值，无法作为绑定参数时返回 null
+     */
+    private Object getTenantIdValue() {
+        Expression tenantId = tenantLineHandler.getTenantId();
+        if (tenantId instanceof LongValue longValue) {
+            return longValue.getValue();
+        }
+        if (tenantId instanceof StringValue stringValue) {
+            return stringValue.getValue();
+        }
+        return null;
+    }
+
+    /**
+     * 租户处理器（租户 ID 改写为占位标记）
+     */
+    private record MarkerTenantLineHandler(TenantLineHandler delegate) implements TenantLineHandler {
+
+        @Override
+        public Expression getTenantId() {
+            return new Column(TENANT_ID_MARKER);
+        }
+
+        @Override
+        public String getTenantIdColumn() {
+            return delegate.getTenantIdColumn();
+        }
+
+        @Override
+        public boolean ignoreTable(String tableName) {
+            return delegate.ignoreTable(tableName);
+        }
+
+        @Override
+        public boolean ignoreInsert(List<Column> columns, String tenantIdColumn) {
+            return delegate.ignoreInsert(columns, tenantIdColumn);
+        }
+    }
+}
@@ -31,12 +31,16 @@ import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
 import com.baomidou.dynamic.datasource.creator.DataSourceProperty;
 import com.baomidou.dynamic.datasource.creator.DefaultDataSourceCreator;
 import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+import com.ppxb.latte.starter.extension.tenant.autoconfigure.TenantDataSourcePoolProperties;
 import com.ppxb.latte.starter.extension.tenant.config.TenantDataSource;
 import com.ppxb.latte.starter.extension.tenant.config.TenantDataSourceProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
 public class DefaultTenantDataSourceHandler implements TenantDataSourceHandler {
 
@@ -48,28 +52,72 @@ public class DefaultTenantDataSourceHandler implements TenantDataSourceHandler {
 
     private final TenantDataSourceProvider tenantDataSourceProvider;
 
+    private final TenantDataSourcePoolManager poolManager;
+
+    /**
+     * 数据源创建方法（避免每次切换数据源时创建方法引用）
+     */
+    private final Function<String, DataSource> dataSourceLoader = this::loadDataSource;
+
+    private final LongAdder changedCount = new LongAdder();
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * 构造方法
+     *
+     * <p>
+     * 使用默认配置的连接池管理器，且不启动后台线程（不定时淘汰空闲连接池）；<br>
+     * 需要定时淘汰时请注入由容器管理的 {@link TenantDataSourcePoolManager}
+     * </p>
+     *
+     * @param tenantDataSourceProvider 租户数据源提供者
+     * @param dynamicRoutingDataSource 动态路由数据源
+     * @param dataSourceCreator        数据源创建器
+     */
     public DefaultTenantDataSourceHandler(TenantDataSourceProvider tenantDataSourceProvider,
                                           DynamicRoutingDataSource dynamicRoutingDataSource,
                                           DefaultDataSourceCreator dataSourceCreator) {
+        this(tenantDataSourceProvider, dynamicRoutingDataSource, dataSourceCreator, new TenantDataSourcePoolManager(
+            new TenantDataSourcePoolProperties(), dynamicRoutingDataSource));
+    }
+
+    public DefaultTenantDataSourceHandler(TenantDataSourceProvider tenantDataSourceProvider,
+                                          DynamicRoutingDataSource dynamicRoutingDataSource,
+                                          DefaultDataSourceCreator dataSourceCreator,
+                                          TenantDataSourcePoolManager poolManager) {
         this.tenantDataSourceProvider = tenantDataSourceProvider;
         this.dynamicRoutingDataSource = dynamicRoutingDataSource;
         this.dataSourceCreator = dataSourceCreator;
+        this.poolManager = poolManager;
     }
 
     @Override
     public void changeDataSource(String dataSourceName) {
-        if (!this.containsDataSource(dataSourceName)) {
-            TenantDataSource tenantDataSource = tenantDataSourceProvider.getByTenantId(dataSourceName);
-            if (null == tenantDataSource) {
-                throw new IllegalArgumentException("Data source [%s] configuration not found"
-                    .formatted(dataSourceName));
-            }
-            DataSource datasource = this.createDataSource(tenantDataSource);
-            dynamicRoutingDataSource.addDataSource(dataSourceName, datasource);
-            log.info("Load data source: {}", dataSourceName);
+        // 无效租户在创建连接池前直接拒绝（启用租户数据源配置缓存时，不存在的结果同样被缓存）
+        if (!this.containsDataSource(dataSourceName) && null == tenantDataSourceProvider.getByTenantId(dataSourceName)) {
+            rejectedCount.increment();
+            throw new IllegalArgumentException("Data source [%s] configuration not found".formatted(dataSourceName));
         }
+        // 同一租户的并发首次请求仅创建一次连接池
+        poolManager.acquire(dataSourceName, dataSourceLoader);
         DynamicDataSourceContextHolder.push(dataSourceName);
-        log.info("Change data source: {}", dataSourceName);
+        changedCount.increment();
+        log.debug("Change data source: {}", dataSourceName);
+    }
+
+    @Override
+    public void releaseDataSource(String dataSourceName) {
+        poolManager.release(dataSourceName);
+    }
+
+    /**
+     * 预热租户数据源（异步创建连接池）
+     *
+     * @param dataSourceNames 数据源名称列表
+     */
+    public void preload(Collection<String> dataSourceNames) {
+        poolManager.preload(dataSourceNames, dataSourceLoader);
     }
 
     @Override
@@ -86,6 +134,7 @@ public class DefaultTenantDataSourceHandler implements TenantDataSourceHandler {
         dataSourceProperty.setUrl(tenantDataSource.getUrl());
         dataSourceProperty.setUsername(tenantDataSource.getUsername());
         dataSourceProperty.setPassword(tenantDataSource.getPassword());
+        poolManager.configure(dataSourceProperty);
         return dataSourceCreator.createDataSource(dataSourceProperty);
     }
 
@@ -93,4 +142,30 @@ public class DefaultTenantDataSourceHandler implements TenantDataSourceHandler {
     public void removeDataSource(String dataSourceName) {
         dynamicRoutingDataSource.removeDataSource(dataSourceName);
     }
+
+    /**
+     * 获取数据源切换次数
+     *
+     * @return 数据源切换次数
+     */
+    public long getChangedCount() {
+        return changedCount.sum();
+    }
+
+    /**
+     * 获取无效租户拒绝次数
+     *
+     * @return 无效租户拒绝次数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    private DataSource loadDataSource(String dataSourceName) {
+        TenantDataSource tenantDataSource = tenantDataSourceProvider.getByTenantId(dataSourceName);
+        if (null == tenantDataSource) {
+            throw new IllegalArgumentException("Data source [%s] configuration not found".formatted(dataSourceName));
+        }
+        return this.createDataSource(tenantDataSource);
+    }
 }
@@ -52,13 +52,22 @@ public class DefaultTenantLineHandler implements TenantLineHandler {
 
     @Override
     public boolean ignoreTable(String tableName) {
-        Long tenantId = TenantContextHolder.getTenantId();
-        if (tenantId != null && tenantId.equals(tenantProperties.getSuperTenantId())) {
+        if (this.isSuperTenant()) {
             return true;
         }
         return CollUtil.contains(tenantProperties.getIgnoreTables(), tableName);
     }
 
+    /**
+     * 当前租户是否为超级租户（超级租户忽略所有表）
+     *
+     * @return true：是；false：否
+     */
+    public boolean isSuperTenant() {
+        Long tenantId = TenantContextHolder.getTenantId();
+        return tenantId != null && tenantId.equals(tenantProperties.getSuperTenantId());
+    }
+
     @Override
     public String getTenantIdColumn() {
         return tenantProperties.getTenantIdColumn();
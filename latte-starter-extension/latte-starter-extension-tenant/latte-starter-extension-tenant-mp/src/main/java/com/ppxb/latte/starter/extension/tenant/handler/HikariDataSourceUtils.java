@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.tenant.handler;
+
+import com.baomidou.dynamic.datasource.ds.ItemDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.sql.DataSource;
+import java.util.function.ToIntFunction;
+
+/**
+ * Hikari 连接池工具类（仅在 HikariCP 存在时调用）
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+final class HikariDataSourceUtils {
+
+    private HikariDataSourceUtils() {
+    }
+
+    /**
+     * 调整连接池最大连接数（运行时生效，超出的空闲连接由连接池逐步关闭）
+     *
+     * @param dataSource 数据源
+     * @param size       最大连接数
+     */
+    static void setMaximumPoolSize(DataSource dataSource, int size) {
+        HikariDataSource hikariDataSource = unwrap(dataSource);
+        if (null == hikariDataSource || hikariDataSource.getMaximumPoolSize() == size) {
+            return;
+        }
+        hikariDataSource.setMaximumPoolSize(size);
+        if (hikariDataSource.getMinimumIdle() > size) {
+            hikariDataSource.setMinimumIdle(size);
+        }
+    }
+
+    /**
+     * 获取连接池状态
+     *
+     * @param dataSource 数据源
+     * @param getter     状态获取方法
+     * @return 状态值，非 Hikari 连接池或连接池未启动时返回 0
+     */
+    static int getPoolState(DataSource dataSource, ToIntFunction<HikariPoolMXBean> getter) {
+        HikariDataSource hikariDataSource = unwrap(dataSource);
+        HikariPoolMXBean poolMXBean = null == hikariDataSource ? null : hikariDataSource.getHikariPoolMXBean();
+        return null == poolMXBean ? 0 : getter.applyAsInt(poolMXBean);
+    }
+
+    /**
+     * 获取活跃连接数
+     *
+     * @param dataSource 数据源
+     * @return 活跃连接数
+     */
+    static int getActiveConnections(DataSource dataSource) {
+        return getPoolState(dataSource, HikariPoolMXBean::getActiveConnections);
+    }
+
+    private static HikariDataSource unwrap(DataSource dataSource) {
+        DataSource realDataSource = dataSource instanceof ItemDataSource itemDataSource
+            ? itemDataSource.getRealDataSource()
+            : dataSource;
+        return realDataSource instanceof HikariDataSource hikariDataSource ? hikariDataSource : null;
+    }
+}
@@ -45,14 +45,15 @@ public class TenantDataSourceInterceptor implements MethodInterceptor {
         if (tenantId == null) {
             return invocation.proceed();
         }
+        String dataSourceName = tenantId.toString();
         boolean isPush = false;
         try {
-            String dataSourceName = tenantId.toString();
             tenantDataSourceHandler.changeDataSource(dataSourceName);
             isPush = true;
             return invocation.proceed();
         } finally {
             if (isPush) {
+                tenantDataSourceHandler.releaseDataSource(dataSourceName);
                 DynamicDataSourceContextHolder.poll();
             }
         }
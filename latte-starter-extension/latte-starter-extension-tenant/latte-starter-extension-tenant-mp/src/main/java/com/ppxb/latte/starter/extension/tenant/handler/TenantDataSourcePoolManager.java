@@ -0,0 +1,495 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.tenant.handler;
+
+import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
+import com.baomidou.dynamic.datasource.creator.DataSourceProperty;
+import com.baomidou.dynamic.datasource.creator.hikaricp.HikariCpConfig;
+import com.ppxb.latte.starter.extension.tenant.autoconfigure.TenantDataSourcePoolProperties;
+import com.ppxb.latte.starter.extension.tenant.event.TenantDataSourceChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 租户数据源连接池管理器
+ *
+ * <p>
+ * 1. 同一租户的连接池仅创建一次（并发的首次请求等待同一次创建结果）<br>
+ * 2. 按空闲时间及最大连接池数量淘汰未被使用的连接池（最久未使用优先）<br>
+ * 3. 启用连接总数预算后，按连接池数量均分各连接池最大连接数（仅 Hikari 连接池支持运行时调整）<br>
+ * 后台线程由 {@link #start()} 启动，由 {@link #close()} 停止（作为 Spring Bean 时分别为初始化及销毁方法）；<br>
+ * 未启动时不定时淘汰，预热等任务在调用线程执行。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class TenantDataSourcePoolManager implements ApplicationListener<TenantDataSourceChangeEvent>, Ordered, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantDataSourcePoolManager.class);
+
+    private static final boolean HIKARI_PRESENT = ClassUtils.isPresent("com.zaxxer.hikari.HikariDataSource", null);
+
+    private final Map<String, PoolEntry> pools = new ConcurrentHashMap<>();
+
+    private final List<TenantDataSourcePoolListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final LongAdder createdCount = new LongAdder();
+
+    private final LongAdder evictedCount = new LongAdder();
+
+    private final TenantDataSourcePoolProperties properties;
+
+    private final DynamicRoutingDataSource dynamicRoutingDataSource;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    private boolean closed;
+
+    public TenantDataSourcePoolManager(TenantDataSourcePoolProperties properties,
+                                       DynamicRoutingDataSource dynamicRoutingDataSource) {
+        this.properties = properties;
+        this.dynamicRoutingDataSource = dynamicRoutingDataSource;
+    }
+
+    /**
+     * 启动后台线程（定时淘汰空闲连接池）
+     */
+    public synchronized void start() {
+        if (null != scheduler || closed) {
+            return;
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "latte-tenant-datasource-evict");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long evictInterval = properties.getEvictInterval().toMillis();
+        if (evictInterval > 0) {
+            executor.scheduleWithFixedDelay(this::evict, evictInterval, evictInterval, TimeUnit.MILLISECONDS);
+        }
+        scheduler = executor;
+    }
+
+    /**
+     * 获取数据源（不存在时创建，与 {@link #release(String)} 成对调用）
+     *
+     * @param dataSourceName 数据源名称
+     * @param loader         数据源创建方法
+     * @return 是否为管理器管理的数据源（false 表示为其他方式添加的数据源，例如：配置文件中的数据源）
+     */
+    public boolean acquire(String dataSourceName, Function<String, DataSource> loader) {
+        while (true) {
+            PoolEntry entry = pools.computeIfAbsent(dataSourceName, key -> dynamicRoutingDataSource.getDataSources()
+                .containsKey(key) ? null : new PoolEntry(key));
+            if (null == entry) {
+                return false;
+            }
+            // 连接池正在被淘汰，等待淘汰完成后重新创建
+            if (!entry.retain()) {
+                Thread.onSpinWait();
+                continue;
+            }
+            try {
+                if (null == entry.dataSource) {
+                    this.create(entry, loader);
+                }
+                return true;
+            } catch (RuntimeException e) {
+                entry.release();
+                // 创建失败时移除连接池记录，避免无效数据源名称占用连接池数量
+                if (null == entry.dataSource) {
+                    this.evict(entry);
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 释放数据源
+     *
+     * @param dataSourceName 数据源名称
+     */
+    public void release(String dataSourceName) {
+        PoolEntry entry = pools.get(dataSourceName);
+        // 配置已变更的连接池在最后一次释放时淘汰
+        if (null != entry && entry.release() && entry.stale) {
+            this.evict(entry);
+        }
+    }
+
+    /**
+     * 预热连接池（异步创建）
+     *
+     * @param dataSourceNames 数据源名称列表
+     * @param loader          数据源创建方法
+     */
+    public void preload(Collection<String> dataSourceNames, Function<String, DataSource> loader) {
+        if (dataSourceNames.isEmpty()) {
+            return;
+        }
+        this.execute(() -> dataSourceNames.forEach(dataSourceName -> {
+            try {
+                if (this.acquire(dataSourceName, loader)) {
+                    this.release(dataSourceName);
+                }
+            } catch (Exception e) {
+                log.warn("Preload data source [{}] failed.", dataSourceName, e);
+            }
+        }));
+    }
+
+    /**
+     * 设置连接池大小（启用连接总数预算时，按当前连接池数量计算最大连接数）
+     *
+     * @param dataSourceProperty 数据源配置
+     */
+    public void configure(DataSourceProperty dataSourceProperty) {
+        if (properties.getMaxTotalConnections() <= 0) {
+            return;
+        }
+        HikariCpConfig hikariConfig = dataSourceProperty.getHikari();
+        if (null == hikariConfig) {
+            hikariConfig = new HikariCpConfig();
+            dataSourceProperty.setHikari(hikariConfig);
+        }
+        int poolSize = this.getPoolSize();
+        hikariConfig.setMaxPoolSize(poolSize);
+        hikariConfig.setMinIdle(Math.min(properties.getMinPoolSize(), poolSize));
+    }
+
+    /**
+     * 获取单个连接池最大连接数
+     *
+     * @return 最大连接数（不小于 1），未启用连接总数预算时返回 -1
+     */
+    public int getPoolSize() {
+        int maxTotalConnections = properties.getMaxTotalConnections();
+        if (maxTotalConnections <= 0) {
+            return -1;
+        }
+        int poolSize = maxTotalConnections / Math.max(pools.size(), 1);
+        // 连接池最大连接数不能为 0（HikariCP 不允许）
+        return Math.max(Math.max(properties.getMinPoolSize(), 1), Math.min(poolSize, properties.getMaxPoolSize()));
+    }
+
+    /**
+     * 淘汰空闲连接池
+     */
+    public void evict() {
+        try {
+            long idleTimeout = properties.getIdleTimeout().toNanos();
+            long now = System.nanoTime();
+            pools.values()
+                .stream()
+                .filter(entry -> entry.stale || (idleTimeout > 0 && now - entry.lastAccessTime > idleTimeout))
+                .forEach(this::evict);
+            this.evictExcess();
+        } catch (Exception e) {
+            log.error("Evict tenant data source occurred an error: {}.", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 淘汰连接池（连接池正在使用时不淘汰）
+     *
+     * @param dataSourceName 数据源名称
+     * @return 是否已淘汰
+     */
+    public boolean evict(String dataSourceName) {
+        PoolEntry entry = pools.get(dataSourceName);
+        return null != entry && this.evict(entry);
+    }
+
+    public int getPoolCount() {
+        return pools.size();
+    }
+
+    public long getCreatedCount() {
+        return createdCount.sum();
+    }
+
+    public long getEvictedCount() {
+        return evictedCount.sum();
+    }
+
+    /**
+     * 获取数据源使用数（正在使用该数据源的调用数）
+     *
+     * @param dataSourceName 数据源名称
+     * @return 使用数
+     */
+    public int getInUseCount(String dataSourceName) {
+        PoolEntry entry = pools.get(dataSourceName);
+        return null == entry ? 0 : Math.max(entry.refCount.get(), 0);
+    }
+
+    /**
+     * 添加监听器（对已创建的连接池立即回调 {@link TenantDataSourcePoolListener#onCreated}）
+     *
+     * @param listener 监听器
+     */
+    public synchronized void addListener(TenantDataSourcePoolListener listener) {
+        listeners.add(listener);
+        pools.values().stream().filter(entry -> null != entry.dataSource).forEach(entry -> listener
+            .onCreated(entry.name, entry.dataSource));
+    }
+
+    /**
+     * 租户数据源配置变更后淘汰对应的连接池（下次使用时按新配置创建）
+     *
+     * <p>
+     * 正在使用的连接池标记为已过期，在最后一次释放时（或下次定时淘汰时）淘汰
+     * </p>
+     */
+    @Override
+    public void onApplicationEvent(@NonNull TenantDataSourceChangeEvent event) {
+        if (null == event.getTenantId()) {
+            pools.values().forEach(this::evictStale);
+        } else {
+            PoolEntry entry = pools.get(event.getTenantId());
+            if (null != entry) {
+                this.evictStale(entry);
+            }
+        }
+    }
+
+    /**
+     * 在租户数据源配置缓存（{@link com.ppxb.latte.starter.extension.tenant.config.TenantDataSourceCache}）清除之后执行，
+     * 保证重新创建的连接池读取到新配置
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (null != scheduler) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void create(PoolEntry entry, Function<String, DataSource> loader) {
+        synchronized (entry) {
+            if (null != entry.dataSource) {
+                return;
+            }
+            DataSource dataSource = loader.apply(entry.name);
+            dynamicRoutingDataSource.addDataSource(entry.name, dataSource);
+            entry.dataSource = dataSource;
+        }
+        createdCount.increment();
+        log.info("Load data source: {}", entry.name);
+        this.publish(entry, true);
+        this.rebalance();
+        if (this.getPoolLimit() < pools.size()) {
+            this.execute(this::evictExcess);
+        }
+    }
+
+    /**
+     * 执行后台任务（未启动或已停止时在调用线程执行）
+     *
+     * @param task 任务
+     */
+    private void execute(Runnable task) {
+        ScheduledExecutorService executor = scheduler;
+        if (null != executor && !executor.isShutdown()) {
+            executor.execute(task);
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * 淘汰超出数量限制的连接池（最久未使用优先）
+     */
+    private void evictExcess() {
+        int excess = pools.size() - this.getPoolLimit();
+        if (excess <= 0) {
+            return;
+        }
+        List<PoolEntry> candidates = pools.values()
+            .stream()
+            .filter(entry -> entry.refCount.get() == 0)
+            .sorted(Comparator.comparingLong(entry -> entry.lastAccessTime))
+            .toList();
+        for (PoolEntry entry : candidates) {
+            if (excess <= 0) {
+                return;
+            }
+            if (this.evict(entry)) {
+                excess--;
+            }
+        }
+    }
+
+    private void evictStale(PoolEntry entry) {
+        // 先标记再尝试淘汰，与释放时的判断配合，保证正在使用的连接池最终被淘汰
+        entry.stale = true;
+        this.evict(entry);
+    }
+
+    private boolean evict(PoolEntry entry) {
+        DataSource dataSource = entry.dataSource;
+        if (null != dataSource && HIKARI_PRESENT && HikariDataSourceUtils.getActiveConnections(dataSource) > 0) {
+            return false;
+        }
+        if (!entry.markEvicted()) {
+            return false;
+        }
+        // 先移除数据源再移除连接池记录，保证同一数据源名称不会同时存在新旧两个连接池（与动态数据源的添加/移除使用同一把锁）
+        synchronized (dynamicRoutingDataSource) {
+            if (null != dataSource && dynamicRoutingDataSource.getDataSources().get(entry.name) == dataSource) {
+                dynamicRoutingDataSource.removeDataSource(entry.name);
+            }
+        }
+        pools.remove(entry.name, entry);
+        if (null != dataSource) {
+            evictedCount.increment();
+            log.info("Evict data source: {}", entry.name);
+            this.publish(entry, false);
+            this.rebalance();
+        }
+        return true;
+    }
+
+    /**
+     * 按连接总数预算重新调整各连接池最大连接数
+     */
+    private void rebalance() {
+        if (!HIKARI_PRESENT || properties.getMaxTotalConnections() <= 0) {
+            return;
+        }
+        int poolSize = this.getPoolSize();
+        pools.values()
+            .stream()
+            .map(entry -> entry.dataSource)
+            .filter(dataSource -> null != dataSource)
+            .forEach(dataSource -> HikariDataSourceUtils.setMaximumPoolSize(dataSource, poolSize));
+    }
+
+    /**
+     * 获取连接池数量上限
+     *
+     * @return 连接池数量上限
+     */
+    private int getPoolLimit() {
+        int limit = properties.getMaxPools() > 0 ? properties.getMaxPools() : Integer.MAX_VALUE;
+        if (properties.getMaxTotalConnections() > 0 && properties.getMinPoolSize() > 0) {
+            limit = Math.min(limit, properties.getMaxTotalConnections() / properties.getMinPoolSize());
+        }
+        return limit;
+    }
+
+    private synchronized void publish(PoolEntry entry, boolean created) {
+        for (TenantDataSourcePoolListener listener : listeners) {
+            try {
+                if (created) {
+                    listener.onCreated(entry.name, entry.dataSource);
+                } else {
+                    listener.onEvicted(entry.name, entry.dataSource);
+                }
+            } catch (Exception e) {
+                log.warn("Notify tenant data source listener failed.", e);
+            }
+        }
+    }
+
+    /**
+     * 连接池记录
+     */
+    private static class PoolEntry {
+
+        private final String name;
+
+        /**
+         * 使用数（-1 表示已淘汰）
+         */
+        private final AtomicInteger refCount = new AtomicInteger();
+
+        private volatile DataSource dataSource;
+
+        private volatile long lastAccessTime = System.nanoTime();
+
+        /**
+         * 是否已过期（租户数据源配置已变更）
+         */
+        private volatile boolean stale;
+
+        PoolEntry(String name) {
+            this.name = name;
+        }
+
+        boolean retain() {
+            int count;
+            do {
+                count = refCount.get();
+                if (count < 0) {
+                    return false;
+                }
+            } while (!refCount.compareAndSet(count, count + 1));
+            lastAccessTime = System.nanoTime();
+            return true;
+        }
+
+        /**
+         * 释放
+         *
+         * @return 是否为最后一次释放（使用数归零）
+         */
+        boolean release() {
+            lastAccessTime = System.nanoTime();
+            return refCount.decrementAndGet() == 0;
+        }
+
+        boolean markEvicted() {
+            return refCount.compareAndSet(0, -1);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.extension.tenant.handler;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * 租户数据源连接池指标
+ *
+ * <p>
+ * 连接池创建时注册该租户的连接池指标，淘汰时移除。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class TenantDataSourcePoolMetrics implements MeterBinder, TenantDataSourcePoolListener {
+
+    private static final boolean HIKARI_PRESENT = ClassUtils.isPresent("com.zaxxer.hikari.HikariDataSource", null);
+
+    private final TenantDataSourcePoolManager poolManager;
+
+    private final TenantDataSourceHandler tenantDataSourceHandler;
+
+    private final Map<String, List<Meter>> tenantMeters = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry registry;
+
+    public TenantDataSourcePoolMetrics(TenantDataSourcePoolManager poolManager) {
+        this(poolManager, null);
+    }
+
+    public TenantDataSourcePoolMetrics(TenantDataSourcePoolManager poolManager,
+                                       TenantDataSourceHandler tenantDataSourceHandler) {
+        this.poolManager = poolManager;
+        this.tenantDataSourceHandler = tenantDataSourceHandler;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("latte.tenant.datasource.pools", poolManager, TenantDataSourcePoolManager::getPoolCount)
+            .description("租户数据源连接池数量")
+            .register(registry);
+        FunctionCounter.builder("latte.tenant.datasource.created", poolManager, TenantDataSourcePoolManager::getCreatedCount)
+            .description("租户数据源连接池创建数量")
+            .register(registry);
+        FunctionCounter.builder("latte.tenant.datasource.evicted", poolManager, TenantDataSourcePoolManager::getEvictedCount)
+            .description("租户数据源连接池淘汰数量")
+            .register(registry);
+        if (tenantDataSourceHandler instanceof DefaultTenantDataSourceHandler handler) {
+            FunctionCounter.builder("latte.tenant.datasource.changed", handler, DefaultTenantDataSourceHandler::getChangedCount)
+                .description("租户数据源切换次数")
+                .register(registry);
+            FunctionCounter.builder("latte.tenant.datasource.rejected", handler, DefaultTenantDataSourceHandler::getRejectedCount)
+                .description("无效租户拒绝次数")
+                .register(registry);
+        }
+        poolManager.addListener(this);
+    }
+
+    @Override
+    public void onCreated(String dataSourceName, DataSource dataSource) {
+        MeterRegistry meterRegistry = registry;
+        if (null == meterRegistry) {
+            return;
+        }
+        Tags tags = Tags.of("tenant", dataSourceName);
+        List<Meter> meters = new ArrayList<>();
+        meters.add(Gauge.builder("latte.tenant.datasource.in.use", poolManager, manager -> manager
+            .getInUseCount(dataSourceName)).description("租户数据源使用数").tags(tags).register(meterRegistry));
+        if (HIKARI_PRESENT) {
+            meters.add(this.registerConnections(meterRegistry, dataSource, tags
+                .and("state", "active"), HikariPoolMXBean::getActiveConnections));
+            meters.add(this.registerConnections(meterRegistry, dataSource, tags
+                .and("state", "idle"), HikariPoolMXBean::getIdleConnections));
+            meters.add(this.registerConnections(meterRegistry, dataSource, tags
+                .and("state", "total"), HikariPoolMXBean::getTotalConnections));
+            meters.add(this.registerConnections(meterRegistry, dataSource, tags
+                .and("state", "pending"), HikariPoolMXBean::getThreadsAwaitingConnection));
+        }
+        tenantMeters.put(dataSourceName, meters);
+    }
+
+    @Override
+    public void onEvicted(String dataSourceName, DataSource dataSource) {
+        MeterRegistry meterRegistry = registry;
+        List<Meter> meters = tenantMeters.remove(dataSourceName);
+        if (null != meterRegistry && null != meters) {
+            meters.forEach(meterRegistry::remove);
+        }
+    }
+
+    private Meter registerConnections(MeterRegistry meterRegistry,
+                                      DataSource dataSource,
+                                      Tags tags,
+                                      ToIntFunction<HikariPoolMXBean> getter) {
+        return Gauge.builder("latte.tenant.datasource.connections", dataSource, ds -> HikariDataSourceUtils
+            .getPoolState(ds, getter))
+            .description("租户数据源连接数（active：活跃，idle：空闲，total：总数，pending：等待连接线程数）")
+            .tags(tags)
+            .register(meterRegistry);
+    }
+}
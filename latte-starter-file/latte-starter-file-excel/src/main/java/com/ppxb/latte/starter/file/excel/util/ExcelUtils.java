@@ -30,6 +30,8 @@ import cn.hutool.core.date.DatePattern;
 import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.util.URLUtil;
 import com.alibaba.excel.EasyExcelFactory;
+import com.alibaba.excel.ExcelWriter;
+import com.alibaba.excel.write.metadata.WriteSheet;
 import com.alibaba.excel.write.style.column.LongestMatchColumnWidthStyleStrategy;
 import com.ppxb.latte.starter.core.exception.BaseException;
 import com.ppxb.latte.starter.file.excel.converter.ExcelBigNumberConverter;
@@ -41,6 +43,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public class ExcelUtils {
 
@@ -77,4 +80,64 @@ public class ExcelUtils {
             throw new BaseException("导出 Excel 出现错误");
         }
     }
+
+    /**
+     * 分批导出
+     * <p>
+     * 数据由生产者分批写入，每批数据写入后即可释放，内存占用与导出数据总量无关。
+     * </p>
+     *
+     * @param fileName     文件名
+     * @param clazz        导出数据类型
+     * @param response     响应对象
+     * @param dataProducer 数据生产者（通过入参写入器逐批写入数据）
+     */
+    public static <T> void exportByBatch(String fileName,
+                                         Class<T> clazz,
+                                         HttpServletResponse response,
+                                         Consumer<Consumer<List<T>>> dataProducer) {
+        exportByBatch(fileName, "Sheet1", Collections.emptySet(), clazz, response, dataProducer);
+    }
+
+    /**
+     * 分批导出
+     * <p>
+     * 数据由生产者分批写入，每批数据写入后即可释放，内存占用与导出数据总量无关。
+     * </p>
+     *
+     * @param fileName                文件名
+     * @param sheetName               工作表名
+     * @param excludeColumnFieldNames 排除字段
+     * @param clazz                   导出数据类型
+     * @param response                响应对象
+     * @param dataProducer            数据生产者（通过入参写入器逐批写入数据）
+     */
+    public static <T> void exportByBatch(String fileName,
+                                         String sheetName,
+                                         Set<String> excludeColumnFieldNames,
+                                         Class<T> clazz,
+                                         HttpServletResponse response,
+                                         Consumer<Consumer<List<T>>> dataProducer) {
+        try {
+            String exportFileName = URLUtil.encode("%s_%s.xlsx".formatted(fileName, DateUtil
+                .format(new Date(), DatePattern.PURE_DATETIME_PATTERN)));
+            response.setHeader("Content-Disposition", "attachment;filename=" + exportFileName);
+            response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet;charset=utf-8");
+            try (ExcelWriter excelWriter = EasyExcelFactory.write(response.getOutputStream(), clazz)
+                .autoCloseStream(false)
+                .registerWriteHandler(new LongestMatchColumnWidthStyleStrategy())
+                .registerConverter(new ExcelBigNumberConverter())
+                .build()) {
+                WriteSheet writeSheet = EasyExcelFactory.writerSheet(sheetName)
+                    .excludeColumnFieldNames(excludeColumnFieldNames)
+                    .build();
+                // 确保无数据时也会写入表头
+                excelWriter.write(Collections.emptyList(), writeSheet);
+                dataProducer.accept(batch -> excelWriter.write(batch, writeSheet));
+            }
+        } catch (Exception e) {
+            log.error("Export excel occurred an error: {}. fileName: {}.", e.getMessage(), fileName, e);
+            throw new BaseException("导出 Excel 出现错误");
+        }
+    }
 }
@@ -61,4 +61,12 @@ public @interface Log {
      * 排除信息（在全局配置基础上减少包含信息）
      */
     Include[] excludes() default {};
+
+    /**
+     * 采样比例（0~1，用于接口方法或类上，方法上的配置优先；小于 0 表示使用全局采样比例）
+     * <p>
+     * 仅在启用日志采样时生效，错误请求始终记录
+     * </p>
+     */
+    double sampleRatio() default -1;
 }
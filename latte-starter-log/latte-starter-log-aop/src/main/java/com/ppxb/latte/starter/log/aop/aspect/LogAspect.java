@@ -31,11 +31,15 @@ import cn.hutool.core.util.StrUtil;
 import com.alibaba.ttl.TransmittableThreadLocal;
 import com.ppxb.latte.starter.log.aop.annotation.Log;
 import com.ppxb.latte.starter.log.aop.autoconfigure.LogProperties;
+import com.ppxb.latte.starter.log.core.autoconfigure.LogSamplingProperties;
 import com.ppxb.latte.starter.log.core.dao.LogDao;
 import com.ppxb.latte.starter.log.core.enums.Include;
 import com.ppxb.latte.starter.log.core.http.recordable.impl.RecordableServletHttpRequest;
 import com.ppxb.latte.starter.log.core.http.recordable.impl.RecordableServletHttpResponse;
+import com.ppxb.latte.starter.log.core.metadata.LogMetadata;
+import com.ppxb.latte.starter.log.core.metadata.LogMetadataCache;
 import com.ppxb.latte.starter.log.core.model.LogRecord;
+import com.ppxb.latte.starter.log.core.sampling.LogSampler;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.aspectj.lang.JoinPoint;
@@ -43,12 +47,14 @@ import org.aspectj.lang.annotation.*;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodClassKey;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.Set;
 
 /**
@@ -70,9 +76,18 @@ public class LogAspect {
 
     private final TransmittableThreadLocal<LogRecord.Started> logTTL = new TransmittableThreadLocal<>();
 
+    private final LogMetadataCache metadataCache = new LogMetadataCache();
+
+    private final LogSampler logSampler;
+
     public LogAspect(LogDao logDao, LogProperties logProperties) {
+        this(logDao, logProperties, new LogSampler(new LogSamplingProperties(), null));
+    }
+
+    public LogAspect(LogDao logDao, LogProperties logProperties, LogSampler logSampler) {
         this.logDao = logDao;
         this.logProperties = logProperties;
+        this.logSampler = logSampler;
     }
 
     @Pointcut(value = "@annotation(com.ppxb.latte.starter.log.aop.annotation.Log)")
@@ -80,13 +95,17 @@ public class LogAspect {
     }
 
     @Before(value = "pointcutService()")
-    public void doBefore() {
+    public void doBefore(JoinPoint joinPoint) {
         Instant start = Instant.now();
         ServletRequestAttributes attributes = (ServletRequestAttributes)RequestContextHolder.getRequestAttributes();
         if (attributes != null) {
             HttpServletRequest request = attributes.getRequest();
             LogRecord.Started logRecordStarted = LogRecord.start(start, new RecordableServletHttpRequest(request));
             logTTL.set(logRecordStarted);
+            // 未被采样的请求仅在出错时记录
+            if (!isSampled(joinPoint)) {
+                request.setAttribute(LogSampler.SAMPLED_OUT_ATTRIBUTE, Boolean.TRUE);
+            }
         }
     }
 
@@ -118,27 +137,27 @@ public class LogAspect {
             Method method = signature.getMethod();
             Class<?> targetClass = joinPoint.getTarget().getClass();
 
-            Log methodLog = method.getAnnotation(Log.class);
-            Log classLog = targetClass.getAnnotation(Log.class);
-            // 获取日志包含信息
-            Set<Include> includeSet = getIncludes(methodLog, classLog);
-            // 完成日志记录
+            logSampler.recordLatency(Duration.between(logRecordStarted.getTimestamp(), endTime));
+            if (Boolean.TRUE.equals(attributes.getRequest()
+                .getAttribute(LogSampler.SAMPLED_OUT_ATTRIBUTE)) && exception == null && response.getStatus() < 400) {
+                return;
+            }
+
+            // 获取日志元数据（按方法缓存）
+            LogMetadata logMetadata = getLogMetadata(method, targetClass);
+            // 完成日志记录（请求线程仅捕获原始数据）
             LogRecord finishLogRecord = logRecordStarted
-                .finish(endTime, new RecordableServletHttpResponse(response, response.getStatus()), includeSet);
+                .finish(endTime, new RecordableServletHttpResponse(response, response
+                    .getStatus()), logMetadata.getIncludes(), logRecord -> {
+                        if (exception != null) {
+                            logRecord.getResponse().setStatus(1);
+                        }
+                    });
             if (exception != null) {
-                finishLogRecord.getResponse().setStatus(1);
                 finishLogRecord.setErrorMsg(StrUtil.sub(exception.getMessage(), 0, 2000));
             }
-
-            // 记录日志描述
-            if (includeSet.contains(Include.DESCRIPTION)) {
-                description(finishLogRecord, methodLog);
-            }
-
-            // 记录所属模块
-            if (includeSet.contains(Include.MODULE)) {
-                module(finishLogRecord, methodLog, classLog);
-            }
+            finishLogRecord.setDescription(logMetadata.getDescription());
+            finishLogRecord.setModule(logMetadata.getModule());
             logDao.add(finishLogRecord);
         } catch (Exception e) {
             log.error("Logging http log occurred an error: {}.", e.getMessage(), e);
@@ -148,8 +167,42 @@ public class LogAspect {
         }
     }
 
-    private Set<Include> getIncludes(Log methodLog, Log classLog) {
-        Set<Include> includeSet = new HashSet<>(logProperties.getIncludes());
+    /**
+     * 获取方法的日志元数据（按方法缓存，配置刷新后重新解析）
+     *
+     * @param method      方法
+     * @param targetClass 目标类
+     * @return 日志元数据
+     */
+    private LogMetadata getLogMetadata(Method method, Class<?> targetClass) {
+        Set<Include> includes = logProperties.getIncludes();
+        return metadataCache.get(new MethodClassKey(method, targetClass), includes, () -> {
+            Log methodLog = method.getAnnotation(Log.class);
+            Log classLog = targetClass.getAnnotation(Log.class);
+            Set<Include> includeSet = getIncludes(includes, methodLog, classLog);
+            String description = includeSet.contains(Include.DESCRIPTION) ? description(methodLog) : null;
+            String module = includeSet.contains(Include.MODULE) ? module(methodLog, classLog) : null;
+            double sampleRatio = methodLog != null && methodLog.sampleRatio() >= 0
+                ? methodLog.sampleRatio()
+                : classLog != null ? classLog.sampleRatio() : -1;
+            return new LogMetadata(true, includeSet, description, module, sampleRatio);
+        });
+    }
+
+    private boolean isSampled(JoinPoint joinPoint) {
+        if (!logSampler.isEnabled()) {
+            return true;
+        }
+        Method method = ((MethodSignature)joinPoint.getSignature()).getMethod();
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        LogMetadata logMetadata = getLogMetadata(method, targetClass);
+        return logSampler.isSampled(logSampler.nextSample(), logMetadata.getSampleRatio()) && logSampler
+            .tryAcquire(new MethodClassKey(method, targetClass));
+    }
+
+    private Set<Include> getIncludes(Set<Include> includes, Log methodLog, Log classLog) {
+        Set<Include> includeSet = EnumSet.noneOf(Include.class);
+        includeSet.addAll(includes);
         if (methodLog != null) {
             processInclude(includeSet, methodLog);
         }
@@ -172,22 +225,21 @@ public class LogAspect {
         }
     }
 
-    private void description(LogRecord record, Log methodLog) {
+    private String description(Log methodLog) {
         if (methodLog != null && CharSequenceUtil.isNotBlank(methodLog.value())) {
-            record.setDescription(methodLog.value());
-        } else {
-            record.setDescription("请在该接口方法上指定日志描述");
+            return methodLog.value();
         }
+        return "请在该接口方法上指定日志描述";
     }
 
-    private void module(LogRecord record, Log methodLog, Log classLog) {
+    private String module(Log methodLog, Log classLog) {
         if (methodLog != null && CharSequenceUtil.isNotBlank(methodLog.module())) {
-            record.setModule(methodLog.module());
-            return;
+            return methodLog.module();
         }
 
         if (classLog != null) {
-            record.setModule(CharSequenceUtil.blankToDefault(classLog.module(), "请在该接口类上指定所属模块"));
+            return CharSequenceUtil.blankToDefault(classLog.module(), "请在该接口类上指定所属模块");
         }
+        return null;
     }
 }
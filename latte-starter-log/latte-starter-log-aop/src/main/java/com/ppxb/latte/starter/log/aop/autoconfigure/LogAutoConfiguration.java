@@ -30,7 +30,7 @@ import com.ppxb.latte.starter.log.aop.annotation.ConditionalOnEnabledLog;
 import com.ppxb.latte.starter.log.aop.aspect.ConsoleLogAspect;
 import com.ppxb.latte.starter.log.aop.aspect.LogAspect;
 import com.ppxb.latte.starter.log.core.dao.LogDao;
-import com.ppxb.latte.starter.log.core.dao.impl.LogDaoDefaultImpl;
+import com.ppxb.latte.starter.log.core.sampling.LogSampler;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,10 +54,13 @@ public class LogAutoConfiguration {
         this.logProperties = logProperties;
     }
 
+    /**
+     * 日志切面（启用异步日志时，日志持久层为异步日志持久层，见 LogDaoAutoConfiguration）
+     */
     @Bean
     @ConditionalOnMissingBean
-    public LogAspect logAspect() {
-        return new LogAspect(logDao(), logProperties);
+    public LogAspect logAspect(LogDao logDao, LogSampler logSampler) {
+        return new LogAspect(logDao, logProperties, logSampler);
     }
 
     @Bean
@@ -66,12 +69,6 @@ public class LogAutoConfiguration {
         return new ConsoleLogAspect(logProperties);
     }
 
-    @Bean
-    @ConditionalOnMissingBean
-    public LogDao logDao() {
-        return new LogDaoDefaultImpl();
-    }
-
     @PostConstruct
     public void postConstruct() {
         log.debug("[Latte Starter] - Auto Configuration 'Log-aop' completed initialization.");
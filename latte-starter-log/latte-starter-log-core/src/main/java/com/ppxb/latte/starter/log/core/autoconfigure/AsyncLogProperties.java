@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.autoconfigure;
+
+import com.ppxb.latte.starter.log.core.enums.LogOverflowPolicy;
+
+import java.time.Duration;
+
+/**
+ * 异步日志配置属性
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class AsyncLogProperties {
+
+    /**
+     * 是否启用（启用后日志由后台线程批量写入日志持久层，请求线程仅负责入队）
+     */
+    private boolean enabled = false;
+
+    /**
+     * 队列容量
+     */
+    private int queueCapacity = 8192;
+
+    /**
+     * 每批写入数量（队列积压达到该数量时立即写入）
+     */
+    private int batchSize = 200;
+
+    /**
+     * 写入间隔（未达到每批写入数量时，最长等待该时间后写入）
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * 溢出策略
+     */
+    private LogOverflowPolicy overflowPolicy = LogOverflowPolicy.DROP;
+
+    /**
+     * 采样阈值（SAMPLE 策略下，队列积压比例超过该值后开始采样）
+     */
+    private double sampleThreshold = 0.8;
+
+    /**
+     * 采样比例（SAMPLE 策略下保留的日志比例）
+     */
+    private double sampleRatio = 0.1;
+
+    /**
+     * 阻塞超时时间（BLOCK 策略下最长等待时间）
+     */
+    private Duration blockTimeout = Duration.ofMillis(100);
+
+    /**
+     * 关闭时等待剩余日志写入的最长时间
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public LogOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(LogOverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public double getSampleThreshold() {
+        return sampleThreshold;
+    }
+
+    public void setSampleThreshold(double sampleThreshold) {
+        this.sampleThreshold = sampleThreshold;
+    }
+
+    public double getSampleRatio() {
+        return sampleRatio;
+    }
+
+    public void setSampleRatio(double sampleRatio) {
+        this.sampleRatio = sampleRatio;
+    }
+
+    public Duration getBlockTimeout() {
+        return blockTimeout;
+    }
+
+    public void setBlockTimeout(Duration blockTimeout) {
+        this.blockTimeout = blockTimeout;
+    }
+
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public void setShutdownTimeout(Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+    }
+}
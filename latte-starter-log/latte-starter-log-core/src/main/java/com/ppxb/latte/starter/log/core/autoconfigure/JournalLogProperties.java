@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.autoconfigure;
+
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 本地日志文件（Journal）配置属性
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class JournalLogProperties {
+
+    /**
+     * 是否启用（启用后默认日志持久层将日志追加写入本地分段文件，重启后不丢失）
+     */
+    private boolean enabled = false;
+
+    /**
+     * 存储目录
+     */
+    private String directory = "./logs/journal";
+
+    /**
+     * 单个分段文件大小（超出后滚动到新的分段文件）
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * 分段文件滚动间隔（<= 0 表示仅按大小滚动）
+     */
+    private Duration rollInterval = Duration.ofHours(1);
+
+    /**
+     * 刷盘间隔（组提交，期间写入的日志统一刷盘；进程崩溃不丢失，操作系统崩溃最多丢失该间隔内的日志）
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * 最多保留的分段文件数量（<= 0 表示不限制）
+     */
+    private int maxSegments = 100;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public DataSize getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(DataSize segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public Duration getRollInterval() {
+        return rollInterval;
+    }
+
+    public void setRollInterval(Duration rollInterval) {
+        this.rollInterval = rollInterval;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+}
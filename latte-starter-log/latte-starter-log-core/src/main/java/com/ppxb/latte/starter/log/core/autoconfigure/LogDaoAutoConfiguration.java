@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.autoconfigure;
+
+import com.ppxb.latte.starter.core.constant.PropertiesConstants;
+import com.ppxb.latte.starter.log.core.dao.LogDao;
+import com.ppxb.latte.starter.log.core.dao.impl.AsyncLogDao;
+import com.ppxb.latte.starter.log.core.dao.impl.JournalLogDao;
+import com.ppxb.latte.starter.log.core.dao.impl.LogDaoDefaultImpl;
+import com.ppxb.latte.starter.log.core.metrics.AsyncLogDaoMetrics;
+import com.ppxb.latte.starter.log.core.sampling.LogSampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * 日志持久层自动配置
+ * <p>
+ * 日志持久层与异步日志持久层均由容器管理生命周期：异步日志持久层依赖日志持久层，关闭时先写完队列中的日志，再关闭日志持久层（例如本地日志文件）。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+@AutoConfiguration
+@ConditionalOnProperty(prefix = PropertiesConstants.LOG, name = PropertiesConstants.ENABLED, havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(LogDaoProperties.class)
+public class LogDaoAutoConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(LogDaoAutoConfiguration.class);
+
+    /**
+     * 日志持久层
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public LogDao logDao(LogDaoProperties properties) {
+        if (properties.getJournal().isEnabled()) {
+            return new JournalLogDao(properties.getJournal());
+        }
+        return new LogDaoDefaultImpl();
+    }
+
+    /**
+     * 异步日志持久层（包装日志持久层，作为首选的日志持久层注入）
+     */
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    @Primary
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = PropertiesConstants.LOG, name = "async.enabled", havingValue = "true")
+    public AsyncLogDao asyncLogDao(LogDao logDao, LogDaoProperties properties) {
+        return new AsyncLogDao(logDao, properties.getAsync());
+    }
+
+    /**
+     * 日志采样器（日志切面、日志过滤器及拦截器共用）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public LogSampler logSampler(LogDaoProperties properties, ObjectProvider<AsyncLogDao> asyncLogDao) {
+        // 启用异步日志时，按日志队列积压比例自适应调整采样比例
+        AsyncLogDao dao = asyncLogDao.getIfAvailable();
+        DoubleSupplier queueUtilization = null != dao ? dao::getQueueUtilization : null;
+        return new LogSampler(properties.getSampling(), queueUtilization);
+    }
+
+    @PostConstruct
+    public void postConstruct() {
+        log.debug("[Latte Starter] - Auto Configuration 'Log-core' completed initialization.");
+    }
+
+    /**
+     * 异步日志指标配置
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = PropertiesConstants.LOG, name = "async.enabled", havingValue = "true")
+    static class AsyncLogMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AsyncLogDaoMetrics asyncLogDaoMetrics(AsyncLogDao asyncLogDao) {
+            return new AsyncLogDaoMetrics(asyncLogDao);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.autoconfigure;
+
+import com.ppxb.latte.starter.core.constant.PropertiesConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+
+/**
+ * 日志持久层配置属性
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+@ConfigurationProperties(PropertiesConstants.LOG)
+public class LogDaoProperties {
+
+    /**
+     * 异步日志配置
+     */
+    @NestedConfigurationProperty
+    private AsyncLogProperties async = new AsyncLogProperties();
+
+    /**
+     * 本地日志文件配置
+     */
+    @NestedConfigurationProperty
+    private JournalLogProperties journal = new JournalLogProperties();
+
+    /**
+     * 日志采样配置
+     */
+    @NestedConfigurationProperty
+    private LogSamplingProperties sampling = new LogSamplingProperties();
+
+    public AsyncLogProperties getAsync() {
+        return async;
+    }
+
+    public void setAsync(AsyncLogProperties async) {
+        this.async = async;
+    }
+
+    public JournalLogProperties getJournal() {
+        return journal;
+    }
+
+    public void setJournal(JournalLogProperties journal) {
+        this.journal = journal;
+    }
+
+    public LogSamplingProperties getSampling() {
+        return sampling;
+    }
+
+    public void setSampling(LogSamplingProperties sampling) {
+        this.sampling = sampling;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.autoconfigure;
+
+import java.time.Duration;
+
+/**
+ * 日志采样配置属性
+ *
+ * <p>
+ * 未被采样的请求不缓存请求体/响应体；错误请求（响应状态码 >= 400 或发生异常）始终记录
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class LogSamplingProperties {
+
+    /**
+     * 是否启用
+     */
+    private boolean enabled = false;
+
+    /**
+     * 采样比例（0~1，可通过 @Log(sampleRatio = ...) 按接口覆盖）
+     */
+    private double ratio = 1.0;
+
+    /**
+     * 每个接口每秒最多记录的日志数量（<= 0 表示不限制，错误日志不受限制）
+     */
+    private int maxPerSecond = 0;
+
+    /**
+     * 自适应采样配置
+     */
+    private Adaptive adaptive = new Adaptive();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getRatio() {
+        return ratio;
+    }
+
+    public void setRatio(double ratio) {
+        this.ratio = ratio;
+    }
+
+    public int getMaxPerSecond() {
+        return maxPerSecond;
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public Adaptive getAdaptive() {
+        return adaptive;
+    }
+
+    public void setAdaptive(Adaptive adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * 自适应采样配置
+     *
+     * <p>
+     * 日志队列积压比例或请求平均耗时超过阈值时，每个调整周期将采样比例减半（不低于最小采样比例）；恢复后每个周期逐步回升
+     * </p>
+     */
+    public static class Adaptive {
+
+        /**
+         * 是否启用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 最小采样比例
+         */
+        private double minRatio = 0.01;
+
+        /**
+         * 日志队列积压比例阈值（仅启用异步日志时生效）
+         */
+        private double queueThreshold = 0.5;
+
+        /**
+         * 请求平均耗时阈值
+         */
+        private Duration latencyThreshold = Duration.ofMillis(500);
+
+        /**
+         * 调整周期
+         */
+        private Duration adjustInterval = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getMinRatio() {
+            return minRatio;
+        }
+
+        public void setMinRatio(double minRatio) {
+            this.minRatio = minRatio;
+        }
+
+        public double getQueueThreshold() {
+            return queueThreshold;
+        }
+
+        public void setQueueThreshold(double queueThreshold) {
+            this.queueThreshold = queueThreshold;
+        }
+
+        public Duration getLatencyThreshold() {
+            return latencyThreshold;
+        }
+
+        public void setLatencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+        }
+
+        public Duration getAdjustInterval() {
+            return adjustInterval;
+        }
+
+        public void setAdjustInterval(Duration adjustInterval) {
+            this.adjustInterval = adjustInterval;
+        }
+    }
+}
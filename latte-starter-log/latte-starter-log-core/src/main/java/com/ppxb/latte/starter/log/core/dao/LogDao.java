@@ -54,4 +54,19 @@ public interface LogDao {
      * @param logRecord 日志信息
      */
     void add(LogRecord logRecord);
+
+    /**
+     * 批量记录日志
+     *
+     * <p>
+     * 由异步日志管道按批调用，默认逐条调用 {@link #add(LogRecord)}，支持批量写入的实现（如数据库批量插入）可重写该方法。
+     * </p>
+     *
+     * @param logRecords 日志信息列表
+     */
+    default void addBatch(List<LogRecord> logRecords) {
+        for (LogRecord logRecord : logRecords) {
+            this.add(logRecord);
+        }
+    }
 }
@@ -0,0 +1,294 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.dao.impl;
+
+import com.ppxb.latte.starter.log.core.autoconfigure.AsyncLogProperties;
+import com.ppxb.latte.starter.log.core.dao.LogDao;
+import com.ppxb.latte.starter.log.core.enums.LogOverflowPolicy;
+import com.ppxb.latte.starter.log.core.model.LogRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步日志持久层（装饰器）
+ *
+ * <p>
+ * 请求线程仅将日志放入有界无锁队列，由后台线程按数量或时间批量调用被装饰日志持久层的 {@link LogDao#addBatch(List)}。
+ * 队列已满时按 {@link LogOverflowPolicy} 处理，关闭时写入剩余日志。<br>
+ * 后台线程由 {@link #start()} 启动，由 {@link #shutdown()} 停止（作为 Spring Bean 时分别为初始化及销毁方法）。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class AsyncLogDao implements LogDao {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncLogDao.class);
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final LogDao delegate;
+
+    private final AsyncLogProperties properties;
+
+    private final Queue<LogRecord> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queueSize = new AtomicInteger();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    private final LongAdder flushedCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private volatile Thread worker;
+
+    private volatile boolean running = true;
+
+    public AsyncLogDao(LogDao delegate, AsyncLogProperties properties) {
+        this.delegate = delegate;
+        this.properties = properties;
+    }
+
+    /**
+     * 启动后台写入线程
+     */
+    public synchronized void start() {
+        if (null != worker || !running) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "latte-log-async");
+        thread.setDaemon(true);
+        thread.start();
+        worker = thread;
+    }
+
+    @Override
+    public List<LogRecord> list() {
+        return delegate.list();
+    }
+
+    @Override
+    public void add(LogRecord logRecord) {
+        if (!running) {
+            delegate.add(logRecord);
+            return;
+        }
+        boolean accepted = switch (properties.getOverflowPolicy()) {
+            case SAMPLE -> this.isSampled(logRecord) && this.offer(logRecord);
+            case BLOCK -> this.offerBlocking(logRecord);
+            default -> this.offer(logRecord);
+        };
+        if (!accepted) {
+            droppedCount.increment();
+        }
+    }
+
+    @Override
+    public void addBatch(List<LogRecord> logRecords) {
+        logRecords.forEach(this::add);
+    }
+
+    /**
+     * 关闭并写入剩余日志
+     */
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread thread = worker;
+        if (null != thread) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(properties.getShutdownTimeout().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (null != thread && thread.isAlive()) {
+            log.warn("Async log worker did not finish within {}, {} log records remain in queue.", properties
+                .getShutdownTimeout(), queueSize.get());
+            return;
+        }
+        // 写入关闭期间入队的日志
+        List<LogRecord> batch = new ArrayList<>();
+        this.drainTo(batch, Integer.MAX_VALUE);
+        this.flush(batch);
+    }
+
+    /**
+     * 获取队列积压数量
+     *
+     * @return 队列积压数量
+     */
+    public int getQueueSize() {
+        return queueSize.get();
+    }
+
+    /**
+     * 获取队列积压比例
+     *
+     * @return 队列积压比例（0~1）
+     */
+    public double getQueueUtilization() {
+        return (double)queueSize.get() / Math.max(properties.getQueueCapacity(), 1);
+    }
+
+    /**
+     * 获取丢弃数量（含溢出及采样丢弃）
+     *
+     * @return 丢弃数量
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * 获取已写入数量
+     *
+     * @return 已写入数量
+     */
+    public long getFlushedCount() {
+        return flushedCount.sum();
+    }
+
+    /**
+     * 获取写入失败数量
+     *
+     * @return 写入失败数量
+     */
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    private boolean offer(LogRecord logRecord) {
+        int capacity = properties.getQueueCapacity();
+        int current;
+        do {
+            current = queueSize.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!queueSize.compareAndSet(current, current + 1));
+        queue.offer(logRecord);
+        // 积压达到每批写入数量时唤醒后台线程
+        if (current + 1 == properties.getBatchSize()) {
+            LockSupport.unpark(worker);
+        }
+        return true;
+    }
+
+    private boolean offerBlocking(LogRecord logRecord) {
+        long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+        while (!this.offer(logRecord)) {
+            if (!running || System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.unpark(worker);
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+        }
+        return true;
+    }
+
+    private boolean isSampled(LogRecord logRecord) {
+        if (queueSize.get() < properties.getQueueCapacity() * properties.getSampleThreshold()) {
+            return true;
+        }
+        // 错误日志优先保留
+        if (logRecord.isError()) {
+            return true;
+        }
+        return ThreadLocalRandom.current().nextDouble() < properties.getSampleRatio();
+    }
+
+    private void run() {
+        int batchSize = Math.max(properties.getBatchSize(), 1);
+        long intervalNanos = properties.getFlushInterval().toNanos();
+        List<LogRecord> batch = new ArrayList<>(batchSize);
+        long deadline = 0;
+        while (running) {
+            boolean wasEmpty = batch.isEmpty();
+            this.drainTo(batch, batchSize - batch.size());
+            long now = System.nanoTime();
+            if (wasEmpty && !batch.isEmpty()) {
+                deadline = now + intervalNanos;
+            }
+            if (batch.size() >= batchSize || (!batch.isEmpty() && now - deadline >= 0)) {
+                this.flush(batch);
+                continue;
+            }
+            LockSupport.parkNanos(this, batch.isEmpty() ? intervalNanos : deadline - now);
+        }
+        // 关闭时写入剩余日志
+        do {
+            this.drainTo(batch, batchSize - batch.size());
+            this.flush(batch);
+        } while (!queue.isEmpty());
+    }
+
+    private void drainTo(List<LogRecord> batch, int maxElements) {
+        LogRecord logRecord;
+        for (int i = 0; i < maxElements && null != (logRecord = queue.poll()); i++) {
+            queueSize.decrementAndGet();
+            batch.add(logRecord);
+        }
+    }
+
+    private void flush(List<LogRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // 在后台线程完成日志信息解析
+        for (LogRecord logRecord : batch) {
+            try {
+                logRecord.enrich();
+            } catch (Exception e) {
+                log.warn("Enriching log record occurred an error: {}.", e.getMessage(), e);
+            }
+        }
+        try {
+            delegate.addBatch(List.copyOf(batch));
+            flushedCount.add(batch.size());
+        } catch (Exception e) {
+            failedCount.add(batch.size());
+            log.error("Async logging {} log records occurred an error: {}.", batch.size(), e.getMessage(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+}
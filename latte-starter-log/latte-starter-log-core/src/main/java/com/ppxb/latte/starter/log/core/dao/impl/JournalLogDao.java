@@ -0,0 +1,327 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.dao.impl;
+
+import com.ppxb.latte.starter.log.core.autoconfigure.JournalLogProperties;
+import com.ppxb.latte.starter.log.core.dao.LogDao;
+import com.ppxb.latte.starter.log.core.journal.LogJournalPosition;
+import com.ppxb.latte.starter.log.core.journal.LogJournalReader;
+import com.ppxb.latte.starter.log.core.journal.LogRecordCodec;
+import com.ppxb.latte.starter.log.core.model.LogRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * 日志持久层接口本地文件（Journal）实现类
+ *
+ * <p>
+ * 日志编码后追加写入内存映射的分段文件，按大小及时间滚动；后台线程按刷盘间隔统一刷盘（组提交）。
+ * 每次启动写入新的分段文件，可通过 {@link LogJournalReader} 回放或持续读取。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class JournalLogDao implements LogDao, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalLogDao.class);
+
+    private static final int HEADER_SIZE = LogJournalReader.HEADER_SIZE;
+
+    /**
+     * {@link #list()} 返回的最大日志数量
+     */
+    private static final int LIST_LIMIT = 100;
+
+    private final JournalLogProperties properties;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final ScheduledExecutorService flusher;
+
+    private final long flushMillis;
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    private final ThreadLocal<CRC32> crc32 = ThreadLocal.withInitial(CRC32::new);
+
+    private Segment segment;
+
+    /**
+     * 是否已启动定时刷盘（仅在持有锁时访问）
+     */
+    private boolean flushScheduled;
+
+    private volatile boolean closed;
+
+    public JournalLogDao(JournalLogProperties properties) {
+        this.properties = properties;
+        this.directory = Paths.get(properties.getDirectory()).toAbsolutePath();
+        this.segmentSize = (int)Math.min(properties.getSegmentSize().toBytes(), Integer.MAX_VALUE);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.flushMillis = Math.max(properties.getFlushInterval().toMillis(), 1);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "latte-log-journal-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public List<LogRecord> list() {
+        // 返回最近的日志（按时间倒序）
+        LogJournalReader reader = this.getReader();
+        List<Long> segmentIds = LogJournalReader.listSegmentIds(directory);
+        Deque<LogRecord> logRecords = new ArrayDeque<>(LIST_LIMIT);
+        for (int i = segmentIds.size() - 1; i >= 0 && logRecords.size() < LIST_LIMIT; i--) {
+            Deque<LogRecord> segmentRecords = new ArrayDeque<>();
+            LogJournalPosition from = new LogJournalPosition(segmentIds.get(i), 0);
+            reader.read(from, Integer.MAX_VALUE, logRecord -> {
+                segmentRecords.addFirst(logRecord);
+                if (segmentRecords.size() > LIST_LIMIT) {
+                    segmentRecords.removeLast();
+                }
+            });
+            for (LogRecord logRecord : segmentRecords) {
+                if (logRecords.size() >= LIST_LIMIT) {
+                    break;
+                }
+                logRecords.addLast(logRecord);
+            }
+        }
+        return new ArrayList<>(logRecords);
+    }
+
+    @Override
+    public void add(LogRecord logRecord) {
+        // 编码在锁外完成，锁内仅复制到映射内存
+        byte[] payload = LogRecordCodec.encode(logRecord);
+        CRC32 crc = crc32.get();
+        crc.reset();
+        crc.update(payload);
+        int checksum = (int)crc.getValue();
+        int recordSize = HEADER_SIZE + payload.length;
+        if (recordSize + HEADER_SIZE > segmentSize) {
+            droppedCount.increment();
+            log.warn("Log record of {} bytes exceeds the journal segment size, dropped.", recordSize);
+            return;
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                droppedCount.increment();
+                return;
+            }
+            Segment current = this.ensureSegment(recordSize);
+            MappedByteBuffer buffer = current.buffer;
+            int position = buffer.position();
+            // 先写入内容及校验和，最后写入长度（读取方以长度作为提交标记）
+            buffer.putInt(position + 4, checksum);
+            buffer.put(position + HEADER_SIZE, payload);
+            buffer.putInt(position, payload.length);
+            buffer.position(position + recordSize);
+            current.dirty = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void addBatch(List<LogRecord> logRecords) {
+        for (LogRecord logRecord : logRecords) {
+            this.add(logRecord);
+        }
+    }
+
+    /**
+     * 获取日志文件读取器
+     *
+     * @return 日志文件读取器
+     */
+    public LogJournalReader getReader() {
+        return new LogJournalReader(directory);
+    }
+
+    /**
+     * 获取丢弃数量（超出分段文件大小或已关闭）
+     *
+     * @return 丢弃数量
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * 刷盘
+     */
+    public void flush() {
+        Segment current;
+        lock.lock();
+        try {
+            current = segment;
+            if (null == current || !current.dirty) {
+                return;
+            }
+            current.dirty = false;
+        } finally {
+            lock.unlock();
+        }
+        // 刷盘在锁外执行，不阻塞写入
+        try {
+            current.buffer.force();
+        } catch (Exception e) {
+            log.error("Flushing log journal segment {} occurred an error: {}.", current.id, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        lock.lock();
+        try {
+            closed = true;
+            if (null != segment) {
+                this.closeSegment(segment);
+                segment = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 确保当前分段文件可写入（容量不足或到达滚动时间时滚动）
+     */
+    private Segment ensureSegment(int recordSize) {
+        Segment current = segment;
+        // 预留末尾长度标记的空间
+        boolean full = null != current && current.buffer.remaining() < recordSize + HEADER_SIZE;
+        boolean expired = null != current && !properties.getRollInterval().isNegative() && !properties
+            .getRollInterval()
+            .isZero() && System.nanoTime() - current.createdAt >= properties.getRollInterval().toNanos();
+        if (null == current || full || expired) {
+            if (null != current) {
+                this.closeSegment(current);
+            }
+            current = this.openSegment();
+            segment = current;
+            this.deleteExpiredSegments();
+            // 首次写入时启动定时刷盘（不在构造方法中调度，避免未完成构造的实例逃逸到刷盘线程）
+            if (!flushScheduled) {
+                flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+                flushScheduled = true;
+            }
+        }
+        return current;
+    }
+
+    private Segment openSegment() {
+        List<Long> segmentIds = LogJournalReader.listSegmentIds(directory);
+        long id = segmentIds.isEmpty() ? 1 : segmentIds.get(segmentIds.size() - 1) + 1;
+        Path path = LogJournalReader.segmentPath(directory, id);
+        try (FileChannel channel = FileChannel
+            .open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // 映射在通道关闭后仍然有效
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            return new Segment(id, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void closeSegment(Segment current) {
+        try {
+            current.buffer.force();
+        } catch (Exception e) {
+            log.error("Flushing log journal segment {} occurred an error: {}.", current.id, e.getMessage(), e);
+        }
+    }
+
+    private void deleteExpiredSegments() {
+        int maxSegments = properties.getMaxSegments();
+        if (maxSegments <= 0) {
+            return;
+        }
+        List<Long> segmentIds = LogJournalReader.listSegmentIds(directory);
+        for (int i = 0; i < segmentIds.size() - maxSegments; i++) {
+            try {
+                Files.deleteIfExists(LogJournalReader.segmentPath(directory, segmentIds.get(i)));
+            } catch (IOException e) {
+                log.warn("Deleting log journal segment {} occurred an error: {}.", segmentIds.get(i), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 分段文件
+     */
+    private static final class Segment {
+
+        private final long id;
+
+        private final MappedByteBuffer buffer;
+
+        private final long createdAt = System.nanoTime();
+
+        /**
+         * 是否有未刷盘的写入（仅在持有锁时访问）
+         */
+        private boolean dirty;
+
+        private Segment(long id, MappedByteBuffer buffer) {
+            this.id = id;
+            this.buffer = buffer;
+        }
+    }
+}
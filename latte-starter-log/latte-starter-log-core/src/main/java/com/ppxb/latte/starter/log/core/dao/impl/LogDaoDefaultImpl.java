@@ -29,53 +29,215 @@ package com.ppxb.latte.starter.log.core.dao.impl;
 import com.ppxb.latte.starter.log.core.dao.LogDao;
 import com.ppxb.latte.starter.log.core.model.LogRecord;
 
-import java.util.LinkedList;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BinaryOperator;
 
 /**
  * 日志持久层接口默认实现类（内存）
  *
+ * <p>
+ * 基于固定容量的无锁环形缓冲区，写入不加锁，读取时生成快照，不阻塞写入；可选按接口维护独立的环形缓冲区。
+ * </p>
+ *
  * @author ppxb
  * @since 1.0.0
  */
 public class LogDaoDefaultImpl implements LogDao {
 
-    private int capacity = 100;
+    private volatile boolean reverse = true;
+
+    private volatile RingBuffer records = new RingBuffer(100);
+
+    /**
+     * 每个接口的日志容量（<= 0 表示不按接口记录）
+     */
+    private volatile int endpointCapacity = 0;
 
-    private boolean reverse = true;
+    /**
+     * 最多记录的接口数量（超出后新接口不再单独记录，避免路径参数导致内存膨胀）
+     */
+    private volatile int maxEndpoints = 256;
 
-    private final List<LogRecord> logRecords = new LinkedList<>();
+    private final Map<String, RingBuffer> endpointRecords = new ConcurrentHashMap<>();
 
     @Override
     public List<LogRecord> list() {
-        synchronized (this.logRecords) {
-            return List.copyOf(this.logRecords);
-        }
+        return this.order(records.snapshot());
     }
 
     @Override
     public void add(LogRecord record) {
-        synchronized (this.logRecords) {
-            while (this.logRecords.size() >= this.capacity) {
-                this.logRecords.remove(this.reverse ? this.capacity - 1 : 0);
+        records.add(record);
+        if (endpointCapacity <= 0 || null == record.getEndpoint()) {
+            return;
+        }
+        RingBuffer endpointBuffer = endpointRecords.get(record.getEndpoint());
+        if (null == endpointBuffer) {
+            if (endpointRecords.size() >= maxEndpoints) {
+                return;
+            }
+            endpointBuffer = endpointRecords.computeIfAbsent(record
+                .getEndpoint(), key -> new RingBuffer(endpointCapacity));
+        }
+        endpointBuffer.add(record);
+    }
+
+    /**
+     * 查询指定接口的日志列表
+     *
+     * @param endpoint 接口标识（请求方式 + 请求路径，如：GET /system/user）
+     * @return 日志列表
+     */
+    public List<LogRecord> list(String endpoint) {
+        RingBuffer endpointBuffer = endpointRecords.get(endpoint);
+        return null != endpointBuffer ? this.order(endpointBuffer.snapshot()) : Collections.emptyList();
+    }
+
+    /**
+     * 查询已记录的接口列表
+     *
+     * @return 接口标识列表
+     */
+    public Set<String> listEndpoints() {
+        return Set.copyOf(endpointRecords.keySet());
+    }
+
+    /**
+     * 查询最近 N 条错误日志（按时间倒序）
+     *
+     * @param limit 数量
+     * @return 日志列表
+     */
+    public List<LogRecord> listErrors(int limit) {
+        List<LogRecord> errors = new ArrayList<>(Math.min(Math.max(limit, 0), 16));
+        for (LogRecord record : records.snapshot()) {
+            if (errors.size() >= limit) {
+                break;
             }
-            if (this.reverse) {
-                this.logRecords.addFirst(record);
-            } else {
-                this.logRecords.add(record);
+            if (record.isError()) {
+                errors.add(record);
             }
         }
+        return errors;
     }
 
-    public void setCapacity(int capacity) {
-        synchronized (this.logRecords) {
-            this.capacity = capacity;
+    /**
+     * 查询耗时最长的 N 条日志（按耗时倒序）
+     *
+     * @param limit 数量
+     * @return 日志列表
+     */
+    public List<LogRecord> listSlowest(int limit) {
+        return records.snapshot()
+            .stream()
+            .sorted(Comparator.comparing((LogRecord record) -> null != record.getTimeTaken()
+                ? record.getTimeTaken()
+                : Duration.ZERO).reversed())
+            .limit(Math.max(limit, 0))
+            .toList();
+    }
+
+    /**
+     * 设置日志容量（保留最近的日志，调整期间的并发写入可能丢失）
+     *
+     * @param capacity 容量
+     */
+    public synchronized void setCapacity(int capacity) {
+        RingBuffer newRecords = new RingBuffer(capacity);
+        List<LogRecord> snapshot = records.snapshot();
+        for (int i = Math.min(snapshot.size(), capacity) - 1; i >= 0; i--) {
+            newRecords.add(snapshot.get(i));
         }
+        this.records = newRecords;
     }
 
     public void setReverse(boolean reverse) {
-        synchronized (this.logRecords) {
-            this.reverse = reverse;
+        this.reverse = reverse;
+    }
+
+    /**
+     * 设置每个接口的日志容量（<= 0 表示不按接口记录，修改后清空已按接口记录的日志）
+     *
+     * @param endpointCapacity 容量
+     */
+    public synchronized void setEndpointCapacity(int endpointCapacity) {
+        this.endpointCapacity = endpointCapacity;
+        this.endpointRecords.clear();
+    }
+
+    public void setMaxEndpoints(int maxEndpoints) {
+        this.maxEndpoints = maxEndpoints;
+    }
+
+    /**
+     * 按排序方式调整快照顺序
+     *
+     * @param newestFirst 快照（按时间倒序）
+     * @return 日志列表
+     */
+    private List<LogRecord> order(List<LogRecord> newestFirst) {
+        if (!reverse) {
+            Collections.reverse(newestFirst);
+        }
+        return Collections.unmodifiableList(newestFirst);
+    }
+
+    /**
+     * 无锁环形缓冲区
+     *
+     * <p>
+     * 写入时通过原子自增获取序号并写入对应槽位，仅在多个写入者落到同一槽位时才会重试（保留序号更大者）。
+     * </p>
+     */
+    private static final class RingBuffer {
+
+        private static final BinaryOperator<Slot> NEWER = (current, slot) -> null == current || current
+            .sequence() < slot.sequence() ? slot : current;
+
+        private final AtomicReferenceArray<Slot> slots;
+
+        private final AtomicLong sequence = new AtomicLong();
+
+        private RingBuffer(int capacity) {
+            this.slots = new AtomicReferenceArray<>(Math.max(capacity, 1));
+        }
+
+        private void add(LogRecord record) {
+            long seq = sequence.getAndIncrement();
+            slots.accumulateAndGet((int)(seq % slots.length()), new Slot(seq, record), NEWER);
         }
+
+        /**
+         * 生成快照（按时间倒序）
+         *
+         * @return 日志列表
+         */
+        private List<LogRecord> snapshot() {
+            List<Slot> snapshot = new ArrayList<>(slots.length());
+            for (int i = 0; i < slots.length(); i++) {
+                Slot slot = slots.get(i);
+                if (null != slot) {
+                    snapshot.add(slot);
+                }
+            }
+            snapshot.sort(Comparator.comparingLong(Slot::sequence).reversed());
+            List<LogRecord> result = new ArrayList<>(snapshot.size());
+            for (Slot slot : snapshot) {
+                result.add(slot.record());
+            }
+            return result;
+        }
+    }
+
+    private record Slot(long sequence, LogRecord record) {
     }
 }
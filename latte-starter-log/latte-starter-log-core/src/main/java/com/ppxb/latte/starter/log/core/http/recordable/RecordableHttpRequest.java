@@ -26,8 +26,11 @@
 
 package com.ppxb.latte.starter.log.core.http.recordable;
 
+import com.ppxb.latte.starter.log.core.enums.Include;
+
 import java.net.URI;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 可记录的 HTTP 请求信息
@@ -50,4 +53,36 @@ public interface RecordableHttpRequest {
     String getBody();
 
     Map<String, Object> getParam();
+
+    /**
+     * 请求体是否已截断（超出缓存上限）
+     *
+     * @return true：已截断（请求体不再解析为请求参数）
+     */
+    default boolean isBodyTruncated() {
+        return false;
+    }
+
+    /**
+     * 获取匹配的路由模板（如：/system/user/{id}）
+     *
+     * @return 路由模板（未匹配到处理器时为 null）
+     */
+    default String getRoute() {
+        return null;
+    }
+
+    /**
+     * 捕获请求原始数据
+     *
+     * <p>
+     * 在请求线程上调用，仅拷贝后续解析所需的原始数据，返回结果不再依赖原始请求对象
+     * </p>
+     *
+     * @param includes 日志包含信息
+     * @return 已捕获的请求信息（默认返回自身）
+     */
+    default RecordableHttpRequest capture(Set<Include> includes) {
+        return this;
+    }
 }
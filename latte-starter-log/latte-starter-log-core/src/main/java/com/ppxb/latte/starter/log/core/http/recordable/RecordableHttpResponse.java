@@ -26,7 +26,10 @@
 
 package com.ppxb.latte.starter.log.core.http.recordable;
 
+import com.ppxb.latte.starter.log.core.enums.Include;
+
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 可记录的 HTTP 响应信息
@@ -44,4 +47,27 @@ public interface RecordableHttpResponse {
     String getBody();
 
     Map<String, Object> getParam();
+
+    /**
+     * 响应体是否已截断（超出缓存上限）
+     *
+     * @return true：已截断（响应体不再解析为响应参数）
+     */
+    default boolean isBodyTruncated() {
+        return false;
+    }
+
+    /**
+     * 捕获响应原始数据
+     *
+     * <p>
+     * 在请求线程上调用，仅拷贝后续解析所需的原始数据，返回结果不再依赖原始响应对象
+     * </p>
+     *
+     * @param includes 日志包含信息
+     * @return 已捕获的响应信息（默认返回自身）
+     */
+    default RecordableHttpResponse capture(Set<Include> includes) {
+        return this;
+    }
 }
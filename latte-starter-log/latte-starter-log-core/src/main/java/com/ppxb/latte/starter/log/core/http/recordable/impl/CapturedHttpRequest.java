@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.http.recordable.impl;
+
+import cn.hutool.core.text.CharSequenceUtil;
+import cn.hutool.json.JSONUtil;
+import com.ppxb.latte.starter.log.core.http.recordable.RecordableHttpRequest;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 已捕获的 HTTP 请求信息
+ *
+ * <p>
+ * 仅保存请求线程上拷贝的原始数据（请求体字节、请求头快照等），请求体解码及 JSON 解析延迟到读取时执行
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class CapturedHttpRequest implements RecordableHttpRequest {
+
+    private final String method;
+
+    private final URI url;
+
+    private final String route;
+
+    private final String ip;
+
+    private final Map<String, String> headers;
+
+    private final byte[] body;
+
+    private final boolean bodyTruncated;
+
+    private final Map<String, String[]> parameterMap;
+
+    public CapturedHttpRequest(String method,
+                               URI url,
+                               String ip,
+                               Map<String, String> headers,
+                               byte[] body,
+                               Map<String, String[]> parameterMap) {
+        this(method, url, null, ip, headers, body, false, parameterMap);
+    }
+
+    public CapturedHttpRequest(String method,
+                               URI url,
+                               String route,
+                               String ip,
+                               Map<String, String> headers,
+                               byte[] body,
+                               boolean bodyTruncated,
+                               Map<String, String[]> parameterMap) {
+        this.method = method;
+        this.url = url;
+        this.route = route;
+        this.ip = ip;
+        this.headers = null != headers ? Collections.unmodifiableMap(headers) : null;
+        this.body = body;
+        this.bodyTruncated = bodyTruncated;
+        this.parameterMap = null != parameterMap ? Collections.unmodifiableMap(parameterMap) : null;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public URI getUrl() {
+        return url;
+    }
+
+    @Override
+    public String getRoute() {
+        return route;
+    }
+
+    @Override
+    public String getIp() {
+        return ip;
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public String getBody() {
+        return JsonBodyUtils.toJsonBody(body, bodyTruncated);
+    }
+
+    @Override
+    public Map<String, Object> getParam() {
+        String bodyStr = bodyTruncated ? null : this.getBody();
+        if (CharSequenceUtil.isNotBlank(bodyStr)) {
+            return JSONUtil.toBean(bodyStr, Map.class);
+        }
+        return null != parameterMap ? Collections.unmodifiableMap(parameterMap) : null;
+    }
+
+    @Override
+    public boolean isBodyTruncated() {
+        return bodyTruncated;
+    }
+}
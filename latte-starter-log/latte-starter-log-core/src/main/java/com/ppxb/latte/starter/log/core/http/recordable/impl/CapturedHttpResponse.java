@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.http.recordable.impl;
+
+import cn.hutool.core.text.CharSequenceUtil;
+import cn.hutool.json.JSONUtil;
+import com.ppxb.latte.starter.log.core.http.recordable.RecordableHttpResponse;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 已捕获的 HTTP 响应信息
+ *
+ * <p>
+ * 仅保存请求线程上拷贝的原始数据（状态码、响应体字节、响应头快照），响应体解码及 JSON 解析延迟到读取时执行
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class CapturedHttpResponse implements RecordableHttpResponse {
+
+    private final int status;
+
+    private final Map<String, String> headers;
+
+    private final byte[] body;
+
+    private final boolean bodyTruncated;
+
+    public CapturedHttpResponse(int status, Map<String, String> headers, byte[] body) {
+        this(status, headers, body, false);
+    }
+
+    public CapturedHttpResponse(int status, Map<String, String> headers, byte[] body, boolean bodyTruncated) {
+        this.status = status;
+        this.headers = null != headers ? Collections.unmodifiableMap(headers) : null;
+        this.body = body;
+        this.bodyTruncated = bodyTruncated;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public String getBody() {
+        return JsonBodyUtils.toJsonBody(body, bodyTruncated);
+    }
+
+    @Override
+    public Map<String, Object> getParam() {
+        String bodyStr = bodyTruncated ? null : this.getBody();
+        if (CharSequenceUtil.isNotBlank(bodyStr)) {
+            return JSONUtil.toBean(bodyStr, Map.class);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isBodyTruncated() {
+        return bodyTruncated;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.http.recordable.impl;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.json.JSONUtil;
+
+/**
+ * JSON 请求体/响应体工具类
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+final class JsonBodyUtils {
+
+    /**
+     * 截断标记（追加在已截断的内容末尾）
+     */
+    static final String TRUNCATED_MARKER = "...[truncated]";
+
+    private JsonBodyUtils() {
+    }
+
+    /**
+     * 获取 JSON 内容
+     *
+     * <p>
+     * 首个非空白字节不是 { 或 [ 时直接返回 null，避免对非 JSON 内容完整解码
+     * </p>
+     *
+     * @param body 内容字节
+     * @return JSON 内容（非 JSON 时返回 null）
+     */
+    static String toJsonBody(byte[] body) {
+        return toJsonBody(body, false);
+    }
+
+    /**
+     * 获取 JSON 内容
+     *
+     * <p>
+     * 内容已截断时不再校验 JSON 格式（截断的 JSON 无法解析），直接返回原始内容并追加 {@link #TRUNCATED_MARKER}
+     * </p>
+     *
+     * @param body      内容字节
+     * @param truncated 内容是否已截断
+     * @return JSON 内容（非 JSON 时返回 null）
+     */
+    static String toJsonBody(byte[] body, boolean truncated) {
+        if (null == body) {
+            return null;
+        }
+        int i = 0;
+        while (i < body.length && Character.isWhitespace(body[i])) {
+            i++;
+        }
+        if (i == body.length || (body[i] != '{' && body[i] != '[')) {
+            return null;
+        }
+        String bodyStr = StrUtil.utf8Str(body);
+        if (truncated) {
+            return bodyStr + TRUNCATED_MARKER;
+        }
+        return JSONUtil.isTypeJSON(bodyStr) ? bodyStr : null;
+    }
+}
@@ -27,12 +27,14 @@
 package com.ppxb.latte.starter.log.core.http.recordable.impl;
 
 import cn.hutool.core.text.CharSequenceUtil;
-import cn.hutool.core.util.StrUtil;
 import cn.hutool.extra.servlet.JakartaServletUtil;
 import cn.hutool.json.JSONUtil;
 import com.ppxb.latte.starter.core.constant.StringConstants;
+import com.ppxb.latte.starter.log.core.enums.Include;
 import com.ppxb.latte.starter.log.core.http.recordable.RecordableHttpRequest;
+import com.ppxb.latte.starter.log.core.http.servlet.BoundedContentCachingRequestWrapper;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 import org.springframework.web.util.UriUtils;
 import org.springframework.web.util.WebUtils;
@@ -41,8 +43,9 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 
 /**
  * 可记录的 HTTP 请求信息适配器
@@ -93,23 +96,51 @@ public class RecordableServletHttpRequest implements RecordableHttpRequest {
 
     @Override
     public String getBody() {
-        return Optional.ofNullable(WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class))
-            .map(wrapper -> {
-                String body = StrUtil.utf8Str(wrapper.getContentAsByteArray());
-                return JSONUtil.isTypeJSON(body) ? body : null;
-            })
-            .orElse(null);
+        return JsonBodyUtils.toJsonBody(this.getBodyBytes(), this.isBodyTruncated());
     }
 
     @Override
     public Map<String, Object> getParam() {
-        String body = getBody();
+        String body = this.isBodyTruncated() ? null : this.getBody();
         if (CharSequenceUtil.isNotBlank(body) && JSONUtil.isTypeJSON(body)) {
             return JSONUtil.toBean(body, Map.class);
         }
         return Collections.unmodifiableMap(request.getParameterMap());
     }
 
+    @Override
+    public boolean isBodyTruncated() {
+        BoundedContentCachingRequestWrapper wrapper = WebUtils
+            .getNativeRequest(request, BoundedContentCachingRequestWrapper.class);
+        return null != wrapper && wrapper.isOverflow();
+    }
+
+    @Override
+    public String getRoute() {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return route instanceof String str ? str : null;
+    }
+
+    @Override
+    public RecordableHttpRequest capture(Set<Include> includes) {
+        Map<String, String> headers = includes.contains(Include.REQUEST_HEADERS) ? this.getHeaders() : null;
+        boolean includeParam = includes.contains(Include.REQUEST_PARAM);
+        byte[] body = includes.contains(Include.REQUEST_BODY) || includeParam ? this.getBodyBytes() : null;
+        Map<String, String[]> parameterMap = includeParam ? new LinkedHashMap<>(request.getParameterMap()) : null;
+        return new CapturedHttpRequest(this.getMethod(), this.getUrl(), this.getRoute(), this.getIp(), headers, body, null != body
+            && this.isBodyTruncated(), parameterMap);
+    }
+
+    /**
+     * 获取已缓存的请求体字节（拷贝）
+     *
+     * @return 请求体字节
+     */
+    private byte[] getBodyBytes() {
+        ContentCachingRequestWrapper wrapper = WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class);
+        return null != wrapper ? wrapper.getContentAsByteArray() : null;
+    }
+
     /**
      * 拼接查询参数字符串
      *
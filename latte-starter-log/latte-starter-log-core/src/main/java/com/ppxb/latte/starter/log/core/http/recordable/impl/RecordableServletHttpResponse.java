@@ -27,16 +27,17 @@
 package com.ppxb.latte.starter.log.core.http.recordable.impl;
 
 import cn.hutool.core.text.CharSequenceUtil;
-import cn.hutool.core.util.StrUtil;
 import cn.hutool.json.JSONUtil;
+import com.ppxb.latte.starter.log.core.enums.Include;
 import com.ppxb.latte.starter.log.core.http.recordable.RecordableHttpResponse;
+import com.ppxb.latte.starter.log.core.http.servlet.BoundedContentCachingResponseWrapper;
 import com.ppxb.latte.starter.web.util.ServletUtils;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.util.ContentCachingResponseWrapper;
 import org.springframework.web.util.WebUtils;
 
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 
 /**
  * 可记录的 HTTP 响应信息适配器
@@ -68,20 +69,46 @@ public class RecordableServletHttpResponse implements RecordableHttpResponse {
 
     @Override
     public String getBody() {
-        return Optional.ofNullable(WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class))
-            .map(wrapper -> {
-                String body = StrUtil.utf8Str(wrapper.getContentAsByteArray());
-                return JSONUtil.isTypeJSON(body) ? body : null;
-            })
-            .orElse(null);
+        return JsonBodyUtils.toJsonBody(this.getBodyBytes(), this.isBodyTruncated());
     }
 
     @Override
     public Map<String, Object> getParam() {
-        String body = this.getBody();
+        String body = this.isBodyTruncated() ? null : this.getBody();
         if (CharSequenceUtil.isNotBlank(body) && JSONUtil.isTypeJSON(body)) {
             return JSONUtil.toBean(body, Map.class);
         }
         return null;
     }
+
+    @Override
+    public boolean isBodyTruncated() {
+        BoundedContentCachingResponseWrapper boundedWrapper = WebUtils
+            .getNativeResponse(response, BoundedContentCachingResponseWrapper.class);
+        return null != boundedWrapper && boundedWrapper.isOverflow();
+    }
+
+    @Override
+    public RecordableHttpResponse capture(Set<Include> includes) {
+        Map<String, String> headers = includes.contains(Include.RESPONSE_HEADERS) ? this.getHeaders() : null;
+        boolean includeBody = includes.contains(Include.RESPONSE_BODY) || includes.contains(Include.RESPONSE_PARAM);
+        return includeBody
+            ? new CapturedHttpResponse(this.status, headers, this.getBodyBytes(), this.isBodyTruncated())
+            : new CapturedHttpResponse(this.status, headers, null);
+    }
+
+    /**
+     * 获取已缓存的响应体字节（拷贝）
+     *
+     * @return 响应体字节
+     */
+    private byte[] getBodyBytes() {
+        BoundedContentCachingResponseWrapper boundedWrapper = WebUtils
+            .getNativeResponse(response, BoundedContentCachingResponseWrapper.class);
+        if (null != boundedWrapper) {
+            return boundedWrapper.getContentAsByteArray();
+        }
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        return null != wrapper ? wrapper.getContentAsByteArray() : null;
+    }
 }
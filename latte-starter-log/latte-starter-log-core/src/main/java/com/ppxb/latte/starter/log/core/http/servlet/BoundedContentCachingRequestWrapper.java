@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.http.servlet;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+/**
+ * 有界内容缓存请求包装器
+ *
+ * <p>
+ * 在 {@link ContentCachingRequestWrapper} 的基础上记录请求内容是否超出缓存上限，以便日志记录时识别已截断的请求体
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class BoundedContentCachingRequestWrapper extends ContentCachingRequestWrapper {
+
+    private boolean overflow;
+
+    /**
+     * 构造方法
+     *
+     * @param request           请求对象
+     * @param contentCacheLimit 缓存内容的最大字节数
+     */
+    public BoundedContentCachingRequestWrapper(HttpServletRequest request, int contentCacheLimit) {
+        super(request, contentCacheLimit);
+    }
+
+    /**
+     * 请求内容是否超出缓存上限（已截断）
+     *
+     * @return true：已截断
+     */
+    public boolean isOverflow() {
+        return overflow;
+    }
+
+    @Override
+    protected void handleContentOverflow(int contentCacheLimit) {
+        overflow = true;
+    }
+}
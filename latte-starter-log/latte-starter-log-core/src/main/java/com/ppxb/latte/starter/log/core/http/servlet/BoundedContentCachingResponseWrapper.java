@@ -0,0 +1,268 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.http.servlet;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.function.Predicate;
+
+/**
+ * 有界内容缓存响应包装器
+ *
+ * <p>
+ * 与 {@link org.springframework.web.util.ContentCachingResponseWrapper} 不同，响应内容直接写出到客户端，仅额外保留前 N
+ * 个字节用于日志记录；首次写入时根据响应内容类型决定是否缓存，二进制、流式等内容类型不缓存。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class BoundedContentCachingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int contentCacheLimit;
+
+    private final Predicate<String> contentTypeFilter;
+
+    private final ByteArrayOutputStream content = new ByteArrayOutputStream(1024);
+
+    private ServletOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    /**
+     * 是否缓存响应内容（首次写入时确定）
+     */
+    private Boolean caching;
+
+    private boolean overflow;
+
+    /**
+     * 构造方法
+     *
+     * @param response          响应对象
+     * @param contentCacheLimit 缓存内容的最大字节数
+     * @param contentTypeFilter 内容类型过滤器（返回 true 表示缓存该内容类型的响应内容）
+     */
+    public BoundedContentCachingResponseWrapper(HttpServletResponse response,
+                                                int contentCacheLimit,
+                                                Predicate<String> contentTypeFilter) {
+        super(response);
+        this.contentCacheLimit = contentCacheLimit;
+        this.contentTypeFilter = contentTypeFilter;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (null == outputStream) {
+            outputStream = new TeeServletOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (null == writer) {
+            writer = new PrintWriter(new TeeWriter(super.getWriter(), Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        this.resetContent();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.resetContent();
+    }
+
+    /**
+     * 获取已缓存的响应内容（拷贝）
+     *
+     * @return 响应内容（最多 contentCacheLimit 个字节）
+     */
+    public byte[] getContentAsByteArray() {
+        return content.toByteArray();
+    }
+
+    /**
+     * 响应内容是否超出缓存上限（已截断）
+     *
+     * @return true：已截断
+     */
+    public boolean isOverflow() {
+        return overflow;
+    }
+
+    private void resetContent() {
+        content.reset();
+        caching = null;
+        overflow = false;
+    }
+
+    private boolean isCaching() {
+        if (null == caching) {
+            caching = contentCacheLimit > 0 && contentTypeFilter.test(getContentType());
+        }
+        return caching && !overflow;
+    }
+
+    private void cache(int b) {
+        if (!this.isCaching()) {
+            return;
+        }
+        if (content.size() >= contentCacheLimit) {
+            overflow = true;
+            return;
+        }
+        content.write(b);
+    }
+
+    private void cache(byte[] b, int off, int len) {
+        if (!this.isCaching()) {
+            return;
+        }
+        int remaining = contentCacheLimit - content.size();
+        if (len > remaining) {
+            overflow = true;
+        }
+        if (remaining > 0) {
+            content.write(b, off, Math.min(len, remaining));
+        }
+    }
+
+    /**
+     * 缓存字符内容（每个字符至少编码为 1 个字节，因此最多只需编码剩余容量个字符）
+     *
+     * @param chars   待缓存的字符（已按剩余容量截取）
+     * @param len     实际写出的字符数
+     * @param charset 字符集
+     */
+    private void cache(String chars, int len, Charset charset) {
+        byte[] bytes = chars.getBytes(charset);
+        this.cache(bytes, 0, bytes.length);
+        if (chars.length() < len) {
+            overflow = true;
+        }
+    }
+
+    /**
+     * 同时写出并缓存的输出流
+     */
+    private class TeeServletOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private TeeServletOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            cache(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            cache(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+
+    /**
+     * 同时写出并缓存的字符输出流
+     */
+    private class TeeWriter extends Writer {
+
+        private final Writer delegate;
+
+        private final Charset charset;
+
+        private TeeWriter(Writer delegate, Charset charset) {
+            this.delegate = delegate;
+            this.charset = charset;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            delegate.write(cbuf, off, len);
+            if (isCaching()) {
+                cache(new String(cbuf, off, Math.min(len, contentCacheLimit - content.size())), len, charset);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            delegate.write(str, off, len);
+            if (isCaching()) {
+                cache(str.substring(off, off + Math.min(len, contentCacheLimit - content.size())), len, charset);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
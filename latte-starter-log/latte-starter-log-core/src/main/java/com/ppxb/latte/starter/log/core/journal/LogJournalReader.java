@@ -0,0 +1,210 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.journal;
+
+import com.ppxb.latte.starter.log.core.model.LogRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 日志文件读取器
+ *
+ * <p>
+ * 按写入顺序回放分段文件中的日志，支持从指定位置持续读取（tail），用于将本地日志投递到集中存储。
+ * 每条日志的格式为：[长度][CRC32][编码后的日志]，长度为 0 或校验失败表示已读到当前写入位置。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class LogJournalReader {
+
+    private static final Logger log = LoggerFactory.getLogger(LogJournalReader.class);
+
+    /**
+     * 日志头长度（长度 + CRC32）
+     */
+    public static final int HEADER_SIZE = 8;
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final Pattern SEGMENT_PATTERN = Pattern.compile("(\\d{20})\\.journal");
+
+    private final Path directory;
+
+    public LogJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 回放全部日志
+     *
+     * @param consumer 日志消费者
+     * @return 下次读取位置
+     */
+    public LogJournalPosition replay(Consumer<LogRecord> consumer) {
+        return this.read(LogJournalPosition.start(), Integer.MAX_VALUE, consumer);
+    }
+
+    /**
+     * 从指定位置读取日志
+     *
+     * @param from       读取位置
+     * @param maxRecords 最多读取数量
+     * @param consumer   日志消费者
+     * @return 下次读取位置（可用于持续读取）
+     */
+    public LogJournalPosition read(LogJournalPosition from, int maxRecords, Consumer<LogRecord> consumer) {
+        List<Long> segmentIds = listSegmentIds(directory);
+        LogJournalPosition position = from;
+        int remaining = maxRecords;
+        for (int i = 0; i < segmentIds.size() && remaining > 0; i++) {
+            long segmentId = segmentIds.get(i);
+            if (segmentId < position.segmentId()) {
+                continue;
+            }
+            int offset = segmentId == position.segmentId() ? position.offset() : 0;
+            int[] read = new int[1];
+            int nextOffset = this.readSegment(segmentId, offset, remaining, logRecord -> {
+                read[0]++;
+                consumer.accept(logRecord);
+            });
+            remaining -= read[0];
+            position = new LogJournalPosition(segmentId, nextOffset);
+            // 未读完当前分段文件（达到最多读取数量）时停止
+            if (remaining <= 0) {
+                break;
+            }
+            // 已有更新的分段文件，说明当前分段文件已写完，继续读取下一个
+            if (i + 1 < segmentIds.size()) {
+                position = new LogJournalPosition(segmentIds.get(i + 1), 0);
+            }
+        }
+        return position;
+    }
+
+    /**
+     * 读取日志列表
+     *
+     * @param from       读取位置
+     * @param maxRecords 最多读取数量
+     * @return 日志列表
+     */
+    public List<LogRecord> read(LogJournalPosition from, int maxRecords) {
+        List<LogRecord> logRecords = new ArrayList<>();
+        this.read(from, maxRecords, logRecords::add);
+        return logRecords;
+    }
+
+    /**
+     * 读取单个分段文件
+     *
+     * @return 下次读取偏移量
+     */
+    private int readSegment(long segmentId, int offset, int maxRecords, Consumer<LogRecord> consumer) {
+        Path segment = segmentPath(directory, segmentId);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (offset + HEADER_SIZE > size) {
+                return offset;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc32 = new CRC32();
+            int position = offset;
+            for (int count = 0; count < maxRecords && position + HEADER_SIZE <= size; count++) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + HEADER_SIZE + length > size) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                buffer.get(position + HEADER_SIZE, payload);
+                crc32.reset();
+                crc32.update(payload);
+                if ((int)crc32.getValue() != buffer.getInt(position + 4)) {
+                    break;
+                }
+                position += HEADER_SIZE + length;
+                try {
+                    consumer.accept(LogRecordCodec.decode(payload));
+                } catch (RuntimeException e) {
+                    log.warn("Decoding log journal record at {}:{} occurred an error: {}.", segment, position, e
+                        .getMessage());
+                }
+            }
+            return position;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 获取分段文件 ID 列表（升序）
+     *
+     * @param directory 存储目录
+     * @return 分段文件 ID 列表
+     */
+    public static List<Long> listSegmentIds(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> SEGMENT_PATTERN.matcher(file.getFileName().toString()))
+                .filter(Matcher::matches)
+                .map(matcher -> Long.parseLong(matcher.group(1)))
+                .sorted()
+                .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 获取分段文件路径
+     *
+     * @param directory 存储目录
+     * @param segmentId 分段文件 ID
+     * @return 分段文件路径
+     */
+    public static Path segmentPath(Path directory, long segmentId) {
+        return directory.resolve(String.format("%020d", segmentId) + SEGMENT_SUFFIX);
+    }
+}
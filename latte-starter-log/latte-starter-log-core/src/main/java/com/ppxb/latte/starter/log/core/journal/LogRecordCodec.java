@@ -0,0 +1,247 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.journal;
+
+import cn.hutool.json.JSONUtil;
+import com.ppxb.latte.starter.log.core.http.recordable.impl.CapturedHttpRequest;
+import com.ppxb.latte.starter.log.core.http.recordable.impl.CapturedHttpResponse;
+import com.ppxb.latte.starter.log.core.model.LogRecord;
+import com.ppxb.latte.starter.log.core.model.LogRequest;
+import com.ppxb.latte.starter.log.core.model.LogResponse;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 日志信息二进制编解码器
+ *
+ * <p>
+ * 紧凑二进制格式：定长字段直接写入，字符串为 [长度][UTF-8 字节]（长度为 -1 表示 null），请求/响应参数以 JSON 字符串写入
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public final class LogRecordCodec {
+
+    private static final byte VERSION = 1;
+
+    private static final int NULL_LENGTH = -1;
+
+    private LogRecordCodec() {
+    }
+
+    /**
+     * 编码
+     *
+     * @param logRecord 日志信息
+     * @return 编码后的字节
+     */
+    public static byte[] encode(LogRecord logRecord) {
+        Output out = new Output(512);
+        out.putByte(VERSION);
+        Instant timestamp = logRecord.getTimestamp();
+        out.putLong(timestamp.getEpochSecond());
+        out.putInt(timestamp.getNano());
+        out.putLong(null != logRecord.getTimeTaken() ? logRecord.getTimeTaken().toNanos() : -1);
+        out.putString(logRecord.getDescription());
+        out.putString(logRecord.getModule());
+        out.putString(logRecord.getErrorMsg());
+        LogRequest request = logRecord.getRequest();
+        out.putByte((byte)(null != request ? 1 : 0));
+        if (null != request) {
+            out.putString(request.getMethod());
+            out.putString(null != request.getUrl() ? request.getUrl().toString() : null);
+            out.putString(request.getIp());
+            out.putMap(request.getHeaders());
+            out.putString(request.getBody());
+            out.putString(null != request.getParam() ? JSONUtil.toJsonStr(request.getParam()) : null);
+            out.putString(request.getAddress());
+            out.putString(request.getBrowser());
+            out.putString(request.getOs());
+        }
+        LogResponse response = logRecord.getResponse();
+        out.putByte((byte)(null != response ? 1 : 0));
+        if (null != response) {
+            out.putInt(null != response.getStatus() ? response.getStatus() : Integer.MIN_VALUE);
+            out.putMap(response.getHeaders());
+            out.putString(response.getBody());
+            out.putString(null != response.getParam() ? JSONUtil.toJsonStr(response.getParam()) : null);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 解码
+     *
+     * @param bytes 编码后的字节
+     * @return 日志信息
+     */
+    public static LogRecord decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported log journal record version: " + version);
+        }
+        Instant timestamp = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+        long timeTakenNanos = buffer.getLong();
+        String description = getString(buffer);
+        String module = getString(buffer);
+        String errorMsg = getString(buffer);
+        LogRequest request = null;
+        if (buffer.get() == 1) {
+            String method = getString(buffer);
+            String url = getString(buffer);
+            String ip = getString(buffer);
+            request = new LogRequest(new CapturedHttpRequest(method, null != url
+                ? URI.create(url)
+                : null, ip, null, null, null), Collections.emptySet());
+            request.setHeaders(getMap(buffer));
+            request.setBody(getString(buffer));
+            request.setParam(toParam(getString(buffer)));
+            request.setAddress(getString(buffer));
+            request.setBrowser(getString(buffer));
+            request.setOs(getString(buffer));
+        }
+        LogResponse response = null;
+        if (buffer.get() == 1) {
+            int status = buffer.getInt();
+            response = new LogResponse(new CapturedHttpResponse(status, null, null), Collections.emptySet());
+            response.setStatus(status != Integer.MIN_VALUE ? status : null);
+            response.setHeaders(getMap(buffer));
+            response.setBody(getString(buffer));
+            response.setParam(toParam(getString(buffer)));
+        }
+        LogRecord logRecord = new LogRecord(timestamp, request, response, timeTakenNanos >= 0
+            ? Duration.ofNanos(timeTakenNanos)
+            : null);
+        logRecord.setDescription(description);
+        logRecord.setModule(module);
+        logRecord.setErrorMsg(errorMsg);
+        return logRecord;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toParam(String json) {
+        return null != json ? JSONUtil.toBean(json, Map.class) : null;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        String str = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return str;
+    }
+
+    private static Map<String, String> getMap(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        if (size == NULL_LENGTH) {
+            return null;
+        }
+        Map<String, String> map = new LinkedHashMap<>(Math.max((int)(size / 0.75f) + 1, 16));
+        for (int i = 0; i < size; i++) {
+            map.put(getString(buffer), getString(buffer));
+        }
+        return map;
+    }
+
+    /**
+     * 可扩容的字节输出
+     */
+    private static final class Output {
+
+        private byte[] buf;
+
+        private int count;
+
+        private Output(int initialCapacity) {
+            this.buf = new byte[initialCapacity];
+        }
+
+        private void ensureCapacity(int additional) {
+            if (count + additional > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, count + additional));
+            }
+        }
+
+        private void putByte(byte b) {
+            this.ensureCapacity(1);
+            buf[count++] = b;
+        }
+
+        private void putInt(int v) {
+            this.ensureCapacity(4);
+            buf[count++] = (byte)(v >>> 24);
+            buf[count++] = (byte)(v >>> 16);
+            buf[count++] = (byte)(v >>> 8);
+            buf[count++] = (byte)v;
+        }
+
+        private void putLong(long v) {
+            this.putInt((int)(v >>> 32));
+            this.putInt((int)v);
+        }
+
+        private void putString(String str) {
+            if (null == str) {
+                this.putInt(NULL_LENGTH);
+                return;
+            }
+            byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            this.putInt(bytes.length);
+            this.ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buf, count, bytes.length);
+            count += bytes.length;
+        }
+
+        private void putMap(Map<String, String> map) {
+            if (null == map) {
+                this.putInt(NULL_LENGTH);
+                return;
+            }
+            this.putInt(map.size());
+            for (Map.Entry<String, String> entry : map.entrySet()) {
+                this.putString(entry.getKey());
+                this.putString(entry.getValue());
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buf, count);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.metadata;
+
+import com.ppxb.latte.starter.log.core.enums.Include;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 日志元数据
+ *
+ * <p>
+ * 按处理方法解析一次并缓存的日志配置（是否记录、包含信息、日志描述、所属模块），避免每次请求重复解析注解
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class LogMetadata {
+
+    private static final LogMetadata NOT_RECORDABLE = new LogMetadata(false, EnumSet
+        .noneOf(Include.class), null, null, -1);
+
+    /**
+     * 是否记录日志
+     */
+    private final boolean recordable;
+
+    /**
+     * 日志包含信息
+     */
+    private final Set<Include> includes;
+
+    /**
+     * 日志描述
+     */
+    private final String description;
+
+    /**
+     * 所属模块
+     */
+    private final String module;
+
+    /**
+     * 采样比例（< 0 表示使用全局采样比例）
+     */
+    private final double sampleRatio;
+
+    public LogMetadata(boolean recordable,
+                       Set<Include> includes,
+                       String description,
+                       String module,
+                       double sampleRatio) {
+        this.recordable = recordable;
+        this.includes = Collections.unmodifiableSet(includes);
+        this.description = description;
+        this.module = module;
+        this.sampleRatio = sampleRatio;
+    }
+
+    /**
+     * 不记录日志的元数据
+     *
+     * @return 日志元数据
+     */
+    public static LogMetadata notRecordable() {
+        return NOT_RECORDABLE;
+    }
+
+    public boolean isRecordable() {
+        return recordable;
+    }
+
+    public Set<Include> getIncludes() {
+        return includes;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getModule() {
+        return module;
+    }
+
+    public double getSampleRatio() {
+        return sampleRatio;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.metadata;
+
+import com.ppxb.latte.starter.log.core.enums.Include;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 日志元数据缓存
+ *
+ * <p>
+ * 以全局日志包含信息为版本，配置刷新（重新绑定后包含信息为新的集合实例）时自动失效
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class LogMetadataCache {
+
+    private volatile Generation generation = new Generation(null);
+
+    /**
+     * 获取日志元数据（不存在则解析并缓存）
+     *
+     * @param key      缓存键（如：处理方法）
+     * @param includes 当前全局日志包含信息
+     * @param loader   解析逻辑
+     * @return 日志元数据
+     */
+    public LogMetadata get(Object key, Set<Include> includes, Supplier<LogMetadata> loader) {
+        Generation current = generation;
+        if (current.includes != includes) {
+            current = new Generation(includes);
+            generation = current;
+        }
+        LogMetadata metadata = current.cache.get(key);
+        if (null != metadata) {
+            return metadata;
+        }
+        return current.cache.computeIfAbsent(key, k -> loader.get());
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        generation = new Generation(null);
+    }
+
+    private static final class Generation {
+
+        private final Set<Include> includes;
+
+        private final Map<Object, LogMetadata> cache = new ConcurrentHashMap<>();
+
+        private Generation(Set<Include> includes) {
+            this.includes = includes;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.metrics;
+
+import com.ppxb.latte.starter.log.core.dao.impl.AsyncLogDao;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 异步日志持久层指标
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class AsyncLogDaoMetrics implements MeterBinder {
+
+    private final AsyncLogDao asyncLogDao;
+
+    public AsyncLogDaoMetrics(AsyncLogDao asyncLogDao) {
+        this.asyncLogDao = asyncLogDao;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("latte.log.async.queue.size", asyncLogDao, AsyncLogDao::getQueueSize)
+            .description("异步日志队列积压数量")
+            .register(registry);
+        FunctionCounter.builder("latte.log.async.dropped", asyncLogDao, AsyncLogDao::getDroppedCount)
+            .description("异步日志丢弃数量")
+            .register(registry);
+        FunctionCounter.builder("latte.log.async.flushed", asyncLogDao, AsyncLogDao::getFlushedCount)
+            .description("异步日志写入数量")
+            .register(registry);
+        FunctionCounter.builder("latte.log.async.failed", asyncLogDao, AsyncLogDao::getFailedCount)
+            .description("异步日志写入失败数量")
+            .register(registry);
+    }
+}
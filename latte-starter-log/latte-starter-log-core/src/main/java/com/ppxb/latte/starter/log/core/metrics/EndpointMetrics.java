@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 接口指标
+ *
+ * <p>
+ * 记录耗时分布、状态码分类计数及处理中请求数，记录过程无锁且不分配对象。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class EndpointMetrics {
+
+    /**
+     * 状态码分类（1xx ~ 5xx）
+     */
+    public static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final String name;
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    private final AtomicLongArray statusCounts = new AtomicLongArray(STATUS_CLASSES.length);
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    public EndpointMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 请求开始
+     */
+    public void requestStarted() {
+        active.incrementAndGet();
+    }
+
+    /**
+     * 请求结束
+     *
+     * @param nanos  耗时（纳秒）
+     * @param status 响应状态码
+     */
+    public void requestFinished(long nanos, int status) {
+        active.decrementAndGet();
+        histogram.record(nanos);
+        int index = Math.min(Math.max(status / 100 - 1, 0), STATUS_CLASSES.length - 1);
+        statusCounts.incrementAndGet(index);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    /**
+     * 获取状态码分类计数
+     *
+     * @param index 状态码分类下标（参见 {@link #STATUS_CLASSES}）
+     * @return 计数
+     */
+    public long getStatusCount(int index) {
+        return statusCounts.get(index);
+    }
+
+    /**
+     * 获取指标快照
+     *
+     * @return 指标快照
+     */
+    public Snapshot snapshot() {
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        for (int i = 0; i < STATUS_CLASSES.length; i++) {
+            long count = statusCounts.get(i);
+            if (count > 0) {
+                statuses.put(STATUS_CLASSES[i], count);
+            }
+        }
+        long count = histogram.getCount();
+        double mean = count > 0 ? toMillis(histogram.getTotalMicros() / count) : 0;
+        return new Snapshot(name, count, active.get(), mean, this.getMillisAtQuantile(0.5), this
+            .getMillisAtQuantile(0.9), this.getMillisAtQuantile(0.99), this.getMillisAtQuantile(0.999), toMillis(histogram
+                .getMaxMicros()), statuses);
+    }
+
+    /**
+     * 获取分位数对应的耗时
+     *
+     * @param quantile 分位数（0~1，如：0.99）
+     * @return 耗时（毫秒）
+     */
+    public double getMillisAtQuantile(double quantile) {
+        return toMillis(histogram.getValueAtQuantile(quantile));
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * 接口指标快照（耗时单位：毫秒）
+     *
+     * @param endpoint 接口
+     * @param count    请求数
+     * @param active   处理中请求数
+     * @param mean     平均耗时
+     * @param p50      P50 耗时
+     * @param p90      P90 耗时
+     * @param p99      P99 耗时
+     * @param p999     P99.9 耗时
+     * @param max      最大耗时
+     * @param statuses 状态码分类计数
+     */
+    public record Snapshot(String endpoint, long count, int active, double mean, double p50, double p90, double p99,
+                           double p999, double max, Map<String, Long> statuses) {
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 接口指标（Micrometer）
+ *
+ * <p>
+ * 接口首次被请求时注册对应指标，指标值在采集时从接口指标中读取。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class EndpointMetricsBinder implements MeterBinder {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final EndpointMetricsRegistry endpointMetricsRegistry;
+
+    public EndpointMetricsBinder(EndpointMetricsRegistry endpointMetricsRegistry) {
+        this.endpointMetricsRegistry = endpointMetricsRegistry;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        endpointMetricsRegistry.addListener(metrics -> this.bind(registry, metrics));
+    }
+
+    private void bind(MeterRegistry registry, EndpointMetrics metrics) {
+        Tags tags = Tags.of("endpoint", metrics.getName());
+        Gauge.builder("latte.log.endpoint.active", metrics, EndpointMetrics::getActive)
+            .description("接口处理中请求数")
+            .tags(tags)
+            .register(registry);
+        FunctionTimer.builder("latte.log.endpoint.latency", metrics
+            .getHistogram(), LatencyHistogram::getCount, LatencyHistogram::getTotalMicros, TimeUnit.MICROSECONDS)
+            .description("接口耗时")
+            .tags(tags)
+            .register(registry);
+        for (double quantile : QUANTILES) {
+            Gauge.builder("latte.log.endpoint.latency.percentile", metrics, m -> m.getMillisAtQuantile(quantile))
+                .description("接口耗时分位数")
+                .baseUnit("milliseconds")
+                .tags(tags.and("quantile", String.valueOf(quantile)))
+                .register(registry);
+        }
+        for (int i = 0; i < EndpointMetrics.STATUS_CLASSES.length; i++) {
+            int index = i;
+            FunctionCounter.builder("latte.log.endpoint.requests", metrics, m -> m.getStatusCount(index))
+                .description("接口请求数")
+                .tags(tags.and("status", EndpointMetrics.STATUS_CLASSES[i]))
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.metrics;
+
+import com.ppxb.latte.starter.log.core.autoconfigure.EndpointMetricsProperties;
+import org.springframework.core.MethodClassKey;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 接口指标注册表
+ *
+ * <p>
+ * 按处理方法及所属 Bean 类型维护接口指标，接口名称格式为：Bean 类名#方法名（继承自父类的处理方法按各子类分别统计）。<br>
+ * 已统计接口的查找仅为一次 Map 读取。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class EndpointMetricsRegistry {
+
+    /**
+     * 超出最大统计接口数量后的合并统计接口名称
+     */
+    public static final String OTHER = "OTHER";
+
+    private final Map<MethodClassKey, EndpointMetrics> metricsMap = new ConcurrentHashMap<>();
+
+    private final Set<String> names = ConcurrentHashMap.newKeySet();
+
+    private final List<Consumer<EndpointMetrics>> listeners = new CopyOnWriteArrayList<>();
+
+    private final EndpointMetricsProperties properties;
+
+    private volatile EndpointMetrics other;
+
+    public EndpointMetricsRegistry(EndpointMetricsProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 获取接口指标（不存在时创建）
+     *
+     * @param method      处理方法
+     * @param targetClass 处理方法所属 Bean 类型
+     * @return 接口指标
+     */
+    public EndpointMetrics get(Method method, Class<?> targetClass) {
+        MethodClassKey methodClassKey = new MethodClassKey(method, targetClass);
+        EndpointMetrics metrics = metricsMap.get(methodClassKey);
+        if (null != metrics) {
+            return metrics;
+        }
+        if (metricsMap.size() >= properties.getMaxEndpoints()) {
+            return this.getOther();
+        }
+        boolean[] created = new boolean[1];
+        metrics = metricsMap.computeIfAbsent(methodClassKey, key -> {
+            created[0] = true;
+            return new EndpointMetrics(this.resolveName(method, targetClass));
+        });
+        if (created[0]) {
+            this.publish(metrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * 获取所有接口指标
+     *
+     * @return 接口指标列表
+     */
+    public List<EndpointMetrics> getAll() {
+        List<EndpointMetrics> list = new ArrayList<>(metricsMap.values());
+        EndpointMetrics otherMetrics = other;
+        if (null != otherMetrics) {
+            list.add(otherMetrics);
+        }
+        return list;
+    }
+
+    /**
+     * 获取所有接口指标快照（按请求数倒序）
+     *
+     * @return 接口指标快照列表
+     */
+    public List<EndpointMetrics.Snapshot> snapshot() {
+        return this.getAll()
+            .stream()
+            .map(EndpointMetrics::snapshot)
+            .sorted(Comparator.comparingLong(EndpointMetrics.Snapshot::count).reversed())
+            .toList();
+    }
+
+    /**
+     * 添加接口指标创建监听器（对已存在的接口指标立即回调）
+     *
+     * @param listener 监听器
+     */
+    public synchronized void addListener(Consumer<EndpointMetrics> listener) {
+        listeners.add(listener);
+        this.getAll().forEach(listener);
+    }
+
+    private synchronized void publish(EndpointMetrics metrics) {
+        listeners.forEach(listener -> listener.accept(metrics));
+    }
+
+    private EndpointMetrics getOther() {
+        EndpointMetrics otherMetrics = other;
+        if (null == otherMetrics) {
+            synchronized (this) {
+                otherMetrics = other;
+                if (null == otherMetrics) {
+                    otherMetrics = new EndpointMetrics(OTHER);
+                    other = otherMetrics;
+                    this.publish(otherMetrics);
+                }
+            }
+        }
+        return otherMetrics;
+    }
+
+    private String resolveName(Method method, Class<?> targetClass) {
+        String name = targetClass.getSimpleName() + "#" + method.getName();
+        if (names.add(name)) {
+            return name;
+        }
+        // 重载方法追加参数类型区分
+        String overloadName = Arrays.stream(method.getParameterTypes())
+            .map(Class::getSimpleName)
+            .collect(Collectors.joining(",", name + "(", ")"));
+        names.add(overloadName);
+        return overloadName;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁耗时直方图
+ *
+ * <p>
+ * 参考 HdrHistogram 的对数-线性分桶：每个 2 的幂区间再等分为 16 个子桶，相对误差约 3%；以微秒为单位，最大约 50 天。
+ * 记录时仅执行原子自增，不分配对象；读取分位数时遍历分桶（读取期间的并发写入可能导致结果存在轻微偏差）。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+
+    private static final long MAX_VALUE = (1L << 42) - 1;
+
+    private static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalMicros = new LongAdder();
+
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * 记录耗时
+     *
+     * @param nanos 耗时（纳秒）
+     */
+    public void record(long nanos) {
+        long micros = Math.min(Math.max(nanos / 1000, 0), MAX_VALUE);
+        buckets.incrementAndGet(bucketIndex(micros));
+        count.increment();
+        totalMicros.add(micros);
+        long max = maxMicros.get();
+        while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+            max = maxMicros.get();
+        }
+    }
+
+    /**
+     * 获取分位数对应的耗时
+     *
+     * @param quantile 分位数（0~1，如：0.99）
+     * @return 耗时（微秒）
+     */
+    public long getValueAtQuantile(double quantile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long)Math.ceil(quantile * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= rank) {
+                return Math.min(bucketMidpoint(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 获取总耗时
+     *
+     * @return 总耗时（微秒）
+     */
+    public long getTotalMicros() {
+        return totalMicros.sum();
+    }
+
+    /**
+     * 获取最大耗时
+     *
+     * @return 最大耗时（微秒）
+     */
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * 获取分桶下标
+     */
+    private static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int)micros;
+        }
+        // 使 micros >> shift 落在 [16, 32) 区间
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - (SUB_BUCKET_BITS - 1);
+        return (shift + 1) * SUB_BUCKET_HALF_COUNT + (int)(micros >> shift) - SUB_BUCKET_HALF_COUNT;
+    }
+
+    /**
+     * 获取分桶中间值
+     */
+    private static long bucketMidpoint(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        long lowerBound = (long)(index - shift * SUB_BUCKET_HALF_COUNT) << shift;
+        return lowerBound + ((1L << shift) >> 1);
+    }
+}
@@ -26,17 +26,25 @@
 
 package com.ppxb.latte.starter.log.core.model;
 
+import com.ppxb.latte.starter.core.constant.StringConstants;
 import com.ppxb.latte.starter.log.core.enums.Include;
 import com.ppxb.latte.starter.log.core.http.recordable.RecordableHttpRequest;
 import com.ppxb.latte.starter.log.core.http.recordable.RecordableHttpResponse;
 
+import java.net.URI;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * 日志信息
  *
+ * <p>
+ * 由 {@link Started#finish} 创建的日志信息仅持有请求线程上捕获的原始数据，请求/响应信息的解析（IP 归属地、User-Agent、请求体等）
+ * 延迟到首次读取或显式调用 {@link #enrich()} 时执行，以便在后台线程中完成
+ * </p>
+ *
  * @author Dave Syer (Spring Boot Actuator)
  * @author Andy Wilkinson(Spring Boot Actuator)
  * @author Phillip Webb (Spring Boot Actuator)
@@ -59,11 +67,40 @@ public class LogRecord {
 
     private final Instant timestamp;
 
+    /**
+     * 响应状态码（捕获时的原始值，用于在解析前判断是否为错误日志）
+     */
+    private final Integer status;
+
+    /**
+     * 接口标识（请求方式 + 路由模板，如：GET /system/user/{id}；未匹配到路由模板时为请求路径）
+     */
+    private final String endpoint;
+
+    /**
+     * 待执行的解析任务
+     */
+    private volatile Runnable pendingEnrichment;
+
+    /**
+     * 是否正在解析（仅在持有锁时访问，避免解析逻辑中读取信息时重入）
+     */
+    private boolean enriching;
+
     public LogRecord(Instant timestamp, LogRequest request, LogResponse response, Duration timeTaken) {
         this.timestamp = timestamp;
         this.request = request;
         this.response = response;
         this.timeTaken = timeTaken;
+        this.status = null != response ? response.getStatus() : null;
+        this.endpoint = null != request ? buildEndpoint(request.getMethod(), null, request.getUrl()) : null;
+    }
+
+    private LogRecord(Instant timestamp, Integer status, String endpoint, Duration timeTaken) {
+        this.timestamp = timestamp;
+        this.status = status;
+        this.endpoint = endpoint;
+        this.timeTaken = timeTaken;
     }
 
     public static Started start(RecordableHttpRequest request) {
@@ -78,7 +115,56 @@ public class LogRecord {
         return timestamp;
     }
 
+    /**
+     * 执行延迟的解析任务
+     *
+     * <p>
+     * 幂等，解析仅执行一次；读取请求/响应信息时会自动触发
+     * </p>
+     */
+    public void enrich() {
+        if (null == pendingEnrichment) {
+            return;
+        }
+        synchronized (this) {
+            Runnable enrichment = pendingEnrichment;
+            if (null == enrichment || enriching) {
+                return;
+            }
+            enriching = true;
+            try {
+                enrichment.run();
+            } finally {
+                enriching = false;
+                pendingEnrichment = null;
+            }
+        }
+    }
+
+    /**
+     * 是否为错误日志（不触发解析）
+     *
+     * @return true：存在错误信息或响应状态码 >= 400
+     */
+    public boolean isError() {
+        if (null != errorMsg) {
+            return true;
+        }
+        Integer currentStatus = null == pendingEnrichment && null != response ? response.getStatus() : status;
+        return null != currentStatus && currentStatus >= 400;
+    }
+
+    /**
+     * 获取接口标识（不触发解析）
+     *
+     * @return 接口标识（请求方式 + 路由模板）
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
     public LogRequest getRequest() {
+        this.enrich();
         return request;
     }
 
@@ -87,6 +173,7 @@ public class LogRecord {
     }
 
     public LogResponse getResponse() {
+        this.enrich();
         return response;
     }
 
@@ -103,6 +190,7 @@ public class LogRecord {
     }
 
     public String getDescription() {
+        this.enrich();
         return description;
     }
 
@@ -111,6 +199,7 @@ public class LogRecord {
     }
 
     public String getModule() {
+        this.enrich();
         return module;
     }
 
@@ -126,6 +215,12 @@ public class LogRecord {
         this.errorMsg = errorMsg;
     }
 
+    private static String buildEndpoint(String method, String route, URI url) {
+        // 优先使用路由模板，避免路径参数（如：/system/user/1）使接口标识无限增长
+        String path = null != route ? route : null != url ? url.getPath() : StringConstants.EMPTY;
+        return method + StringConstants.SPACE + path;
+    }
+
     public static final class Started {
 
         private final Instant timestamp;
@@ -137,11 +232,45 @@ public class LogRecord {
             this.request = request;
         }
 
+        public Instant getTimestamp() {
+            return timestamp;
+        }
+
         public LogRecord finish(Instant timestamp, RecordableHttpResponse response, Set<Include> includes) {
-            LogRequest logRequest = new LogRequest(this.request, includes);
-            LogResponse logResponse = new LogResponse(response, includes);
+            return this.finish(timestamp, response, includes, null);
+        }
+
+        /**
+         * 结束日志记录
+         *
+         * <p>
+         * 请求线程上仅捕获原始数据，请求/响应信息的解析及 {@code enricher} 均延迟执行
+         * </p>
+         *
+         * @param timestamp 结束时间
+         * @param response  响应信息
+         * @param includes  日志包含信息
+         * @param enricher  额外的解析逻辑（如日志描述、所属模块），可为 null
+         * @return 日志信息
+         */
+        public LogRecord finish(Instant timestamp,
+                                RecordableHttpResponse response,
+                                Set<Include> includes,
+                                Consumer<LogRecord> enricher) {
+            RecordableHttpRequest capturedRequest = this.request.capture(includes);
+            RecordableHttpResponse capturedResponse = response.capture(includes);
             Duration duration = Duration.between(this.timestamp, timestamp);
-            return new LogRecord(this.timestamp, logRequest, logResponse, duration);
+            String endpoint = buildEndpoint(capturedRequest.getMethod(), capturedRequest.getRoute(), capturedRequest
+                .getUrl());
+            LogRecord logRecord = new LogRecord(this.timestamp, capturedResponse.getStatus(), endpoint, duration);
+            logRecord.pendingEnrichment = () -> {
+                logRecord.request = new LogRequest(capturedRequest, includes);
+                logRecord.response = new LogResponse(capturedResponse, includes);
+                if (null != enricher) {
+                    enricher.accept(logRecord);
+                }
+            };
+            return logRecord;
         }
     }
 }
@@ -96,12 +96,13 @@ public class LogRequest {
         Optional.ofNullable(this.headers)
             .map(h -> h.get(HttpHeaders.USER_AGENT))
             .filter(CharSequenceUtil::isNotBlank)
+            .map(ServletUtils::getUserAgent)
             .ifPresent(userAgent -> {
                 if (includes.contains(Include.BROWSER)) {
-                    this.browser = ServletUtils.getBrowser(userAgent);
+                    this.browser = userAgent.getBrowserWithVersion();
                 }
                 if (includes.contains(Include.OS)) {
-                    this.os = ServletUtils.getOs(userAgent);
+                    this.os = userAgent.os();
                 }
             });
     }
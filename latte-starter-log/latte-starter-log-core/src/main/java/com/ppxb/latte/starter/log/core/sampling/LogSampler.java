@@ -0,0 +1,215 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.log.core.sampling;
+
+import com.ppxb.latte.starter.log.core.autoconfigure.LogSamplingProperties;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+
+/**
+ * 日志采样器
+ *
+ * <p>
+ * 每个请求生成一个 [0, 1) 的采样值（过滤器与拦截器共用，保证同一请求的判断一致），采样值小于有效采样比例时记录日志。
+ * 启用自适应采样时，按日志队列积压比例及请求平均耗时动态调整有效采样比例（AIMD：过载时减半，恢复后每周期回升 10%）。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class LogSampler {
+
+    /**
+     * 采样值请求属性名
+     */
+    public static final String SAMPLE_ATTRIBUTE = LogSampler.class.getName() + ".SAMPLE";
+
+    /**
+     * 未被采样标识请求属性名
+     */
+    public static final String SAMPLED_OUT_ATTRIBUTE = LogSampler.class.getName() + ".SAMPLED_OUT";
+
+    /**
+     * 请求耗时平滑系数
+     */
+    private static final double LATENCY_ALPHA = 0.2;
+
+    private final LogSamplingProperties properties;
+
+    /**
+     * 日志队列积压比例
+     */
+    private final DoubleSupplier queueUtilization;
+
+    private final Map<Object, RateWindow> rateWindows = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastAdjustNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * 自适应系数（0~1）
+     */
+    private volatile double adaptiveFactor = 1.0;
+
+    /**
+     * 请求平均耗时（指数加权移动平均，纳秒）
+     */
+    private volatile double latencyAverageNanos;
+
+    public LogSampler(LogSamplingProperties properties, DoubleSupplier queueUtilization) {
+        this.properties = properties;
+        this.queueUtilization = queueUtilization;
+    }
+
+    /**
+     * 是否启用采样
+     *
+     * @return true：启用
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 获取全局采样比例
+     *
+     * @return 全局采样比例
+     */
+    public double getRatio() {
+        return properties.getRatio();
+    }
+
+    /**
+     * 生成采样值
+     *
+     * @return [0, 1) 的采样值
+     */
+    public double nextSample() {
+        return ThreadLocalRandom.current().nextDouble();
+    }
+
+    /**
+     * 是否采样
+     *
+     * @param sample 采样值
+     * @param ratio  采样比例（< 0 时使用全局采样比例）
+     * @return true：记录日志
+     */
+    public boolean isSampled(double sample, double ratio) {
+        return !this.isEnabled() || sample < this.getEffectiveRatio(ratio);
+    }
+
+    /**
+     * 获取有效采样比例
+     *
+     * @param ratio 采样比例（< 0 时使用全局采样比例）
+     * @return 有效采样比例
+     */
+    public double getEffectiveRatio(double ratio) {
+        double baseRatio = ratio < 0 ? properties.getRatio() : ratio;
+        LogSamplingProperties.Adaptive adaptive = properties.getAdaptive();
+        if (!adaptive.isEnabled()) {
+            return baseRatio;
+        }
+        this.adjustIfNecessary(adaptive);
+        return Math.max(baseRatio * adaptiveFactor, Math.min(baseRatio, adaptive.getMinRatio()));
+    }
+
+    /**
+     * 尝试获取接口记录配额（每个接口每秒最多记录 maxPerSecond 条）
+     *
+     * @param endpoint 接口标识（如：处理方法及所属 Bean 类型的 {@link org.springframework.core.MethodClassKey}）
+     * @return true：获取成功
+     */
+    public boolean tryAcquire(Object endpoint) {
+        int maxPerSecond = properties.getMaxPerSecond();
+        if (!this.isEnabled() || maxPerSecond <= 0) {
+            return true;
+        }
+        long second = System.nanoTime() / 1_000_000_000L;
+        RateWindow window = rateWindows.computeIfAbsent(endpoint, key -> new RateWindow());
+        if (window.second != second) {
+            synchronized (window) {
+                if (window.second != second) {
+                    window.count.set(0);
+                    window.second = second;
+                }
+            }
+        }
+        return window.count.incrementAndGet() <= maxPerSecond;
+    }
+
+    /**
+     * 记录请求耗时（用于自适应采样）
+     *
+     * @param timeTaken 请求耗时
+     */
+    public void recordLatency(Duration timeTaken) {
+        if (!this.isEnabled() || !properties.getAdaptive().isEnabled()) {
+            return;
+        }
+        double average = latencyAverageNanos;
+        latencyAverageNanos = 0 == average
+            ? timeTaken.toNanos()
+            : average + LATENCY_ALPHA * (timeTaken.toNanos() - average);
+    }
+
+    /**
+     * 获取自适应系数
+     *
+     * @return 自适应系数
+     */
+    public double getAdaptiveFactor() {
+        return adaptiveFactor;
+    }
+
+    private void adjustIfNecessary(LogSamplingProperties.Adaptive adaptive) {
+        long now = System.nanoTime();
+        long last = lastAdjustNanos.get();
+        if (now - last < adaptive.getAdjustInterval().toNanos() || !lastAdjustNanos.compareAndSet(last, now)) {
+            return;
+        }
+        boolean overloaded = (null != queueUtilization && queueUtilization.getAsDouble() >= adaptive
+            .getQueueThreshold()) || latencyAverageNanos >= adaptive.getLatencyThreshold().toNanos();
+        adaptiveFactor = overloaded ? adaptiveFactor / 2 : Math.min(1.0, adaptiveFactor + 0.1);
+    }
+
+    /**
+     * 每秒计数窗口
+     */
+    private static final class RateWindow {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private volatile long second = -1;
+    }
+}
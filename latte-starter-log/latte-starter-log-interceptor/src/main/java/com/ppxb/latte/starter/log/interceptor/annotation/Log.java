@@ -68,6 +68,14 @@ public @interface Log {
      */
     Include[] excludes() default {};
 
+    /**
+     * 采样比例（0~1，用于接口方法或类上，方法上的配置优先；小于 0 表示使用全局采样比例）
+     * <p>
+     * 仅在启用日志采样时生效，错误请求始终记录
+     * </p>
+     */
+    double sampleRatio() default -1;
+
     /**
      * 是否忽略日志记录（用于接口方法或类上）
      */
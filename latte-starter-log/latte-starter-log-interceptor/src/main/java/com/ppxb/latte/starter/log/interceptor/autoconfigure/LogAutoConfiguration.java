@@ -26,15 +26,24 @@
 
 package com.ppxb.latte.starter.log.interceptor.autoconfigure;
 
+import com.ppxb.latte.starter.core.constant.PropertiesConstants;
 import com.ppxb.latte.starter.log.core.dao.LogDao;
-import com.ppxb.latte.starter.log.core.dao.impl.LogDaoDefaultImpl;
+import com.ppxb.latte.starter.log.core.metrics.EndpointMetricsBinder;
+import com.ppxb.latte.starter.log.core.metrics.EndpointMetricsEndpoint;
+import com.ppxb.latte.starter.log.core.metrics.EndpointMetricsRegistry;
+import com.ppxb.latte.starter.log.core.sampling.LogSampler;
 import com.ppxb.latte.starter.log.interceptor.annotation.ConditionalOnEnabledLog;
 import com.ppxb.latte.starter.log.interceptor.handler.LogFilter;
 import com.ppxb.latte.starter.log.interceptor.handler.LogInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -58,29 +67,79 @@ public class LogAutoConfiguration implements WebMvcConfigurer {
 
     private final LogProperties logProperties;
 
-    public LogAutoConfiguration(LogProperties logProperties) {
+    private final ObjectProvider<LogDao> logDao;
+
+    private final ObjectProvider<LogSampler> logSampler;
+
+    private final ObjectProvider<EndpointMetricsRegistry> endpointMetricsRegistry;
+
+    public LogAutoConfiguration(LogProperties logProperties,
+                                ObjectProvider<LogDao> logDao,
+                                ObjectProvider<LogSampler> logSampler,
+                                ObjectProvider<EndpointMetricsRegistry> endpointMetricsRegistry) {
         this.logProperties = logProperties;
+        this.logDao = logDao;
+        this.logSampler = logSampler;
+        this.endpointMetricsRegistry = endpointMetricsRegistry;
     }
 
+    /**
+     * 日志拦截器（启用异步日志时，日志持久层为异步日志持久层，见 LogDaoAutoConfiguration）
+     */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new LogInterceptor(logDao(), logProperties));
+        registry.addInterceptor(new LogInterceptor(logDao.getObject(), logProperties, logSampler
+            .getObject(), endpointMetricsRegistry.getIfAvailable()));
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public LogFilter logFilter() {
-        return new LogFilter(logProperties);
+    public LogFilter logFilter(LogSampler logSampler) {
+        return new LogFilter(logProperties, logSampler);
     }
 
+    /**
+     * 接口指标注册表
+     */
     @Bean
     @ConditionalOnMissingBean
-    public LogDao logDao() {
-        return new LogDaoDefaultImpl();
+    @ConditionalOnProperty(prefix = PropertiesConstants.LOG, name = "metrics.enabled", havingValue = "true")
+    public EndpointMetricsRegistry endpointMetricsRegistry() {
+        return new EndpointMetricsRegistry(logProperties.getMetrics());
     }
 
     @PostConstruct
     public void postConstruct() {
         log.debug("[Latte Starter] - Auto Configuration 'Log-interceptor' completed initialization.");
     }
+
+    /**
+     * 接口指标配置
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = PropertiesConstants.LOG, name = "metrics.enabled", havingValue = "true")
+    static class EndpointMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public EndpointMetricsBinder endpointMetricsBinder(EndpointMetricsRegistry endpointMetricsRegistry) {
+            return new EndpointMetricsBinder(endpointMetricsRegistry);
+        }
+    }
+
+    /**
+     * 接口指标端点配置
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Endpoint.class)
+    @ConditionalOnProperty(prefix = PropertiesConstants.LOG, name = "metrics.enabled", havingValue = "true")
+    static class EndpointMetricsEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public EndpointMetricsEndpoint endpointMetricsEndpoint(EndpointMetricsRegistry endpointMetricsRegistry) {
+            return new EndpointMetricsEndpoint(endpointMetricsRegistry);
+        }
+    }
 }
@@ -27,9 +27,14 @@
 package com.ppxb.latte.starter.log.interceptor.autoconfigure;
 
 import com.ppxb.latte.starter.core.constant.PropertiesConstants;
+import com.ppxb.latte.starter.log.core.autoconfigure.EndpointMetricsProperties;
 import com.ppxb.latte.starter.log.core.enums.Include;
 import com.ppxb.latte.starter.web.util.SpringWebUtils;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -46,6 +51,17 @@ public class LogProperties {
 
     private List<String> excludePatterns = new ArrayList<>();
 
+    /**
+     * 接口指标配置
+     */
+    @NestedConfigurationProperty
+    private EndpointMetricsProperties metrics = new EndpointMetricsProperties();
+
+    /**
+     * 请求体/响应体记录配置
+     */
+    private BodyProperties body = new BodyProperties();
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -78,7 +94,76 @@ public class LogProperties {
         this.excludePatterns = excludePatterns;
     }
 
+
+    public EndpointMetricsProperties getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(EndpointMetricsProperties metrics) {
+        this.metrics = metrics;
+    }
+
+    public BodyProperties getBody() {
+        return body;
+    }
+
+    public void setBody(BodyProperties body) {
+        this.body = body;
+    }
+
     public boolean isMatch(String uri) {
         return this.getExcludePatterns().stream().anyMatch(pattern -> SpringWebUtils.isMatch(uri, pattern));
     }
+
+    /**
+     * 请求体/响应体记录配置
+     */
+    public static class BodyProperties {
+
+        /**
+         * 最多记录的字节数（超出部分不记录，响应内容照常写出）
+         */
+        private DataSize maxSize = DataSize.ofKilobytes(16);
+
+        /**
+         * 记录的内容类型（其他内容类型，如二进制、文件上传、流式响应等，直接透传，不缓存）
+         */
+        private List<MediaType> contentTypes = new ArrayList<>(List.of(MediaType.APPLICATION_JSON, MediaType
+            .valueOf("application/*+json"), MediaType.APPLICATION_XML, MediaType
+                .valueOf("application/*+xml"), MediaType.APPLICATION_FORM_URLENCODED, MediaType.TEXT_PLAIN, MediaType.TEXT_XML));
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public List<MediaType> getContentTypes() {
+            return contentTypes;
+        }
+
+        public void setContentTypes(List<MediaType> contentTypes) {
+            this.contentTypes = contentTypes;
+        }
+
+        /**
+         * 是否记录该内容类型
+         *
+         * @param contentType 内容类型（为空时视为可记录）
+         * @return true：记录；false：透传
+         */
+        public boolean isCapturable(String contentType) {
+            if (null == contentType) {
+                return true;
+            }
+            try {
+                MediaType mediaType = MediaType.parseMediaType(contentType);
+                return contentTypes.stream().anyMatch(type -> type.includes(mediaType));
+            } catch (InvalidMediaTypeException e) {
+                return false;
+            }
+        }
+    }
 }
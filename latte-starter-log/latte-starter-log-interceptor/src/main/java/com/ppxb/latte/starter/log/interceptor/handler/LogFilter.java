@@ -27,6 +27,11 @@
 package com.ppxb.latte.starter.log.interceptor.handler;
 
 import cn.hutool.extra.spring.SpringUtil;
+import com.ppxb.latte.starter.log.core.autoconfigure.LogSamplingProperties;
+import com.ppxb.latte.starter.log.core.http.servlet.BoundedContentCachingRequestWrapper;
+import com.ppxb.latte.starter.log.core.http.servlet.BoundedContentCachingResponseWrapper;
+import com.ppxb.latte.starter.log.core.sampling.LogSampler;
+import com.ppxb.latte.starter.log.interceptor.annotation.Log;
 import com.ppxb.latte.starter.log.interceptor.autoconfigure.LogProperties;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -35,7 +40,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.core.Ordered;
 import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 import org.springframework.web.util.ContentCachingResponseWrapper;
 import org.springframework.web.util.WebUtils;
@@ -43,14 +50,25 @@ import org.springframework.web.util.WebUtils;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.Objects;
 
 public class LogFilter extends OncePerRequestFilter implements Ordered {
 
     private final LogProperties logProperties;
 
+    private final LogSampler logSampler;
+
+    /**
+     * 接口最高采样比例（各接口 @Log(sampleRatio = ...) 的最大值，首次请求时解析，未配置时为 -1）
+     */
+    private volatile Double maxEndpointSampleRatio;
+
     public LogFilter(LogProperties logProperties) {
+        this(logProperties, new LogSampler(new LogSamplingProperties(), null));
+    }
+
+    public LogFilter(LogProperties logProperties, LogSampler logSampler) {
         this.logProperties = logProperties;
+        this.logSampler = logSampler;
     }
 
     @Override
@@ -62,30 +80,62 @@ public class LogFilter extends OncePerRequestFilter implements Ordered {
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
-        if (!this.shouldFilter(request)) {
+        if (!this.shouldFilter(request) || logProperties.isMatch(request.getRequestURI())) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        boolean isMatch = logProperties.isMatch(request.getRequestURI());
-        boolean isResponseWrapped = false;
-        try {
-            // 包装请求
-            if (!isMatch && !(request instanceof ContentCachingRequestWrapper)) {
-                request = new ContentCachingRequestWrapper(request);
-            }
-            // 包装响应
-            if (!isMatch && !(response instanceof ContentCachingResponseWrapper)) {
-                response = new ContentCachingResponseWrapper(response);
-                isResponseWrapped = true;
+        // 未被采样的请求不包装（错误请求仍会记录，但不包含请求体/响应体）
+        // 此时尚未确定处理方法，按全局及各接口采样比例中的最大值判断，避免接口配置的更高采样比例丢失请求体/响应体
+        if (logSampler.isEnabled()) {
+            double sample = logSampler.nextSample();
+            request.setAttribute(LogSampler.SAMPLE_ATTRIBUTE, sample);
+            double ratio = Math.max(logSampler.getRatio(), this.getMaxEndpointSampleRatio());
+            if (!logSampler.isSampled(sample, ratio)) {
+                filterChain.doFilter(request, response);
+                return;
             }
-            filterChain.doFilter(request, response);
-        } finally {
-            // 确保响应内容被正确写回
-            if (isResponseWrapped) {
-                updateResponse(response);
+        }
+
+        LogProperties.BodyProperties bodyProperties = logProperties.getBody();
+        int contentCacheLimit = (int)Math.min(bodyProperties.getMaxSize().toBytes(), Integer.MAX_VALUE);
+        // 包装请求（仅缓存前 N 个字节，文件上传等内容类型不包装）
+        if (!(request instanceof ContentCachingRequestWrapper) && bodyProperties.isCapturable(request
+            .getContentType())) {
+            request = new BoundedContentCachingRequestWrapper(request, contentCacheLimit);
+        }
+        // 包装响应（响应内容直接写出，仅额外缓存前 N 个字节）
+        if (null == WebUtils.getNativeResponse(response, BoundedContentCachingResponseWrapper.class) && null == WebUtils
+            .getNativeResponse(response, ContentCachingResponseWrapper.class)) {
+            response = new BoundedContentCachingResponseWrapper(response, contentCacheLimit, bodyProperties::isCapturable);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * 获取接口最高采样比例
+     *
+     * @return 各接口 @Log(sampleRatio = ...) 的最大值（未配置时为 -1）
+     */
+    private double getMaxEndpointSampleRatio() {
+        Double ratio = maxEndpointSampleRatio;
+        if (null == ratio) {
+            ratio = -1D;
+            for (RequestMappingHandlerMapping handlerMapping : SpringUtil.getBeansOfType(RequestMappingHandlerMapping.class)
+                .values()) {
+                for (HandlerMethod handlerMethod : handlerMapping.getHandlerMethods().values()) {
+                    // 与拦截器一致：方法上的配置优先
+                    Log methodLog = handlerMethod.getMethodAnnotation(Log.class);
+                    Log classLog = handlerMethod.getBeanType().getDeclaredAnnotation(Log.class);
+                    double sampleRatio = null != methodLog && methodLog.sampleRatio() >= 0
+                        ? methodLog.sampleRatio()
+                        : null != classLog ? classLog.sampleRatio() : -1;
+                    ratio = Math.max(ratio, sampleRatio);
+                }
             }
+            maxEndpointSampleRatio = ratio;
         }
+        return ratio;
     }
 
     private boolean shouldFilter(HttpServletRequest request) {
@@ -104,10 +154,4 @@ public class LogFilter extends OncePerRequestFilter implements Ordered {
             return false;
         }
     }
-
-    private void updateResponse(HttpServletResponse response) throws IOException {
-        ContentCachingResponseWrapper wrapper = WebUtils
-            .getNativeResponse(response, ContentCachingResponseWrapper.class);
-        Objects.requireNonNull(wrapper).copyBodyToResponse();
-    }
 }
@@ -27,56 +27,94 @@
 package com.ppxb.latte.starter.log.interceptor.handler;
 
 import cn.hutool.core.text.CharSequenceUtil;
-import com.alibaba.ttl.TransmittableThreadLocal;
+import com.ppxb.latte.starter.log.core.autoconfigure.LogSamplingProperties;
 import com.ppxb.latte.starter.log.core.dao.LogDao;
 import com.ppxb.latte.starter.log.core.enums.Include;
 import com.ppxb.latte.starter.log.core.http.recordable.impl.RecordableServletHttpRequest;
 import com.ppxb.latte.starter.log.core.http.recordable.impl.RecordableServletHttpResponse;
+import com.ppxb.latte.starter.log.core.metadata.LogMetadata;
+import com.ppxb.latte.starter.log.core.metadata.LogMetadataCache;
+import com.ppxb.latte.starter.log.core.metrics.EndpointMetricsRegistry;
 import com.ppxb.latte.starter.log.core.model.LogRecord;
+import com.ppxb.latte.starter.log.core.sampling.LogSampler;
 import com.ppxb.latte.starter.log.interceptor.annotation.Log;
 import com.ppxb.latte.starter.log.interceptor.autoconfigure.LogProperties;
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodClassKey;
 import org.springframework.lang.NonNull;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public class LogInterceptor implements HandlerInterceptor {
 
     private static final Logger log = LoggerFactory.getLogger(LogInterceptor.class);
 
+    /**
+     * 请求开始时间（System.nanoTime）的请求属性名
+     */
+    private static final String START_NANOS_ATTRIBUTE = LogInterceptor.class.getName() + ".START_NANOS";
+
+    /**
+     * 已开始的日志记录的请求属性名
+     */
+    private static final String STARTED_LOG_RECORD_ATTRIBUTE = LogInterceptor.class.getName() + ".STARTED_LOG_RECORD";
+
     private final LogDao logDao;
 
     private final LogProperties logProperties;
 
     /**
-     * 用于存储请求开始时间的ThreadLocal
+     * 日志元数据缓存
      */
-    private final TransmittableThreadLocal<Instant> timeTtl = new TransmittableThreadLocal<>();
+    private final LogMetadataCache metadataCache = new LogMetadataCache();
+
+    private final LogSampler logSampler;
 
     /**
-     * 用于存储日志记录的ThreadLocal
+     * 接口指标注册表（未启用接口指标时为 null）
      */
-    private final TransmittableThreadLocal<LogRecord.Started> logTtl = new TransmittableThreadLocal<>();
+    private final EndpointMetricsRegistry endpointMetricsRegistry;
 
     public LogInterceptor(LogDao logDao, LogProperties logProperties) {
+        this(logDao, logProperties, new LogSampler(new LogSamplingProperties(), null));
+    }
+
+    public LogInterceptor(LogDao logDao, LogProperties logProperties, LogSampler logSampler) {
+        this(logDao, logProperties, logSampler, null);
+    }
+
+    public LogInterceptor(LogDao logDao,
+                          LogProperties logProperties,
+                          LogSampler logSampler,
+                          EndpointMetricsRegistry endpointMetricsRegistry) {
         this.logDao = logDao;
         this.logProperties = logProperties;
+        this.logSampler = logSampler;
+        this.endpointMetricsRegistry = endpointMetricsRegistry;
     }
 
     /**
      * 请求预处理，在Controller处理之前执行
      *
+     * <p>
+     * 异步请求（DeferredResult、Callable、SseEmitter 等）的异步分派会再次调用该方法，而 afterCompletion 仅调用一次，
+     * 因此仅在首次分派（{@link DispatcherType#REQUEST}）时开始计时、统计及记录；
+     * 开始时间与日志记录保存在请求属性中，异步分派线程中同样可见
+     * </p>
+     *
      * @param request  当前HTTP请求
      * @param response 当前HTTP响应
      * @param handler  选择的处理器
@@ -86,15 +124,33 @@ public class LogInterceptor implements HandlerInterceptor {
     public boolean preHandle(@NonNull HttpServletRequest request,
                              @NonNull HttpServletResponse response,
                              @NonNull Object handler) {
-        Instant startTime = Instant.now();
+        if (DispatcherType.REQUEST != request.getDispatcherType()) {
+            return true;
+        }
+        request.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
         if (Boolean.TRUE.equals(logProperties.getIsPrint())) {
             log.info("[{}] {}", request.getMethod(), request.getRequestURI());
-            timeTtl.set(startTime);
+        }
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        if (null != endpointMetricsRegistry) {
+            endpointMetricsRegistry.get(handlerMethod.getMethod(), handlerMethod.getBeanType()).requestStarted();
         }
 
-        if (this.isRequestRecord(handler, request)) {
-            LogRecord.Started startedLogRecord = LogRecord.start(startTime, new RecordableServletHttpRequest(request));
-            logTtl.set(startedLogRecord);
+        // 如果接口匹配排除列表，不记录日志
+        if (logProperties.isMatch(request.getRequestURI())) {
+            return true;
+        }
+        LogMetadata logMetadata = this.getLogMetadata(handlerMethod);
+        if (logMetadata.isRecordable()) {
+            LogRecord.Started startedLogRecord = LogRecord.start(Instant.now(), new RecordableServletHttpRequest(
+                request));
+            request.setAttribute(STARTED_LOG_RECORD_ATTRIBUTE, startedLogRecord);
+            // 未被采样的请求仅在出错时记录
+            if (!this.isSampled(handlerMethod, logMetadata, request)) {
+                request.setAttribute(LogSampler.SAMPLED_OUT_ATTRIBUTE, Boolean.TRUE);
+            }
         }
         return true;
     }
@@ -112,42 +168,80 @@ public class LogInterceptor implements HandlerInterceptor {
                                 @NonNull HttpServletResponse response,
                                 @NonNull Object handler,
                                 Exception ex) {
+        // 同一请求仅结束一次（错误分派等后续分派不再重复统计）
+        if (!(request.getAttribute(START_NANOS_ATTRIBUTE) instanceof Long startNanos)) {
+            return;
+        }
+        request.removeAttribute(START_NANOS_ATTRIBUTE);
+        LogRecord.Started startedLogRecord = (LogRecord.Started)request.getAttribute(STARTED_LOG_RECORD_ATTRIBUTE);
+        request.removeAttribute(STARTED_LOG_RECORD_ATTRIBUTE);
         try {
-            Instant endTime = Instant.now();
+            long timeTaken = System.nanoTime() - startNanos;
             if (Boolean.TRUE.equals(logProperties.getIsPrint())) {
-                Duration timeTaken = Duration.between(timeTtl.get(), endTime);
                 log.info("[{}] {} {} {}ms", request.getMethod(), request.getRequestURI(), response
-                    .getStatus(), timeTaken.toMillis());
+                    .getStatus(), TimeUnit.NANOSECONDS.toMillis(timeTaken));
+            }
+            if (null != endpointMetricsRegistry && handler instanceof HandlerMethod handlerMethod) {
+                // 异常未被处理时，响应状态码尚未设置，按 500 统计
+                int status = null != ex && response.getStatus() < 400 ? 500 : response.getStatus();
+                endpointMetricsRegistry.get(handlerMethod.getMethod(), handlerMethod.getBeanType())
+                    .requestFinished(timeTaken, status);
             }
-            LogRecord.Started startedLogRecord = logTtl.get();
             if (null == startedLogRecord) {
                 return;
             }
-            HandlerMethod handlerMethod = (HandlerMethod)handler;
-            Log methodLog = handlerMethod.getMethodAnnotation(Log.class);
-            Log classLog = handlerMethod.getBeanType().getDeclaredAnnotation(Log.class);
-            Set<Include> includeSet = this.getIncludes(methodLog, classLog);
-            LogRecord finishedLogRecord = startedLogRecord
-                .finish(endTime, new RecordableServletHttpResponse(response, response.getStatus()), includeSet);
-            // 记录日志描述
-            if (includeSet.contains(Include.DESCRIPTION)) {
-                this.logDescription(finishedLogRecord, methodLog, handlerMethod);
-            }
-            // 记录所属模块
-            if (includeSet.contains(Include.MODULE)) {
-                this.logModule(finishedLogRecord, methodLog, classLog, handlerMethod);
+            logSampler.recordLatency(Duration.ofNanos(timeTaken));
+            if (Boolean.TRUE.equals(request.getAttribute(LogSampler.SAMPLED_OUT_ATTRIBUTE)) && null == ex && response
+                .getStatus() < 400) {
+                return;
             }
+            // 日志包含信息、日志描述、所属模块均取自缓存的日志元数据
+            LogMetadata logMetadata = this.getLogMetadata((HandlerMethod)handler);
+            Instant endTime = startedLogRecord.getTimestamp().plusNanos(timeTaken);
+            LogRecord finishedLogRecord = startedLogRecord.finish(endTime, new RecordableServletHttpResponse(response,
+                response.getStatus()), logMetadata.getIncludes());
+            finishedLogRecord.setDescription(logMetadata.getDescription());
+            finishedLogRecord.setModule(logMetadata.getModule());
             logDao.add(finishedLogRecord);
         } catch (Exception e) {
-            log.error("Logging http log occurred an error: {}.", ex.getMessage(), ex);
-        } finally {
-            timeTtl.remove();
-            logTtl.remove();
+            log.error("Logging http log occurred an error: {}.", e.getMessage(), e);
         }
     }
 
-    private Set<Include> getIncludes(Log methodLog, Log classLog) {
-        Set<Include> includeSet = new HashSet<>(logProperties.getIncludes());
+    /**
+     * 获取处理方法的日志元数据（按处理方法缓存，配置刷新后重新解析）
+     *
+     * @param handlerMethod 处理方法
+     * @return 日志元数据
+     */
+    private LogMetadata getLogMetadata(HandlerMethod handlerMethod) {
+        Set<Include> includes = logProperties.getIncludes();
+        MethodClassKey key = new MethodClassKey(handlerMethod.getMethod(), handlerMethod.getBeanType());
+        return metadataCache.get(key, includes, () -> this.resolveLogMetadata(handlerMethod, includes));
+    }
+
+    private LogMetadata resolveLogMetadata(HandlerMethod handlerMethod, Set<Include> includes) {
+        if (!this.isRecordable(handlerMethod)) {
+            return LogMetadata.notRecordable();
+        }
+        Log methodLog = handlerMethod.getMethodAnnotation(Log.class);
+        Log classLog = handlerMethod.getBeanType().getDeclaredAnnotation(Log.class);
+        Set<Include> includeSet = this.getIncludes(includes, methodLog, classLog);
+        String description = includeSet.contains(Include.DESCRIPTION)
+            ? this.getDescription(methodLog, handlerMethod)
+            : null;
+        String module = includeSet.contains(Include.MODULE)
+            ? this.getModule(methodLog, classLog, handlerMethod)
+            : null;
+        double sampleRatio = null != methodLog && methodLog.sampleRatio() >= 0
+            ? methodLog.sampleRatio()
+            : null != classLog ? classLog.sampleRatio() : -1;
+        return new LogMetadata(true, includeSet, description, module, sampleRatio);
+    }
+
+    private Set<Include> getIncludes(Set<Include> includes, Log methodLog, Log classLog) {
+        Set<Include> includeSet = EnumSet.noneOf(Include.class);
+        includeSet.addAll(includes);
         if (null != classLog) {
             this.processInclude(includeSet, classLog);
         }
@@ -168,45 +262,47 @@ public class LogInterceptor implements HandlerInterceptor {
         }
     }
 
-    private void logDescription(LogRecord logRecord, Log methodLog, HandlerMethod handlerMethod) {
+    private String getDescription(Log methodLog, HandlerMethod handlerMethod) {
         // 例如：@Log("新增部门") -> 新增部门
         if (null != methodLog && CharSequenceUtil.isNotBlank(methodLog.value())) {
-            logRecord.setDescription(methodLog.value());
-            return;
+            return methodLog.value();
         }
         // 例如：@Operation(summary="新增部门") -> 新增部门
         Operation methodOperation = handlerMethod.getMethodAnnotation(Operation.class);
         if (null != methodOperation) {
-            logRecord.setDescription(CharSequenceUtil.blankToDefault(methodOperation.summary(), "请在该接口方法上指定日志描述"));
+            return CharSequenceUtil.blankToDefault(methodOperation.summary(), "请在该接口方法上指定日志描述");
         }
+        return null;
     }
 
-    private void logModule(LogRecord logRecord, Log methodLog, Log classLog, HandlerMethod handlerMethod) {
+    private String getModule(Log methodLog, Log classLog, HandlerMethod handlerMethod) {
         // 例如：@Log(module = "部门管理") -> 部门管理
         if (null != methodLog && CharSequenceUtil.isNotBlank(methodLog.module())) {
-            logRecord.setModule(methodLog.module());
-            return;
+            return methodLog.module();
         }
         if (null != classLog && CharSequenceUtil.isNotBlank(classLog.module())) {
-            logRecord.setModule(classLog.module());
-            return;
+            return classLog.module();
         }
         // 例如：@Tag(name = "部门管理") -> 部门管理
         Tag classTag = handlerMethod.getBeanType().getDeclaredAnnotation(Tag.class);
         if (null != classTag) {
-            String name = classTag.name();
-            logRecord.setModule(CharSequenceUtil.blankToDefault(name, "请在该接口类上指定所属模块"));
+            return CharSequenceUtil.blankToDefault(classTag.name(), "请在该接口类上指定所属模块");
         }
+        return null;
     }
 
-    private boolean isRequestRecord(Object handler, HttpServletRequest request) {
-        if (!(handler instanceof HandlerMethod handlerMethod)) {
-            return false;
-        }
-        // 如果接口匹配排除列表，不记录日志
-        if (logProperties.isMatch(request.getRequestURI())) {
-            return false;
+    private boolean isSampled(HandlerMethod handlerMethod, LogMetadata logMetadata, HttpServletRequest request) {
+        if (!logSampler.isEnabled()) {
+            return true;
         }
+        // 与过滤器使用同一采样值，保证判断一致
+        Object sample = request.getAttribute(LogSampler.SAMPLE_ATTRIBUTE);
+        double sampleValue = sample instanceof Double value ? value : logSampler.nextSample();
+        return logSampler.isSampled(sampleValue, logMetadata.getSampleRatio()) && logSampler
+            .tryAcquire(new MethodClassKey(handlerMethod.getMethod(), handlerMethod.getBeanType()));
+    }
+
+    private boolean isRecordable(HandlerMethod handlerMethod) {
         // 如果接口被隐藏，不记录日志
         Operation methodOperation = handlerMethod.getMethodAnnotation(Operation.class);
         if (null != methodOperation && methodOperation.hidden()) {
@@ -40,6 +40,11 @@ public class CryptoProperties {
 
     private String privateKey;
 
+    /**
+     * 并行解密配置
+     */
+    private ParallelDecryptProperties parallelDecrypt = new ParallelDecryptProperties();
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -71,4 +76,70 @@ public class CryptoProperties {
     public void setPrivateKey(String privateKey) {
         this.privateKey = privateKey;
     }
+
+    public ParallelDecryptProperties getParallelDecrypt() {
+        return parallelDecrypt;
+    }
+
+    public void setParallelDecrypt(ParallelDecryptProperties parallelDecrypt) {
+        this.parallelDecrypt = parallelDecrypt;
+    }
+
+    /**
+     * 并行解密配置
+     */
+    public static class ParallelDecryptProperties {
+
+        /**
+         * 是否启用（结果集行数达到阈值时拆分为多个分块并行解密）
+         */
+        private boolean enabled = false;
+
+        /**
+         * 启用并行解密的最小行数
+         */
+        private int threshold = 1000;
+
+        /**
+         * 每个分块的行数
+         */
+        private int chunkSize = 200;
+
+        /**
+         * 并行度（默认为 CPU 核数）
+         */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(int threshold) {
+            this.threshold = threshold;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+    }
 }
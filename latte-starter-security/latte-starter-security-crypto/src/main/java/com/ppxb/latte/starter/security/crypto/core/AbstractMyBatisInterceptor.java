@@ -27,16 +27,23 @@
 package com.ppxb.latte.starter.security.crypto.core;
 
 import cn.hutool.core.text.CharSequenceUtil;
+import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.ReflectUtil;
 import cn.hutool.extra.spring.SpringUtil;
 import com.ppxb.latte.starter.core.constant.StringConstants;
 import com.ppxb.latte.starter.core.exception.BaseException;
 import com.ppxb.latte.starter.security.crypto.annotation.FieldEncrypt;
+import com.ppxb.latte.starter.security.crypto.autoconfigure.CryptoProperties;
 import com.ppxb.latte.starter.security.crypto.encryptor.IEncryptor;
 import com.ppxb.latte.starter.security.crypto.enums.Algorithm;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
@@ -44,12 +51,38 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
+/**
+ * MyBatis 加/解密拦截器基类
+ *
+ * <p>
+ * 加密字段按类解析为 {@link CryptoField} 并缓存，加密器实例、密码及密钥在解析时一次性确定，
+ * 字段读写通过 {@link MethodHandle} 完成，处理结果集时无需再逐行反射。
+ * </p>
+ */
 public abstract class AbstractMyBatisInterceptor {
 
+    private static final Logger log = LoggerFactory.getLogger(AbstractMyBatisInterceptor.class);
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
     private static final Map<Class<?>, List<Field>> CLASS_FIELD_CACHE = new ConcurrentHashMap<>();
 
     private static final Map<String, Map<String, FieldEncrypt>> ENCRYPT_PARAM_CACHE = new ConcurrentHashMap<>();
 
+    private static final Map<Class<? extends IEncryptor>, IEncryptor> ENCRYPTOR_CACHE = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, List<CryptoField>> cryptoFieldCache = new ConcurrentHashMap<>();
+
+    private final Map<FieldEncrypt, CryptoDescriptor> cryptoDescriptorCache = new ConcurrentHashMap<>();
+
+    protected final CryptoProperties properties;
+
+    protected AbstractMyBatisInterceptor(CryptoProperties properties) {
+        this.properties = properties;
+    }
+
     protected List<Field> getEncryptFields(Object obj) {
         return obj == null ? Collections.emptyList() : getEncryptFields(obj.getClass());
     }
@@ -61,11 +94,38 @@ public abstract class AbstractMyBatisInterceptor {
             .toList());
     }
 
+    /**
+     * 获取加密字段描述（按类缓存）
+     *
+     * @param clazz 类型
+     * @return 加密字段描述列表
+     */
+    protected List<CryptoField> getCryptoFields(Class<?> clazz) {
+        return cryptoFieldCache.computeIfAbsent(clazz, k -> getEncryptFields(clazz).stream()
+            .map(field -> new CryptoField(field, createGetter(field), createSetter(field), getCryptoDescriptor(field
+                .getAnnotation(FieldEncrypt.class))))
+            .toList());
+    }
+
+    /**
+     * 获取加/解密描述（按注解缓存）
+     *
+     * @param fieldEncrypt 字段加密注解
+     * @return 加/解密描述
+     */
+    protected CryptoDescriptor getCryptoDescriptor(FieldEncrypt fieldEncrypt) {
+        return cryptoDescriptorCache.computeIfAbsent(fieldEncrypt, k -> {
+            String password = ObjectUtil.defaultIfBlank(fieldEncrypt.password(), properties.getPassword());
+            return new CryptoDescriptor(getEncryptor(fieldEncrypt), password, properties.getPublicKey(), properties
+                .getPrivateKey());
+        });
+    }
+
     protected IEncryptor getEncryptor(FieldEncrypt fieldEncrypt) {
         Class<? extends IEncryptor> encryptorClass = fieldEncrypt.encryptor();
         if (encryptorClass == IEncryptor.class) {
             Algorithm algorithm = fieldEncrypt.value();
-            return ReflectUtil.newInstance(algorithm.getEncryptor());
+            return ENCRYPTOR_CACHE.computeIfAbsent(algorithm.getEncryptor(), ReflectUtil::newInstance);
         }
         return SpringUtil.getBean(encryptorClass);
     }
@@ -113,4 +173,68 @@ public abstract class AbstractMyBatisInterceptor {
         Param param = parameter.getAnnotation(Param.class);
         return null != param ? param.value() : parameter.getName();
     }
+
+    private static MethodHandle createGetter(Field field) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles
+                .lookup());
+            return lookup.unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.debug("Create getter for field [{}] failed, fallback to reflection.", field, e);
+            return null;
+        }
+    }
+
+    private static MethodHandle createSetter(Field field) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles
+                .lookup());
+            return lookup.unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.debug("Create setter for field [{}] failed, fallback to reflection.", field, e);
+            return null;
+        }
+    }
+
+    /**
+     * 加/解密描述
+     *
+     * @param encryptor  加密器
+     * @param password   密码（注解未指定时使用全局配置）
+     * @param publicKey  公钥
+     * @param privateKey 私钥
+     */
+    protected record CryptoDescriptor(IEncryptor encryptor, String password, String publicKey, String privateKey) {
+
+        public String encrypt(String plaintext) throws Exception {
+            return encryptor.encrypt(plaintext, password, publicKey);
+        }
+
+        public String decrypt(String ciphertext) throws Exception {
+            return encryptor.decrypt(ciphertext, password, privateKey);
+        }
+    }
+
+    /**
+     * 加密字段描述
+     *
+     * @param field      字段
+     * @param getter     字段读取句柄（为 null 时回退到反射）
+     * @param setter     字段写入句柄（为 null 时回退到反射）
+     * @param descriptor 加/解密描述
+     */
+    protected record CryptoField(Field field, MethodHandle getter, MethodHandle setter, CryptoDescriptor descriptor) {
+
+        public Object getValue(Object obj) throws Throwable {
+            return null != getter ? (Object)getter.invokeExact(obj) : ReflectUtil.getFieldValue(obj, field);
+        }
+
+        public void setValue(Object obj, Object value) throws Throwable {
+            if (null != setter) {
+                setter.invokeExact(obj, value);
+            } else {
+                ReflectUtil.setFieldValue(obj, field, value);
+            }
+        }
+    }
 }
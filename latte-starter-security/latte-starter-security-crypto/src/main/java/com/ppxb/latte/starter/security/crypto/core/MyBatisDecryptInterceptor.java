@@ -26,59 +26,221 @@
 
 package com.ppxb.latte.starter.security.crypto.core;
 
-import cn.hutool.core.util.ObjectUtil;
-import cn.hutool.core.util.ReflectUtil;
-import com.ppxb.latte.starter.security.crypto.annotation.FieldEncrypt;
+import com.ppxb.latte.starter.core.exception.BaseException;
 import com.ppxb.latte.starter.security.crypto.autoconfigure.CryptoProperties;
-import com.ppxb.latte.starter.security.crypto.encryptor.IEncryptor;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.plugin.Intercepts;
 import org.apache.ibatis.plugin.Invocation;
 import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.type.SimpleTypeRegistry;
+import org.springframework.beans.factory.DisposableBean;
 
-import java.lang.reflect.Field;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
 
-@Intercepts({@Signature(type = ResultSetHandler.class, method = "handleResultSets", args = {Statement.class})})
-public class MyBatisDecryptInterceptor extends AbstractMyBatisInterceptor implements Interceptor {
+/**
+ * MyBatis 解密拦截器
+ *
+ * <p>
+ * 开启并行解密后，行数达到阈值的结果集会按分块提交到有界 {@link ForkJoinPool} 中解密，
+ * 行顺序保持不变；若解密失败，抛出的异常与串行解密时首个失败行的异常一致。
+ * </p>
+ *
+ * <p>
+ * 查询指定了 {@link ResultHandler}（如：流式查询）时，结果逐行交给 ResultHandler，不会出现在返回的结果列表中，
+ * 因此同时拦截 {@link Executor#query}，将 ResultHandler 包装为逐行解密后再交给原 ResultHandler。
+ * </p>
+ */
+@Intercepts({@Signature(type = ResultSetHandler.class, method = "handleResultSets", args = {Statement.class}),
+    @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class,
+        ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class,
+        ResultHandler.class, CacheKey.class, BoundSql.class})})
+public class MyBatisDecryptInterceptor extends AbstractMyBatisInterceptor implements Interceptor, DisposableBean {
 
-    private CryptoProperties properties;
+    private volatile ForkJoinPool decryptPool;
 
     public MyBatisDecryptInterceptor() {
+        this(new CryptoProperties());
     }
 
     public MyBatisDecryptInterceptor(CryptoProperties properties) {
-        this.properties = properties;
+        super(properties);
     }
 
     @Override
     public Object intercept(Invocation invocation) throws Throwable {
+        if (invocation.getTarget() instanceof Executor) {
+            Object[] args = invocation.getArgs();
+            if (args[3] instanceof ResultHandler<?> resultHandler && !(resultHandler instanceof DecryptResultHandler)) {
+                args[3] = new DecryptResultHandler(resultHandler);
+            }
+            return invocation.proceed();
+        }
         Object obj = invocation.proceed();
         if (null == obj || !(invocation.getTarget() instanceof ResultSetHandler)) {
             return obj;
         }
         List<?> resultList = (List<?>)obj;
-        for (Object result : resultList) {
-            // String、Integer、Long 等简单类型对象无需处理
-            if (SimpleTypeRegistry.isSimpleType(result.getClass())) {
+        if (this.isParallel(resultList)) {
+            this.decryptInParallel(resultList);
+        } else {
+            for (Object result : resultList) {
+                this.decrypt(result);
+            }
+        }
+        return resultList;
+    }
+
+    @Override
+    public void destroy() {
+        if (null != decryptPool) {
+            decryptPool.shutdown();
+        }
+    }
+
+    /**
+     * 解密单行结果
+     *
+     * @param result 结果对象
+     * @throws Throwable 解密失败
+     */
+    private void decrypt(Object result) throws Throwable {
+        // String、Integer、Long 等简单类型对象无需处理
+        if (SimpleTypeRegistry.isSimpleType(result.getClass())) {
+            return;
+        }
+        List<CryptoField> cryptoFieldList = super.getCryptoFields(result.getClass());
+        for (CryptoField cryptoField : cryptoFieldList) {
+            Object fieldValue = cryptoField.getValue(result);
+            if (null == fieldValue) {
                 continue;
             }
-            List<Field> fieldList = super.getEncryptFields(result);
-            for (Field field : fieldList) {
-                IEncryptor encryptor = super.getEncryptor(field.getAnnotation(FieldEncrypt.class));
-                Object fieldValue = ReflectUtil.getFieldValue(result, field);
-                if (null == fieldValue) {
-                    continue;
+            cryptoField.setValue(result, cryptoField.descriptor().decrypt(fieldValue.toString()));
+        }
+    }
+
+    /**
+     * 是否并行解密
+     *
+     * @param resultList 结果列表
+     * @return 是否并行解密
+     */
+    private boolean isParallel(List<?> resultList) {
+        CryptoProperties.ParallelDecryptProperties parallelDecrypt = properties.getParallelDecrypt();
+        if (!parallelDecrypt.isEnabled() || resultList.size() < Math.max(parallelDecrypt.getThreshold(), 2)) {
+            return false;
+        }
+        // 结果集通常为同一类型，首行无加密字段时无需并行
+        Object first = resultList.get(0);
+        return null != first && !SimpleTypeRegistry.isSimpleType(first.getClass()) && !super
+            .getCryptoFields(first.getClass())
+            .isEmpty();
+    }
+
+    /**
+     * 分块并行解密
+     *
+     * @param resultList 结果列表
+     * @throws Throwable 解密失败（首个失败分块中的异常）
+     */
+    private void decryptInParallel(List<?> resultList) throws Throwable {
+        ForkJoinPool pool = this.getDecryptPool();
+        int size = resultList.size();
+        int chunkSize = Math.max(properties.getParallelDecrypt().getChunkSize(), 1);
+        List<Future<?>> futureList = new ArrayList<>((size + chunkSize - 1) / chunkSize);
+        for (int i = 0; i < size; i += chunkSize) {
+            List<?> chunk = resultList.subList(i, Math.min(i + chunkSize, size));
+            futureList.add(pool.submit(() -> {
+                try {
+                    for (Object result : chunk) {
+                        this.decrypt(result);
+                    }
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new BaseException(e);
+                }
+                return null;
+            }));
+        }
+        // 等待全部分块完成后再返回，保证结果不会在返回后被修改
+        Throwable failure = null;
+        for (Future<?> future : futureList) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (null == failure) {
+                    failure = e.getCause();
                 }
-                String password = ObjectUtil.defaultIfBlank(field.getAnnotation(FieldEncrypt.class)
-                    .password(), properties.getPassword());
-                String ciphertext = encryptor.decrypt(fieldValue.toString(), password, properties.getPrivateKey());
-                ReflectUtil.setFieldValue(result, field, ciphertext);
+            } catch (InterruptedException e) {
+                futureList.forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                throw e;
             }
         }
-        return resultList;
+        if (null != failure) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 逐行解密的 ResultHandler
+     */
+    private class DecryptResultHandler implements ResultHandler<Object> {
+
+        private final ResultHandler<Object> delegate;
+
+        @SuppressWarnings("unchecked")
+        private DecryptResultHandler(ResultHandler<?> delegate) {
+            this.delegate = (ResultHandler<Object>)delegate;
+        }
+
+        @Override
+        public void handleResult(ResultContext<?> resultContext) {
+            Object result = resultContext.getResultObject();
+            if (null != result) {
+                try {
+                    decrypt(result);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new BaseException(e);
+                }
+            }
+            delegate.handleResult(resultContext);
+        }
+    }
+
+    private ForkJoinPool getDecryptPool() {
+        ForkJoinPool pool = decryptPool;
+        if (null == pool) {
+            synchronized (this) {
+                pool = decryptPool;
+                if (null == pool) {
+                    int parallelism = Math.max(properties.getParallelDecrypt().getParallelism(), 1);
+                    pool = new ForkJoinPool(parallelism, p -> {
+                        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                        thread.setName("latte-crypto-decrypt-" + thread.getPoolIndex());
+                        return thread;
+                    }, null, false);
+                    decryptPool = pool;
+                }
+            }
+        }
+        return pool;
     }
 }
@@ -28,8 +28,6 @@ package com.ppxb.latte.starter.security.crypto.core;
 
 import cn.hutool.core.text.CharSequenceUtil;
 import cn.hutool.core.util.ClassUtil;
-import cn.hutool.core.util.ObjectUtil;
-import cn.hutool.core.util.ReflectUtil;
 import com.baomidou.mybatisplus.core.conditions.AbstractWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
@@ -37,14 +35,12 @@ import com.ppxb.latte.starter.core.constant.StringConstants;
 import com.ppxb.latte.starter.core.exception.BaseException;
 import com.ppxb.latte.starter.security.crypto.annotation.FieldEncrypt;
 import com.ppxb.latte.starter.security.crypto.autoconfigure.CryptoProperties;
-import com.ppxb.latte.starter.security.crypto.encryptor.IEncryptor;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 
-import java.lang.reflect.Field;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -58,10 +54,8 @@ public class MyBatisEncryptInterceptor extends AbstractMyBatisInterceptor implem
     private static final Pattern PARAM_PAIRS_PATTERN = Pattern
         .compile("#\\{ew\\.paramNameValuePairs\\.(" + Constants.WRAPPER_PARAM + "\\d+)}");
 
-    private final CryptoProperties properties;
-
     public MyBatisEncryptInterceptor(CryptoProperties properties) {
-        this.properties = properties;
+        super(properties);
     }
 
     @Override
@@ -87,7 +81,7 @@ public class MyBatisEncryptInterceptor extends AbstractMyBatisInterceptor implem
         if (parameter instanceof Map parameterMap) {
             encryptMap(parameterMap, mappedStatement);
         } else {
-            encryptEntity(super.getEncryptFields(parameter), parameter);
+            encryptEntity(parameter);
         }
     }
 
@@ -95,7 +89,7 @@ public class MyBatisEncryptInterceptor extends AbstractMyBatisInterceptor implem
         Object parameter;
         // 别名带有 et（针对 MP 的 updateById、update 等方法）
         if (parameterMap.containsKey(Constants.ENTITY) && null != (parameter = parameterMap.get(Constants.ENTITY))) {
-            encryptEntity(super.getEncryptFields(parameter), parameter);
+            encryptEntity(parameter);
         }
         // 别名带有 ew（针对 MP 的 UpdateWrapper、LambdaUpdateWrapper 等参数）
         if (parameterMap.containsKey(Constants.WRAPPER) && null != (parameter = parameterMap.get(Constants.WRAPPER))) {
@@ -118,7 +112,7 @@ public class MyBatisEncryptInterceptor extends AbstractMyBatisInterceptor implem
                     parameterMap.put(parameterName, doEncrypt(str, fieldEncrypt));
                 }
             } else {
-                encryptEntity(super.getEncryptFields(parameterValue), parameterValue);
+                encryptEntity(parameterValue);
             }
         }
     }
@@ -138,10 +132,9 @@ public class MyBatisEncryptInterceptor extends AbstractMyBatisInterceptor implem
             });
             // 获取加密字段
             Class<?> entityClass = mappedStatement.getParameterMap().getType();
-            List<Field> encryptFieldList = super.getEncryptFields(entityClass);
-            for (Field field : encryptFieldList) {
-                FieldEncrypt fieldEncrypt = field.getAnnotation(FieldEncrypt.class);
-                String el = propMap.get(field.getName());
+            List<CryptoField> cryptoFieldList = super.getCryptoFields(entityClass);
+            for (CryptoField cryptoField : cryptoFieldList) {
+                String el = propMap.get(cryptoField.field().getName());
                 if (CharSequenceUtil.isBlank(el)) {
                     continue;
                 }
@@ -149,40 +142,38 @@ public class MyBatisEncryptInterceptor extends AbstractMyBatisInterceptor implem
                 if (matcher.matches()) {
                     String valueKey = matcher.group(1);
                     Object value = updateWrapper.getParamNameValuePairs().get(valueKey);
-                    Object ciphertext = this.doEncrypt(value, fieldEncrypt);
+                    Object ciphertext = this.doEncrypt(value, cryptoField.descriptor());
                     updateWrapper.getParamNameValuePairs().put(valueKey, ciphertext);
                 }
             }
         }
     }
 
-    private void encryptEntity(List<Field> fieldList, Object entity) {
-        for (Field field : fieldList) {
-            IEncryptor encryptor = super.getEncryptor(field.getAnnotation(FieldEncrypt.class));
-            Object fieldValue = ReflectUtil.getFieldValue(entity, field);
-            if (null == fieldValue) {
-                continue;
-            }
-            String password = ObjectUtil.defaultIfBlank(field.getAnnotation(FieldEncrypt.class).password(), properties
-                .getPassword());
-            String ciphertext;
+    private void encryptEntity(Object entity) {
+        List<CryptoField> cryptoFieldList = super.getCryptoFields(entity.getClass());
+        for (CryptoField cryptoField : cryptoFieldList) {
             try {
-                ciphertext = encryptor.encrypt(fieldValue.toString(), password, properties.getPublicKey());
-            } catch (Exception e) {
+                Object fieldValue = cryptoField.getValue(entity);
+                if (null == fieldValue) {
+                    continue;
+                }
+                cryptoField.setValue(entity, cryptoField.descriptor().encrypt(fieldValue.toString()));
+            } catch (Throwable e) {
                 throw new BaseException(e);
             }
-            ReflectUtil.setFieldValue(entity, field, ciphertext);
         }
     }
 
     private Object doEncrypt(Object parameter, FieldEncrypt fieldEncrypt) {
+        return doEncrypt(parameter, super.getCryptoDescriptor(fieldEncrypt));
+    }
+
+    private Object doEncrypt(Object parameter, CryptoDescriptor descriptor) {
         if (null == parameter) {
             return null;
         }
-        IEncryptor encryptor = super.getEncryptor(fieldEncrypt);
-        String password = ObjectUtil.defaultIfBlank(fieldEncrypt.password(), properties.getPassword());
         try {
-            return encryptor.encrypt(parameter.toString(), password, properties.getPublicKey());
+            return descriptor.encrypt(parameter.toString());
         } catch (Exception e) {
             throw new BaseException(e);
         }
@@ -27,17 +27,33 @@
 package com.ppxb.latte.starter.security.crypto.encryptor;
 
 import cn.hutool.core.text.CharSequenceUtil;
+import cn.hutool.core.util.RandomUtil;
+import cn.hutool.crypto.KeyUtil;
 import cn.hutool.crypto.symmetric.SymmetricAlgorithm;
 import cn.hutool.crypto.symmetric.SymmetricCrypto;
 import com.ppxb.latte.starter.core.constant.StringConstants;
 
+import javax.crypto.SecretKey;
+import javax.crypto.spec.PBEParameterSpec;
 import java.nio.charset.StandardCharsets;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * 对称加密器基类
+ *
+ * <p>
+ * 密钥材料按算法和密码全局缓存，{@link SymmetricCrypto}（内部持有 Cipher 并加锁）按线程缓存，避免多线程争用同一实例。
+ * </p>
+ */
 public abstract class AbstractSymmetricCryptoEncryptor implements IEncryptor {
 
-    private static final Map<String, SymmetricCrypto> CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, KeyMaterial> KEY_CACHE = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<Map<String, SymmetricCrypto>> CRYPTO_CACHE = ThreadLocal
+        .withInitial(HashMap::new);
 
     @Override
     public String encrypt(String plaintext, String password, String publicKey) {
@@ -58,13 +74,32 @@ public abstract class AbstractSymmetricCryptoEncryptor implements IEncryptor {
     protected SymmetricCrypto getCrypto(String password) {
         SymmetricAlgorithm algorithm = this.getAlgorithm();
         String key = algorithm + StringConstants.UNDERLINE + password;
-        if (CACHE.containsKey(key)) {
-            return CACHE.get(key);
-        }
-        SymmetricCrypto symmetricCrypto = new SymmetricCrypto(algorithm, password.getBytes(StandardCharsets.UTF_8));
-        CACHE.put(key, symmetricCrypto);
-        return symmetricCrypto;
+        return CRYPTO_CACHE.get().computeIfAbsent(key, k -> {
+            KeyMaterial keyMaterial = KEY_CACHE.computeIfAbsent(k, kk -> KeyMaterial.of(algorithm, password));
+            return new SymmetricCrypto(algorithm.getValue(), keyMaterial.secretKey(), keyMaterial.params());
+        });
     }
 
     protected abstract SymmetricAlgorithm getAlgorithm();
+
+    /**
+     * 密钥材料
+     *
+     * <p>
+     * PBE 算法的盐值在此生成一次并在各线程间共享，保证不同线程的 {@link SymmetricCrypto} 加解密结果一致。
+     * </p>
+     *
+     * @param secretKey 密钥
+     * @param params    算法参数
+     */
+    private record KeyMaterial(SecretKey secretKey, AlgorithmParameterSpec params) {
+
+        private static KeyMaterial of(SymmetricAlgorithm algorithm, String password) {
+            SecretKey secretKey = KeyUtil.generateKey(algorithm.getValue(), password.getBytes(StandardCharsets.UTF_8));
+            AlgorithmParameterSpec params = CharSequenceUtil.startWithIgnoreCase(algorithm.getValue(), "PBE")
+                ? new PBEParameterSpec(RandomUtil.randomBytes(8), 100)
+                : null;
+            return new KeyMaterial(secretKey, params);
+        }
+    }
 }
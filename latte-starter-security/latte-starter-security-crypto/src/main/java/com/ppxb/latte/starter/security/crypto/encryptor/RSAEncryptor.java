@@ -29,16 +29,52 @@ package com.ppxb.latte.starter.security.crypto.encryptor;
 import cn.hutool.core.codec.Base64;
 import cn.hutool.crypto.SecureUtil;
 import cn.hutool.crypto.asymmetric.KeyType;
+import cn.hutool.crypto.asymmetric.RSA;
 
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RSA 加密器
+ *
+ * <p>
+ * 解析后的公钥/私钥全局缓存，{@link RSA}（内部持有 Cipher 并加锁）按线程缓存，避免每次调用重新解析密钥。
+ * </p>
+ */
 public class RSAEncryptor implements IEncryptor {
 
+    private static final Map<String, PublicKey> PUBLIC_KEY_CACHE = new ConcurrentHashMap<>();
+
+    private static final Map<String, PrivateKey> PRIVATE_KEY_CACHE = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<Map<String, RSA>> ENCRYPT_RSA_CACHE = ThreadLocal.withInitial(HashMap::new);
+
+    private static final ThreadLocal<Map<String, RSA>> DECRYPT_RSA_CACHE = ThreadLocal.withInitial(HashMap::new);
+
     @Override
     public String encrypt(String plaintext, String password, String publicKey) throws Exception {
-        return Base64.encode(SecureUtil.rsa(null, publicKey).encrypt(plaintext, KeyType.PublicKey));
+        if (null == publicKey) {
+            return Base64.encode(SecureUtil.rsa(null, publicKey).encrypt(plaintext, KeyType.PublicKey));
+        }
+        RSA rsa = ENCRYPT_RSA_CACHE.get()
+            .computeIfAbsent(publicKey, k -> new RSA(null, PUBLIC_KEY_CACHE.computeIfAbsent(k, kk -> SecureUtil
+                .rsa(null, kk)
+                .getPublicKey())));
+        return Base64.encode(rsa.encrypt(plaintext, KeyType.PublicKey));
     }
 
     @Override
     public String decrypt(String ciphertext, String password, String privateKey) throws Exception {
-        return new String(SecureUtil.rsa(privateKey, null).decrypt(Base64.decode(ciphertext), KeyType.PrivateKey));
+        if (null == privateKey) {
+            return new String(SecureUtil.rsa(privateKey, null).decrypt(Base64.decode(ciphertext), KeyType.PrivateKey));
+        }
+        RSA rsa = DECRYPT_RSA_CACHE.get()
+            .computeIfAbsent(privateKey, k -> new RSA(PRIVATE_KEY_CACHE.computeIfAbsent(k, kk -> SecureUtil
+                .rsa(kk, null)
+                .getPrivateKey()), null));
+        return new String(rsa.decrypt(Base64.decode(ciphertext), KeyType.PrivateKey));
     }
 }
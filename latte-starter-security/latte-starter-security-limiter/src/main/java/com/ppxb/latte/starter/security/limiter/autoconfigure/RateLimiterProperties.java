@@ -29,11 +29,33 @@ package com.ppxb.latte.starter.security.limiter.autoconfigure;
 import com.ppxb.latte.starter.core.constant.PropertiesConstants;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(PropertiesConstants.SECURITY_LIMITER)
 public class RateLimiterProperties {
 
     private String keyPrefix = "RateLimiter";
 
+    /**
+     * 本地限流器缓存最大数量
+     */
+    private long cacheMaxSize = 10000;
+
+    /**
+     * 本地限流器缓存闲置过期时间
+     */
+    private Duration cacheExpireAfterAccess = Duration.ofMinutes(10);
+
+    /**
+     * 限流配置校验间隔（定期与 Redis 中的配置比对，以感知其他节点的修改）
+     */
+    private Duration configCheckInterval = Duration.ofMinutes(1);
+
+    /**
+     * 本地令牌桶配置
+     */
+    private LocalProperties local = new LocalProperties();
+
     public String getKeyPrefix() {
         return keyPrefix;
     }
@@ -41,4 +63,80 @@ public class RateLimiterProperties {
     public void setKeyPrefix(String keyPrefix) {
         this.keyPrefix = keyPrefix;
     }
+
+    public long getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    public void setCacheMaxSize(long cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    public Duration getCacheExpireAfterAccess() {
+        return cacheExpireAfterAccess;
+    }
+
+    public void setCacheExpireAfterAccess(Duration cacheExpireAfterAccess) {
+        this.cacheExpireAfterAccess = cacheExpireAfterAccess;
+    }
+
+    public Duration getConfigCheckInterval() {
+        return configCheckInterval;
+    }
+
+    public void setConfigCheckInterval(Duration configCheckInterval) {
+        this.configCheckInterval = configCheckInterval;
+    }
+
+    public LocalProperties getLocal() {
+        return local;
+    }
+
+    public void setLocal(LocalProperties local) {
+        this.local = local;
+    }
+
+    /**
+     * 本地令牌桶配置
+     *
+     * <p>
+     * 启用后，各节点按租期从 Redis 限流器批量租借令牌并在本地扣减，Redis 访问次数与租借次数而非请求次数成正比。
+     * </p>
+     * <p>
+     * 精度说明：租借的令牌仅在一个限流周期内有效，节点间不会共享，因此：
+     * <ul>
+     * <li>DEFAULT：全局放行数不会超过限流速率太多（每个节点每个周期最多多放行一个租期的结转令牌），但已被某节点租走而未用完的令牌其他节点无法使用，可能出现提前限流；</li>
+     * <li>IP：每个 IP 独立租借，速率较小时租期退化为 1 个令牌，与直接访问 Redis 基本一致；</li>
+     * <li>CLUSTER：Key 已按节点区分，本地令牌桶仅影响该节点自身，精度损失最小。</li>
+     * </ul>
+     * </p>
+     */
+    public static class LocalProperties {
+
+        /**
+         * 是否启用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 每次租借的令牌数占限流速率的比例（至少 1 个，最多为限流速率）
+         */
+        private double leaseRatio = 0.1;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getLeaseRatio() {
+            return leaseRatio;
+        }
+
+        public void setLeaseRatio(double leaseRatio) {
+            this.leaseRatio = leaseRatio;
+        }
+    }
 }
@@ -0,0 +1,203 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.security.limiter.core;
+
+import org.redisson.api.RRateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 本地令牌桶限流器
+ *
+ * <p>
+ * 从 Redisson 限流器按租期批量租借令牌，在本地无锁扣减；剩余令牌低于租期一半时异步续租，耗尽时同步租借。
+ * 租借的令牌仅在租借时的限流周期内有效，续租不会延长上一租期剩余令牌的有效期。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class LeasedRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(LeasedRateLimiter.class);
+
+    private final RRateLimiter delegate;
+
+    private final long leaseSize;
+
+    private final long leaseTtlMillis;
+
+    private final AtomicReference<Lease> lease = new AtomicReference<>();
+
+    private final AtomicBoolean leasing = new AtomicBoolean();
+
+    public LeasedRateLimiter(RRateLimiter delegate, long leaseSize, long leaseTtlMillis) {
+        this.delegate = delegate;
+        this.leaseSize = Math.max(leaseSize, 1);
+        this.leaseTtlMillis = Math.max(leaseTtlMillis, 1);
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @return 是否获取成功
+     */
+    public boolean tryAcquire() {
+        Lease current = lease.get();
+        if (null != current && current.tryAcquire()) {
+            if (current.remaining() <= leaseSize / 2) {
+                this.leaseAsync();
+            }
+            return true;
+        }
+        if (leasing.compareAndSet(false, true)) {
+            try {
+                return this.leaseSync();
+            } finally {
+                leasing.set(false);
+            }
+        }
+        // 其他线程正在租借令牌，直接从 Redis 获取单个令牌
+        return delegate.tryAcquire();
+    }
+
+    /**
+     * 获取被代理的 Redisson 限流器
+     *
+     * @return Redisson 限流器
+     */
+    public RRateLimiter getDelegate() {
+        return delegate;
+    }
+
+    private boolean leaseSync() {
+        if (delegate.tryAcquire(leaseSize)) {
+            this.install(leaseSize - 1);
+            return true;
+        }
+        // 剩余令牌不足一个租期时退化为逐个获取
+        return leaseSize > 1 && delegate.tryAcquire();
+    }
+
+    private void leaseAsync() {
+        if (!leasing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            delegate.tryAcquireAsync(leaseSize).whenComplete((acquired, e) -> {
+                try {
+                    if (null != e) {
+                        log.warn("Lease permits from rate limiter [{}] failed.", delegate.getName(), e);
+                    } else if (Boolean.TRUE.equals(acquired)) {
+                        this.install(leaseSize);
+                    }
+                } finally {
+                    leasing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            leasing.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * 安装新租期（仅在持有租借标记时调用）
+     * <p>
+     * 上一租期未过期的剩余令牌保留原过期时间并优先消耗；更早租期的剩余令牌直接丢弃。
+     * </p>
+     *
+     * @param permits 新租借的令牌数
+     */
+    private void install(long permits) {
+        Lease previous = lease.get();
+        if (null != previous) {
+            if (previous.isActive()) {
+                previous.previous = null;
+            } else {
+                previous = null;
+            }
+        }
+        lease.set(new Lease(permits, System.currentTimeMillis() + leaseTtlMillis, previous));
+    }
+
+    /**
+     * 租期
+     */
+    private static final class Lease {
+
+        private final AtomicLong permits;
+
+        private final long expireAt;
+
+        /**
+         * 上一租期（剩余令牌保留原过期时间）
+         */
+        private volatile Lease previous;
+
+        private Lease(long permits, long expireAt, Lease previous) {
+            this.permits = new AtomicLong(permits);
+            this.expireAt = expireAt;
+            this.previous = previous;
+        }
+
+        private boolean tryAcquire() {
+            Lease prev = previous;
+            if (null != prev) {
+                if (prev.tryAcquire()) {
+                    return true;
+                }
+                previous = null;
+            }
+            if (System.currentTimeMillis() >= expireAt) {
+                return false;
+            }
+            long current;
+            do {
+                current = permits.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!permits.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        private long remaining() {
+            Lease prev = previous;
+            long prevRemaining = null != prev && prev.isActive() ? prev.permits.get() : 0;
+            return permits.get() + prevRemaining;
+        }
+
+        private boolean isActive() {
+            return System.currentTimeMillis() < expireAt && permits.get() > 0;
+        }
+    }
+}
@@ -30,6 +30,8 @@ import cn.hutool.core.convert.Convert;
 import cn.hutool.core.text.CharSequenceUtil;
 import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.extra.servlet.JakartaServletUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.ppxb.latte.starter.cache.redisson.util.RedisUtils;
 import com.ppxb.latte.starter.core.constant.StringConstants;
 import com.ppxb.latte.starter.core.util.expression.ExpressionUtils;
@@ -46,17 +48,26 @@ import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.redisson.api.*;
+import org.redisson.client.RedisException;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 @Aspect
 @Component
 public class RateLimiterAspect {
 
-    private static final ConcurrentHashMap<String, RRateLimiter> RATE_LIMITER_CACHE = new ConcurrentHashMap<>();
+    /**
+     * Redis 中限流器配置不存在时的错误信息
+     */
+    private static final String NOT_INITIALIZED_MESSAGE = "RateLimiter is not initialized";
+
+    /**
+     * 限流器缓存（按数量及闲置时间淘汰，避免 IP 等维度的 Key 无限增长）
+     */
+    private final Cache<String, RateLimiterHolder> rateLimiterCache;
 
     private final RateLimiterProperties properties;
 
@@ -70,6 +81,10 @@ public class RateLimiterAspect {
         this.properties = properties;
         this.nameGenerator = nameGenerator;
         this.redissonClient = redissonClient;
+        this.rateLimiterCache = Caffeine.newBuilder()
+            .maximumSize(properties.getCacheMaxSize())
+            .expireAfterAccess(properties.getCacheExpireAfterAccess())
+            .build();
     }
 
     @Pointcut("@annotation(com.ppxb.latte.starter.security.limiter.annotation.RateLimiter)")
@@ -101,21 +116,44 @@ public class RateLimiterAspect {
     private boolean isRateLimited(ProceedingJoinPoint joinPoint, RateLimiter rateLimiter) {
         try {
             String cacheKey = getCacheKey(joinPoint, rateLimiter);
-            RRateLimiter rRateLimiter = RATE_LIMITER_CACHE.computeIfAbsent(cacheKey, key -> redissonClient
-                .getRateLimiter(cacheKey));
-            RateType rateType = rateLimiter.type() == LimitType.CLUSTER ? RateType.PER_CLIENT : RateType.OVERALL;
-            int rate = rateLimiter.rate();
-            int rateInterval = rateLimiter.interval();
-            RateIntervalUnit rateIntervalUnit = rateLimiter.unit();
-            if (isConfigurationUpdateNeeded(rRateLimiter, rateType, rate, rateInterval, rateIntervalUnit)) {
-                rRateLimiter.setRate(rateType, rate, rateInterval, rateIntervalUnit);
+            RateLimiterHolder holder = rateLimiterCache.get(cacheKey, key -> new RateLimiterHolder(redissonClient
+                .getRateLimiter(key)));
+            try {
+                return !tryAcquire(holder, rateLimiter);
+            } catch (RedisException e) {
+                if (!isNotInitialized(e)) {
+                    throw e;
+                }
+                // Redis 中的限流器配置丢失（如：清空、淘汰、故障转移）时，清除本地记录的已应用配置，重新初始化后重试一次
+                holder.appliedConfig = null;
+                holder.rRateLimiter.trySetRate(getRateType(rateLimiter), rateLimiter.rate(), rateLimiter
+                    .interval(), rateLimiter.unit());
+                return !tryAcquire(holder, rateLimiter);
             }
-            return !rRateLimiter.tryAcquire();
         } catch (Exception e) {
             throw new RateLimiterException("服务器限流异常，请稍候再试", e);
         }
     }
 
+    private boolean tryAcquire(RateLimiterHolder holder, RateLimiter rateLimiter) {
+        applyConfiguration(holder, rateLimiter);
+        if (properties.getLocal().isEnabled()) {
+            // 本地令牌桶：仅在租借令牌时访问 Redis
+            return holder.getLeasedRateLimiter(() -> createLeasedRateLimiter(holder.rRateLimiter, rateLimiter))
+                .tryAcquire();
+        }
+        return holder.rRateLimiter.tryAcquire();
+    }
+
+    private boolean isNotInitialized(Throwable e) {
+        for (Throwable cause = e; null != cause; cause = cause.getCause()) {
+            if (null != cause.getMessage() && cause.getMessage().contains(NOT_INITIALIZED_MESSAGE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private String getCacheKey(JoinPoint joinPoint, RateLimiter rateLimiter) {
         Object target = joinPoint.getTarget();
         MethodSignature methodSignature = (MethodSignature)joinPoint.getSignature();
@@ -141,6 +179,45 @@ public class RateLimiterAspect {
         return RedisUtils.formatKey(properties.getKeyPrefix(), name, key, suffix);
     }
 
+    private LeasedRateLimiter createLeasedRateLimiter(RRateLimiter rRateLimiter, RateLimiter rateLimiter) {
+        long rate = rateLimiter.rate();
+        long leaseSize = Math.min((long)Math.ceil(rate * properties.getLocal().getLeaseRatio()), rate);
+        return new LeasedRateLimiter(rRateLimiter, leaseSize, rateLimiter.unit().toMillis(rateLimiter.interval()));
+    }
+
+    /**
+     * 应用限流配置
+     *
+     * <p>
+     * 与本地记录的已应用配置一致且未到校验周期时直接跳过；否则与 Redis 中的配置比对，不一致时更新。
+     * </p>
+     *
+     * @param holder      限流器
+     * @param rateLimiter 限流注解
+     */
+    private void applyConfiguration(RateLimiterHolder holder, RateLimiter rateLimiter) {
+        RateType rateType = getRateType(rateLimiter);
+        int rate = rateLimiter.rate();
+        int rateInterval = rateLimiter.interval();
+        RateIntervalUnit rateIntervalUnit = rateLimiter.unit();
+        AppliedConfig expected = new AppliedConfig(rateType, rate, rateIntervalUnit.toMillis(rateInterval));
+        long now = System.currentTimeMillis();
+        if (expected.equals(holder.appliedConfig) && now - holder.checkedAt < properties.getConfigCheckInterval()
+            .toMillis()) {
+            return;
+        }
+        RRateLimiter rRateLimiter = holder.rRateLimiter;
+        if (isConfigurationUpdateNeeded(rRateLimiter, rateType, rate, rateInterval, rateIntervalUnit)) {
+            rRateLimiter.setRate(rateType, rate, rateInterval, rateIntervalUnit);
+        }
+        holder.appliedConfig = expected;
+        holder.checkedAt = now;
+    }
+
+    private RateType getRateType(RateLimiter rateLimiter) {
+        return rateLimiter.type() == LimitType.CLUSTER ? RateType.PER_CLIENT : RateType.OVERALL;
+    }
+
     private boolean isConfigurationUpdateNeeded(RRateLimiter rRateLimiter,
                                                 RateType rateType,
                                                 long rate,
@@ -150,4 +227,46 @@ public class RateLimiterAspect {
         return !Objects.equals(config.getRateType(), rateType) || !Objects.equals(config.getRate(), rate) || !Objects
             .equals(config.getRateInterval(), rateIntervalUnit.toMillis(rateInterval));
     }
+
+    /**
+     * 已应用的限流配置
+     *
+     * @param rateType     限流类型
+     * @param rate         速率
+     * @param rateInterval 速率间隔（毫秒）
+     */
+    private record AppliedConfig(RateType rateType, long rate, long rateInterval) {
+    }
+
+    /**
+     * 限流器（包含本地记录的已应用配置）
+     */
+    private static final class RateLimiterHolder {
+
+        private final RRateLimiter rRateLimiter;
+
+        private volatile AppliedConfig appliedConfig;
+
+        private volatile long checkedAt;
+
+        private volatile LeasedRateLimiter leasedRateLimiter;
+
+        private RateLimiterHolder(RRateLimiter rRateLimiter) {
+            this.rRateLimiter = rRateLimiter;
+        }
+
+        private LeasedRateLimiter getLeasedRateLimiter(Supplier<LeasedRateLimiter> supplier) {
+            LeasedRateLimiter limiter = leasedRateLimiter;
+            if (null == limiter) {
+                synchronized (this) {
+                    limiter = leasedRateLimiter;
+                    if (null == limiter) {
+                        limiter = supplier.get();
+                        leasedRateLimiter = limiter;
+                    }
+                }
+            }
+            return limiter;
+        }
+    }
 }
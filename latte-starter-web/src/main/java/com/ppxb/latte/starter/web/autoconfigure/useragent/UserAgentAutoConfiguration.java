@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.web.autoconfigure.useragent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * User-Agent 解析自动配置
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(UserAgentProperties.class)
+public class UserAgentAutoConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(UserAgentAutoConfiguration.class);
+
+    /**
+     * User-Agent 解析器（同时作为 {@link com.ppxb.latte.starter.web.util.ServletUtils} 等工具类使用的默认解析器）
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public UserAgentResolver userAgentResolver(UserAgentProperties properties) {
+        UserAgentResolver resolver = new UserAgentResolver(properties);
+        UserAgentResolver.setInstance(resolver);
+        return resolver;
+    }
+
+    @PostConstruct
+    public void postConstruct() {
+        log.debug("[Latte Starter] - Auto Configuration 'Web-UserAgent' completed initialization.");
+    }
+
+    /**
+     * User-Agent 解析缓存指标配置
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class UserAgentMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(name = "userAgentCacheMetrics")
+        public MeterBinder userAgentCacheMetrics(UserAgentResolver userAgentResolver) {
+            return registry -> CaffeineCacheMetrics.monitor(registry, userAgentResolver.getCache(), "userAgent");
+        }
+    }
+}
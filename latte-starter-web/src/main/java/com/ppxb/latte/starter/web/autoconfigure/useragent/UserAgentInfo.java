@@ -0,0 +1,52 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.web.autoconfigure.useragent;
+
+import com.ppxb.latte.starter.core.constant.StringConstants;
+
+/**
+ * User-Agent 解析结果
+ *
+ * @param browser 浏览器名称
+ * @param version 浏览器版本
+ * @param os      操作系统名称
+ * @param device  设备平台名称
+ * @param mobile  是否为移动设备
+ * @author ppxb
+ * @since 1.0.0
+ */
+public record UserAgentInfo(String browser, String version, String os, String device, boolean mobile) {
+
+    /**
+     * 获取浏览器名称及版本
+     *
+     * @return 浏览器名称及版本（例如：Chrome 120.0.0.0）
+     */
+    public String getBrowserWithVersion() {
+        return browser + StringConstants.SPACE + version;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.web.autoconfigure.useragent;
+
+import com.ppxb.latte.starter.core.constant.PropertiesConstants;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * User-Agent 解析配置属性
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+@ConfigurationProperties(PropertiesConstants.WEB_USER_AGENT)
+public class UserAgentProperties {
+
+    /**
+     * 缓存最大数量
+     */
+    private long cacheSize = 2000;
+
+    /**
+     * 缓存的 User-Agent 最大长度（超出后每次重新解析，避免异常请求占用缓存）
+     */
+    private int maxCacheableLength = 512;
+
+    public long getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public int getMaxCacheableLength() {
+        return maxCacheableLength;
+    }
+
+    public void setMaxCacheableLength(int maxCacheableLength) {
+        this.maxCacheableLength = maxCacheableLength;
+    }
+}
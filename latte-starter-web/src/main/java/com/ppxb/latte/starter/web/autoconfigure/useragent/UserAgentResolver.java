@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024 ppxb
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+
+package com.ppxb.latte.starter.web.autoconfigure.useragent;
+
+import cn.hutool.core.text.CharSequenceUtil;
+import cn.hutool.http.useragent.UserAgent;
+import cn.hutool.http.useragent.UserAgentUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * User-Agent 解析器
+ *
+ * <p>
+ * 每个 User-Agent 仅解析一次，解析结果缓存于有界缓存中（W-TinyLFU 淘汰策略）。
+ * </p>
+ *
+ * @author ppxb
+ * @since 1.0.0
+ */
+public class UserAgentResolver {
+
+    /**
+     * 默认解析器（自动配置生效后替换为容器中的解析器）
+     */
+    private static volatile UserAgentResolver instance = new UserAgentResolver(new UserAgentProperties());
+
+    private final Cache<String, UserAgentInfo> cache;
+
+    private final int maxCacheableLength;
+
+    public UserAgentResolver(UserAgentProperties properties) {
+        this.cache = Caffeine.newBuilder().maximumSize(properties.getCacheSize()).recordStats().build();
+        this.maxCacheableLength = properties.getMaxCacheableLength();
+    }
+
+    /**
+     * 解析 User-Agent
+     *
+     * @param userAgentString User-Agent
+     * @return 解析结果，User-Agent 为空时返回 null
+     */
+    public UserAgentInfo resolve(String userAgentString) {
+        if (CharSequenceUtil.isBlank(userAgentString)) {
+            return null;
+        }
+        if (userAgentString.length() > maxCacheableLength) {
+            return parse(userAgentString);
+        }
+        return cache.get(userAgentString, UserAgentResolver::parse);
+    }
+
+    /**
+     * 获取缓存
+     *
+     * @return 缓存
+     */
+    public Cache<String, UserAgentInfo> getCache() {
+        return cache;
+    }
+
+    /**
+     * 获取缓存统计信息（命中数、未命中数等）
+     *
+     * @return 缓存统计信息
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * 获取默认解析器
+     *
+     * @return 默认解析器
+     */
+    public static UserAgentResolver getInstance() {
+        return instance;
+    }
+
+    /**
+     * 设置默认解析器
+     *
+     * @param resolver 解析器
+     */
+    public static void setInstance(UserAgentResolver resolver) {
+        instance = resolver;
+    }
+
+    private static UserAgentInfo parse(String userAgentString) {
+        UserAgent userAgent = UserAgentUtil.parse(userAgentString);
+        return new UserAgentInfo(userAgent.getBrowser().getName(), userAgent.getVersion(), userAgent.getOs()
+            .getName(), userAgent.getPlatform().getName(), userAgent.isMobile());
+    }
+}
@@ -27,9 +27,8 @@
 package com.ppxb.latte.starter.web.util;
 
 import cn.hutool.core.map.MapUtil;
-import cn.hutool.http.useragent.UserAgent;
-import cn.hutool.http.useragent.UserAgentUtil;
-import com.ppxb.latte.starter.core.constant.StringConstants;
+import com.ppxb.latte.starter.web.autoconfigure.useragent.UserAgentInfo;
+import com.ppxb.latte.starter.web.autoconfigure.useragent.UserAgentResolver;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -46,8 +45,8 @@ public class ServletUtils {
     }
 
     public static String getBrowser(String userAgentString) {
-        UserAgent userAgent = UserAgentUtil.parse(userAgentString);
-        return userAgent.getBrowser().getName() + StringConstants.SPACE + userAgent.getVersion();
+        UserAgentInfo userAgent = getUserAgent(userAgentString);
+        return null == userAgent ? null : userAgent.getBrowserWithVersion();
     }
 
     public static String getOs(HttpServletRequest request) {
@@ -55,8 +54,18 @@ public class ServletUtils {
     }
 
     public static String getOs(String userAgentString) {
-        UserAgent userAgent = UserAgentUtil.parse(userAgentString);
-        return userAgent.getOs().getName();
+        UserAgentInfo userAgent = getUserAgent(userAgentString);
+        return null == userAgent ? null : userAgent.os();
+    }
+
+    /**
+     * 解析 User-Agent（解析结果由 {@link UserAgentResolver} 缓存）
+     *
+     * @param userAgentString User-Agent
+     * @return 解析结果，User-Agent 为空时返回 null
+     */
+    public static UserAgentInfo getUserAgent(String userAgentString) {
+        return UserAgentResolver.getInstance().resolve(userAgentString);
     }
 
     public static Map<String, String> getHeaderMap(HttpServletResponse response) {